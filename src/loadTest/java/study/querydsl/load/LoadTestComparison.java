@@ -0,0 +1,69 @@
+package study.querydsl.load;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 두 부하 테스트 결과를 엔드포인트별 백분위수로 비교한다.
+ * candidate 가 baseline 보다 허용치(loadtest.tolerance, 기본 10%) 이상 느린 백분위수가 있으면 종료 코드 1 로 끝난다.
+ */
+public class LoadTestComparison {
+
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2 || args[0].isBlank() || args[1].isBlank()) {
+			System.err.println("usage: LoadTestComparison <baselineDir> <candidateDir>");
+			System.exit(2);
+		}
+		Path baseline = Path.of(args[0]);
+		Path candidate = Path.of(args[1]);
+		double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.10"));
+
+		boolean regressed = false;
+		System.out.printf("%-4s %7s %12s %12s %8s%n", "", "pct", "base(ms)", "cand(ms)", "diff");
+		for (String name : new String[]{"v1", "v2", "v3", OpenModelLoadGenerator.ALL}) {
+			Path baseLog = baseline.resolve(name + ".hlog");
+			Path candidateLog = candidate.resolve(name + ".hlog");
+			if (!Files.exists(baseLog) || !Files.exists(candidateLog)) {
+				continue;
+			}
+			Histogram base = read(baseLog);
+			Histogram cand = read(candidateLog);
+			if (base.getTotalCount() == 0 || cand.getTotalCount() == 0) {
+				continue;
+			}
+
+			for (double percentile : PERCENTILES) {
+				double baseMillis = base.getValueAtPercentile(percentile) / 1000.0;
+				double candMillis = cand.getValueAtPercentile(percentile) / 1000.0;
+				double diff = baseMillis == 0 ? 0 : (candMillis - baseMillis) / baseMillis;
+				boolean worse = diff > tolerance;
+				regressed |= worse;
+				System.out.printf("%-4s %7s %12.2f %12.2f %+7.1f%%%s%n",
+						name, "p" + percentile, baseMillis, candMillis, diff * 100, worse ? "  REGRESSION" : "");
+			}
+		}
+
+		if (regressed) {
+			System.out.printf("허용치 %.0f%% 를 넘는 지연 증가가 있습니다.%n", tolerance * 100);
+			System.exit(1);
+		}
+	}
+
+	private static Histogram read(Path hlog) throws FileNotFoundException {
+		HistogramLogReader reader = new HistogramLogReader(hlog.toFile());
+		Histogram accumulated = new Histogram(3);
+		EncodableHistogram interval;
+		while ((interval = reader.nextIntervalHistogram()) != null) {
+			accumulated.add((Histogram) interval);
+		}
+		reader.close();
+		return accumulated;
+	}
+}
@@ -0,0 +1,83 @@
+package study.querydsl.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. 모두 -Dloadtest.xxx (gradle 에서는 -Ploadtest.xxx) 로 바꿀 수 있다.
+ */
+public record LoadTestConfig(
+		int members,
+		int teams,
+		long seed,
+		int rate,
+		Duration warmup,
+		Duration duration,
+		Map<Endpoint, Integer> mix,
+		int pageSize,
+		int maxConnections,
+		Path output) {
+
+	public static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig(
+				Integer.getInteger("loadtest.members", 10_000),
+				Integer.getInteger("loadtest.teams", 100),
+				Long.getLong("loadtest.seed", 42L),
+				Integer.getInteger("loadtest.rate", 200),
+				Duration.ofSeconds(Long.getLong("loadtest.warmup", 5L)),
+				Duration.ofSeconds(Long.getLong("loadtest.duration", 30L)),
+				parseMix(System.getProperty("loadtest.mix", "v1=1,v2=1,v3=1")),
+				Integer.getInteger("loadtest.pageSize", 20),
+				Integer.getInteger("loadtest.maxConnections", 64),
+				Path.of(System.getProperty("loadtest.output", "build/loadtest/" + System.currentTimeMillis())));
+	}
+
+	/**
+	 * "v1=2,v2=1,v3=1" 형태의 가중치
+	 */
+	static Map<Endpoint, Integer> parseMix(String mix) {
+		Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] pair = entry.trim().split("=");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("잘못된 loadtest.mix 항목: " + entry);
+			}
+			int weight = Integer.parseInt(pair[1].trim());
+			if (weight > 0) {
+				weights.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("loadtest.mix 에 가중치가 0보다 큰 엔드포인트가 없습니다: " + mix);
+		}
+		return weights;
+	}
+
+	public enum Endpoint {
+		V1("/v1/members", false),
+		V2("/v2/members", true),
+		V3("/v3/members", true);
+
+		private final String path;
+		private final boolean paged;
+
+		Endpoint(String path, boolean paged) {
+			this.path = path;
+			this.paged = paged;
+		}
+
+		public String path() {
+			return path;
+		}
+
+		public boolean paged() {
+			return paged;
+		}
+
+		public String fileName() {
+			return name().toLowerCase();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package study.querydsl.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+
+/**
+ * in-memory H2 로 애플리케이션을 띄우고, 데이터를 채운 뒤 MemberController 에 부하를 건다.
+ * 결과(.hlog, .hgrm, summary.txt)는 loadtest.output 디렉터리에 남는다.
+ */
+public class LoadTestRunner {
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+				.run("--spring.profiles.active=loadtest")) {
+
+			GeneratorProperties data = new GeneratorProperties();
+			data.setMembers(config.members());
+			data.setTeams(config.teams());
+			data.setSeed(config.seed());
+			new SyntheticDataGenerator(context.getBean(JdbcTemplate.class)).generate(data);
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			new OpenModelLoadGenerator(config, "http://localhost:" + port).run();
+		}
+	}
+}
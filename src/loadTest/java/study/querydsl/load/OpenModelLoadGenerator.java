@@ -0,0 +1,190 @@
+package study.querydsl.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import study.querydsl.load.LoadTestConfig.Endpoint;
+import study.querydsl.load.SearchRequestGenerator.SearchRequest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 열린 모델(open model) 부하 생성기.
+ * <p>
+ * 요청은 응답과 무관하게 고정된 간격의 "예정 시각"에 보낸다. 지연 시간은 실제 전송 시각이 아니라 예정 시각부터 재기 때문에
+ * 서버나 클라이언트가 밀려서 전송이 늦어진 시간까지 포함된다 (coordinated omission 보정).
+ */
+class OpenModelLoadGenerator {
+
+	static final String ALL = "all";
+
+	private final LoadTestConfig config;
+	private final String baseUrl;
+
+	OpenModelLoadGenerator(LoadTestConfig config, String baseUrl) {
+		this.config = config;
+		this.baseUrl = baseUrl;
+	}
+
+	void run() throws IOException, InterruptedException {
+		Files.createDirectories(config.output());
+
+		ExecutorService httpExecutor = Executors.newFixedThreadPool(config.maxConnections());
+		HttpClient client = HttpClient.newBuilder()
+				.executor(httpExecutor)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		try {
+			System.out.printf("warmup %ds @ %d req/s%n", config.warmup().toSeconds(), config.rate());
+			runPhase(client, config.warmup(), null);
+
+			System.out.printf("measure %ds @ %d req/s -> %s%n", config.duration().toSeconds(), config.rate(), config.output());
+			try (Measurement measurement = new Measurement(config.output())) {
+				runPhase(client, config.duration(), measurement);
+				measurement.writeSummary(config);
+			}
+		} finally {
+			httpExecutor.shutdownNow();
+		}
+	}
+
+	private void runPhase(HttpClient client, Duration duration, Measurement measurement) throws InterruptedException {
+		SearchRequestGenerator generator = new SearchRequestGenerator(baseUrl, config);
+		Semaphore inFlight = new Semaphore(config.maxConnections());
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+		long totalRequests = duration.toSeconds() * config.rate();
+		long start = System.nanoTime();
+
+		for (long i = 0; i < totalRequests; i++) {
+			long intendedStart = start + i * intervalNanos;
+			long wait;
+			while ((wait = intendedStart - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			// 동시 요청 수가 가득 차면 여기서 막힌다. 막힌 시간도 예정 시각 기준 지연에 그대로 잡힌다.
+			inFlight.acquire();
+			SearchRequest request = generator.next();
+			client.sendAsync(HttpRequest.newBuilder(request.uri()).GET().build(), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						inFlight.release();
+						if (measurement != null) {
+							boolean failed = error != null || response.statusCode() >= 400;
+							measurement.record(request.endpoint(), System.nanoTime() - intendedStart, failed);
+						}
+					});
+		}
+
+		// 남은 요청이 끝날 때까지 기다린다
+		inFlight.acquire(config.maxConnections());
+		inFlight.release(config.maxConnections());
+	}
+
+	/**
+	 * 엔드포인트별 Recorder 를 1초마다 interval histogram 으로 떠서 .hlog 로 남기고 누적한다.
+	 */
+	static class Measurement implements AutoCloseable {
+
+		private final Path output;
+		private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+		private final Map<String, Histogram> accumulated = new LinkedHashMap<>();
+		private final Map<String, HistogramLogWriter> writers = new LinkedHashMap<>();
+		private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+		private final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+		private final long startMillis = System.currentTimeMillis();
+
+		Measurement(Path output) throws IOException {
+			this.output = output;
+			for (Endpoint endpoint : Endpoint.values()) {
+				register(endpoint.fileName());
+				errors.put(endpoint, new LongAdder());
+			}
+			register(ALL);
+			reporter.scheduleAtFixedRate(this::flushIntervals, 1, 1, TimeUnit.SECONDS);
+		}
+
+		private void register(String name) throws IOException {
+			recorders.put(name, new Recorder(3));
+			accumulated.put(name, new Histogram(3));
+			HistogramLogWriter writer = new HistogramLogWriter(output.resolve(name + ".hlog").toFile());
+			writer.outputLogFormatVersion();
+			writer.outputStartTime(startMillis);
+			writer.setBaseTime(startMillis);
+			writer.outputLegend();
+			writers.put(name, writer);
+		}
+
+		void record(Endpoint endpoint, long latencyNanos, boolean failed) {
+			long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+			recorders.get(endpoint.fileName()).recordValue(micros);
+			recorders.get(ALL).recordValue(micros);
+			if (failed) {
+				errors.get(endpoint).increment();
+			}
+		}
+
+		private synchronized void flushIntervals() {
+			recorders.forEach((name, recorder) -> {
+				Histogram interval = recorder.getIntervalHistogram();
+				writers.get(name).outputIntervalHistogram(interval);
+				accumulated.get(name).add(interval);
+			});
+		}
+
+		void writeSummary(LoadTestConfig config) throws IOException, InterruptedException {
+			reporter.shutdown();
+			reporter.awaitTermination(5, TimeUnit.SECONDS);
+			flushIntervals();
+			double seconds = config.duration().toMillis() / 1000.0;
+
+			try (PrintStream summary = new PrintStream(Files.newOutputStream(output.resolve("summary.txt")))) {
+				summary.printf("rate=%d req/s, duration=%ds, members=%d, teams=%d, mix=%s%n",
+						config.rate(), config.duration().toSeconds(), config.members(), config.teams(), config.mix());
+				summary.printf("%-4s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+						"", "count", "errors", "tput/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+				for (Map.Entry<String, Histogram> entry : accumulated.entrySet()) {
+					Histogram histogram = entry.getValue();
+					long errorCount = ALL.equals(entry.getKey())
+							? errors.values().stream().mapToLong(LongAdder::sum).sum()
+							: errors.get(Endpoint.valueOf(entry.getKey().toUpperCase())).sum();
+					summary.printf("%-4s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+							entry.getKey(), histogram.getTotalCount(), errorCount, histogram.getTotalCount() / seconds,
+							millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+							histogram.getMaxValue() / 1000.0);
+
+					try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve(entry.getKey() + ".hgrm")))) {
+						histogram.outputPercentileDistribution(hgrm, 1000.0);
+					}
+				}
+			}
+			System.out.print(Files.readString(output.resolve("summary.txt")));
+		}
+
+		private static double millis(Histogram histogram, double percentile) {
+			return histogram.getValueAtPercentile(percentile) / 1000.0;
+		}
+
+		@Override
+		public void close() {
+			reporter.shutdownNow();
+			writers.values().forEach(HistogramLogWriter::close);
+		}
+	}
+}
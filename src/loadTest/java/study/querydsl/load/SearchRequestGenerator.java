@@ -0,0 +1,82 @@
+package study.querydsl.load;
+
+import study.querydsl.load.LoadTestConfig.Endpoint;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 가중치에 따라 엔드포인트를 고르고 임의의 MemberSearchCondition 쿼리 스트링을 만든다.
+ * 호출 스레드 하나에서만 쓴다.
+ */
+class SearchRequestGenerator {
+
+	private final String baseUrl;
+	private final LoadTestConfig config;
+	private final SplittableRandom random;
+	private final Endpoint[] endpoints;
+	private final int[] cumulativeWeights;
+
+	SearchRequestGenerator(String baseUrl, LoadTestConfig config) {
+		this.baseUrl = baseUrl;
+		this.config = config;
+		this.random = new SplittableRandom(config.seed());
+
+		Map<Endpoint, Integer> mix = config.mix();
+		this.endpoints = mix.keySet().toArray(new Endpoint[0]);
+		this.cumulativeWeights = new int[endpoints.length];
+		int sum = 0;
+		for (int i = 0; i < endpoints.length; i++) {
+			sum += mix.get(endpoints[i]);
+			cumulativeWeights[i] = sum;
+		}
+	}
+
+	SearchRequest next() {
+		Endpoint endpoint = nextEndpoint();
+		StringBuilder query = new StringBuilder();
+
+		// 조건별로 독립적으로 켜고 끈다 - 조건 없는 전체 조회부터 모든 조건 조합까지 섞인다
+		if (random.nextInt(100) < 20) {
+			append(query, "username", "member" + random.nextInt(config.members()));
+		}
+		if (random.nextInt(100) < 50) {
+			append(query, "teamName", "team" + random.nextInt(config.teams()));
+		}
+		if (random.nextInt(100) < 40) {
+			int ageGoe = random.nextInt(100);
+			append(query, "ageGoe", String.valueOf(ageGoe));
+			if (random.nextBoolean()) {
+				append(query, "ageLoe", String.valueOf(ageGoe + random.nextInt(30)));
+			}
+		}
+		if (endpoint.paged()) {
+			append(query, "page", String.valueOf(random.nextInt(5)));
+			append(query, "size", String.valueOf(config.pageSize()));
+		}
+
+		String uri = baseUrl + endpoint.path() + (query.length() == 0 ? "" : "?" + query);
+		return new SearchRequest(endpoint, URI.create(uri));
+	}
+
+	private Endpoint nextEndpoint() {
+		int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (pick < cumulativeWeights[i]) {
+				return endpoints[i];
+			}
+		}
+		return endpoints[endpoints.length - 1];
+	}
+
+	private static void append(StringBuilder query, String name, String value) {
+		if (query.length() > 0) {
+			query.append('&');
+		}
+		query.append(name).append('=').append(value);
+	}
+
+	record SearchRequest(Endpoint endpoint, URI uri) {
+	}
+}
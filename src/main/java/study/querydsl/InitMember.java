@@ -4,24 +4,51 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.config.StartupProperties;
+import study.querydsl.config.StartupTracker;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
-@Profile("local")
+@Profile("local & !generate")
+@Lazy(false)
 @Component
 @RequiredArgsConstructor
 public class InitMember {
 
 	private final InitMemberService initMemberService;
+	private final StartupProperties startupProperties;
+	private final StartupTracker startupTracker;
+	private final TaskExecutor taskExecutor;
 
 	@PostConstruct
 	public void init() {
+		if (startupProperties.isDeferredInit()) {
+			// 기동 완료 후 백그라운드에서 적재한다. 끝날 때까지 readiness 는 OUT_OF_SERVICE
+			startupTracker.beginDataInitialization();
+			return;
+		}
 		initMemberService.init();
 	}
 
+	@EventListener(ApplicationReadyEvent.class)
+	public void initDeferred() {
+		if (!startupProperties.isDeferredInit()) {
+			return;
+		}
+		// 실패하면 준비 완료로 바꾸지 않는다 - readiness 가 계속 OUT_OF_SERVICE 로 남는다
+		taskExecutor.execute(() -> {
+			initMemberService.init();
+			startupTracker.endDataInitialization();
+		});
+	}
+
 	@Component
 	static class InitMemberService {
 		@PersistenceContext
@@ -29,6 +56,12 @@ public class InitMember {
 
 		@Transactional
 		public void init() {
+			// ddl-auto: create 가 아니면 재기동마다 중복으로 쌓이지 않게 건너뛴다
+			Long count = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+			if (count > 0) {
+				return;
+			}
+
 			Team teamA = new Team("teamA");
 			Team teamB = new Team("teamB");
 			em.persist(teamA);
@@ -0,0 +1,30 @@
+package study.querydsl.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 회원 보관 설정 (querydsl.archive.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.archive")
+public class ArchiveProperties {
+
+	/**
+	 * 마지막 활동이 이보다 오래된 회원을 member_archive 로 옮긴다
+	 */
+	private Duration inactiveAfter = Duration.ofDays(180);
+
+	/**
+	 * 트랜잭션 하나로 옮기는 회원 수
+	 */
+	private int batchSize = 1_000;
+
+	/**
+	 * 보관 작업을 돌리는 cron. "-" 면 돌리지 않는다
+	 */
+	private String cron = "-";
+}
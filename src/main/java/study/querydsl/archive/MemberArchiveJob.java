@@ -0,0 +1,95 @@
+package study.querydsl.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 오래 활동하지 않은 회원을 member 에서 member_archive 로 옮긴다.
+ * <p>
+ * batchSize 명씩 짧은 트랜잭션으로 옮긴다. 옮길 행은 select ... for update 로 잠가서 그 사이 활동이 기록된 회원은 옮기지 않는다.
+ * member_search 에서도 같이 지운다. 엔티티 이벤트를 거치지 않으므로 옮기는 중에 열려 있던 영속성 컨텍스트는 그 회원을 계속 볼 수 있다.
+ * <p>
+ * querydsl.archive.cron 주기로 돈다. 기본 DB 의 member 만 옮기므로 querydsl.search.backend=sharded 의 샤드 행은 보관되지 않고,
+ * 그 검색은 member_archive 를 합치지 않는다 (샤드는 읽기 전용 스냅샷).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableScheduling
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class MemberArchiveJob {
+
+	private static final String SELECT_COLD = "select member_id from member where last_active_at < ? "
+			+ "order by last_active_at, member_id limit ? for update";
+	private static final String COPY = "insert into member_archive (member_id, username, age, team_id, last_active_at, archived_at) "
+			+ "select member_id, username, age, team_id, last_active_at, ? from member where member_id in (%s)";
+	private static final String DELETE_SEARCH = "delete from member_search where member_id in (%s)";
+	private static final String DELETE_MEMBER = "delete from member where member_id in (%s)";
+
+	private final ArchiveProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	@Scheduled(cron = "${querydsl.archive.cron:-}")
+	public void scheduledArchive() {
+		archive();
+	}
+
+	public ArchiveResult archive() {
+		return archive(LocalDateTime.now().minus(properties.getInactiveAfter()));
+	}
+
+	/**
+	 * @param cutoff 마지막 활동이 이 시각 이전인 회원을 옮긴다 (활동 기록이 없는 회원은 옮기지 않는다)
+	 */
+	public ArchiveResult archive(LocalDateTime cutoff) {
+		long started = System.nanoTime();
+		int batchSize = properties.getBatchSize();
+		long archived = 0;
+		long batches = 0;
+		while (true) {
+			Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff, batchSize));
+			if (moved == null || moved == 0) {
+				break;
+			}
+			archived += moved;
+			batches++;
+			if (moved < batchSize) {
+				break;
+			}
+		}
+		ArchiveResult result = new ArchiveResult(archived, batches, (System.nanoTime() - started) / 1_000_000);
+		log.info("members archived: {} (cutoff {})", result, cutoff);
+		return result;
+	}
+
+	private int moveBatch(LocalDateTime cutoff, int batchSize) {
+		List<Long> ids = jdbcTemplate.queryForList(SELECT_COLD, Long.class, Timestamp.valueOf(cutoff), batchSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		List<Object> copyArgs = new ArrayList<>(ids.size() + 1);
+		copyArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+		copyArgs.addAll(ids);
+
+		jdbcTemplate.update(COPY.formatted(placeholders), copyArgs.toArray());
+		jdbcTemplate.update(DELETE_SEARCH.formatted(placeholders), ids.toArray());
+		return jdbcTemplate.update(DELETE_MEMBER.formatted(placeholders), ids.toArray());
+	}
+
+	public record ArchiveResult(long archived, long batches, long millis) {
+	}
+}
@@ -0,0 +1,174 @@
+package study.querydsl.batch;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 모든 회원을 훑어야 하는 배치 작업용 스캔. member_id 범위를 파티션으로 나눠 fork-join 풀에서 병렬로 읽는다.
+ * <p>
+ * 파티션마다 EntityManager 와 read-only 트랜잭션을 따로 열고, member_id keyset 으로 chunkSize 건씩 읽어
+ * 콜백에 넘긴 뒤 영속성 컨텍스트를 비운다. 한 번에 메모리에 올라가는 회원은 (동시 파티션 수 x chunkSize) 건이다.
+ * id 가 고르지 않으면 파티션 크기가 달라지므로 파티션 수를 스레드 수보다 넉넉히 잡아 work-stealing 으로 고르게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionedMemberScan {
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * 코어 수만큼의 스레드, 스레드당 4개 파티션, chunk 1000 건
+	 */
+	public ScanResult scan(ChunkHandler handler) {
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		return scan(parallelism, parallelism * 4, 1_000, handler);
+	}
+
+	public ScanResult scan(int parallelism, int partitions, int chunkSize, ChunkHandler handler) {
+		if (parallelism < 1 || partitions < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException("parallelism, partitions, chunkSize 는 1 이상이어야 합니다.");
+		}
+		long started = System.nanoTime();
+		long[] bounds = idBounds();
+		if (bounds == null) {
+			return new ScanResult(List.of(), 0, 0);
+		}
+
+		List<IdRange> ranges = IdRange.split(bounds[0], bounds[1] + 1, partitions);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<ForkJoinTask<PartitionStats>> tasks = new ArrayList<>(ranges.size());
+			for (int i = 0; i < ranges.size(); i++) {
+				int partition = i;
+				IdRange range = ranges.get(i);
+				tasks.add(pool.submit(() -> scanPartition(partition, range, chunkSize, handler)));
+			}
+
+			List<PartitionStats> stats = new ArrayList<>(tasks.size());
+			try {
+				for (ForkJoinTask<PartitionStats> task : tasks) {
+					stats.add(task.join());
+				}
+			} catch (RuntimeException e) {
+				tasks.forEach(task -> task.cancel(true));
+				throw e;
+			}
+
+			ScanResult result = new ScanResult(stats, stats.stream().mapToLong(PartitionStats::rows).sum(),
+					System.nanoTime() - started);
+			log.info("partitioned scan: {} rows, {} partitions, parallelism {}, {} rows/s",
+					result.rows(), stats.size(), parallelism, (long) result.rowsPerSecond());
+			return result;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private PartitionStats scanPartition(int partition, IdRange range, int chunkSize, ChunkHandler handler) {
+		long started = System.nanoTime();
+		long rows = 0;
+		long chunks = 0;
+		EntityManager em = entityManagerFactory.createEntityManager();
+		EntityTransaction tx = em.getTransaction();
+		try {
+			tx.begin();
+			JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+			long next = range.from();
+			while (next < range.to()) {
+				List<Member> chunk = queryFactory
+						.selectFrom(member)
+						.where(member.id.goe(next), member.id.lt(range.to()))
+						.orderBy(member.id.asc())
+						.limit(chunkSize)
+						.setHint(HibernateHints.HINT_READ_ONLY, true)
+						.fetch();
+				if (chunk.isEmpty()) {
+					break;
+				}
+				handler.handle(partition, chunk);
+				rows += chunk.size();
+				chunks++;
+				next = chunk.get(chunk.size() - 1).getId() + 1;
+				em.clear();
+			}
+			tx.commit();
+		} catch (RuntimeException e) {
+			if (tx.isActive()) {
+				tx.rollback();
+			}
+			throw e;
+		} finally {
+			em.close();
+		}
+		return new PartitionStats(partition, range.from(), range.to(), rows, chunks, System.nanoTime() - started);
+	}
+
+	private long[] idBounds() {
+		EntityManager em = entityManagerFactory.createEntityManager();
+		try {
+			Object[] row = em.createQuery("select min(m.id), max(m.id) from Member m", Object[].class).getSingleResult();
+			if (row[0] == null) {
+				return null;
+			}
+			return new long[]{(Long) row[0], (Long) row[1]};
+		} finally {
+			em.close();
+		}
+	}
+
+	/**
+	 * 한 chunk 를 처리하는 콜백. 여러 파티션 스레드에서 동시에 불리므로 공유 상태는 스레드 안전해야 한다.
+	 * chunk 의 엔티티는 콜백이 끝나면 detach 된다. 콜백 안에서는 지연 로딩(member.getTeam())을 쓸 수 있다.
+	 */
+	@FunctionalInterface
+	public interface ChunkHandler {
+		void handle(int partition, List<Member> chunk);
+	}
+
+	/**
+	 * [from, to) member_id 범위
+	 */
+	record IdRange(long from, long to) {
+
+		static List<IdRange> split(long from, long to, int partitions) {
+			long span = to - from;
+			int count = (int) Math.max(1, Math.min(partitions, span));
+			List<IdRange> ranges = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				long start = from + span * i / count;
+				long end = from + span * (i + 1) / count;
+				ranges.add(new IdRange(start, end));
+			}
+			return ranges;
+		}
+	}
+
+	public record PartitionStats(int partition, long fromId, long toId, long rows, long chunks, long nanos) {
+
+		public double rowsPerSecond() {
+			return nanos == 0 ? 0 : rows * 1e9 / nanos;
+		}
+	}
+
+	public record ScanResult(List<PartitionStats> partitions, long rows, long nanos) {
+
+		public double rowsPerSecond() {
+			return nanos == 0 ? 0 : rows * 1e9 / nanos;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package study.querydsl.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.timeout.QueryCancellationInterceptor;
+
+/**
+ * 비동기 검색 요청이 타임아웃되거나 클라이언트가 끊으면 실행 중인 쿼리를 취소한다.
+ */
+@Configuration
+public class AsyncQueryConfig implements WebMvcConfigurer {
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.registerCallableInterceptors(new QueryCancellationInterceptor());
+	}
+}
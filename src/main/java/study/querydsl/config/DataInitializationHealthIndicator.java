@@ -0,0 +1,26 @@
+package study.querydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 백그라운드 데이터 적재가 끝나기 전까지 OUT_OF_SERVICE. readiness 그룹에 포함된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataInitializationHealthIndicator implements HealthIndicator {
+
+	private final StartupTracker startupTracker;
+
+	@Override
+	public Health health() {
+		if (startupTracker.isDataReady()) {
+			return Health.up().build();
+		}
+		return Health.outOfService()
+				.withDetail("pendingInitializations", startupTracker.getPendingInitializations())
+				.build();
+	}
+}
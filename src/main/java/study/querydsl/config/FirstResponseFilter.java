@@ -0,0 +1,43 @@
+package study.querydsl.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 기동 후 첫 응답 시각을 StartupTracker 에 알린다. 한 번 기록한 뒤로는 건너뛴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FirstResponseFilter extends OncePerRequestFilter {
+
+	private final StartupTracker startupTracker;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return startupTracker.isFirstResponseRecorded() || request.getRequestURI().startsWith("/actuator");
+	}
+
+	// 비동기 검색은 결과를 쓰는 async dispatch 가 실제 첫 응답이다
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (!isAsyncStarted(request)) {
+				startupTracker.onFirstResponse();
+			}
+		}
+	}
+}
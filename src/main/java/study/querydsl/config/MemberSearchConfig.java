@@ -0,0 +1,54 @@
+package study.querydsl.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.SQLQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSqlRepository;
+import study.querydsl.repository.SingleFlightMemberRepository;
+import study.querydsl.repository.TieredMemberRepository;
+import study.querydsl.search.MemberSearchRepository;
+import study.querydsl.shard.ShardedMemberRepository;
+import study.querydsl.timeout.QueryTimeouts;
+
+/**
+ * querydsl.search.backend 에 따라 검색에 쓸 MemberRepositoryCustom 구현을 고른다.
+ * 고른 구현은 member 만 읽고, includeArchived 검색은 {@link TieredMemberRepository} 가 member_archive 까지 합친다.
+ * sharded 는 기동 때 옮겨 둔 읽기 전용 스냅샷이라 보관된 회원도 그대로 남아 있으므로 member_archive 를 합치지 않는다.
+ * querydsl.search.single-flight 가 켜져 있으면 동시에 들어온 같은 검색을 묶어 한 번만 실행한다.
+ * <p>
+ * 스프링은 @Bean 이 돌려준 객체만 프록시하므로 안에서 new 로 만든 구현의 @Transactional 은 걸리지 않는다.
+ * 그래서 TieredMemberRepository 를 따로 빈으로 등록해 트랜잭션 경계로 삼는다 (querydsl-sql 은 트랜잭션 안에서만 커넥션을 얻는다).
+ * single-flight 는 그 바깥에 두어 기다리기만 하는 요청은 커넥션을 잡지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(MemberSearchProperties.class)
+public class MemberSearchConfig {
+
+	@Bean
+	public TieredMemberRepository tieredMemberSearch(MemberSearchProperties properties, MemberRepository memberRepository,
+													 SQLQueryFactory sqlQueryFactory, QueryTimeouts queryTimeouts,
+													 ObjectProvider<ShardedMemberRepository> shardedMemberRepository, JPAQueryFactory queryFactory) {
+		MemberRepositoryCustom backend = switch (properties.getBackend()) {
+			case JPA -> memberRepository;
+			case SQL -> new MemberSqlRepository(sqlQueryFactory, queryTimeouts);
+			case SHARDED -> shardedMemberRepository.getObject();
+			case DENORMALIZED -> new MemberSearchRepository(queryFactory, queryTimeouts);
+		};
+		boolean archiveTier = properties.getBackend() != MemberSearchProperties.Backend.SHARDED;
+		return new TieredMemberRepository(backend, queryFactory, queryTimeouts, archiveTier);
+	}
+
+	@Bean
+	@Primary
+	public MemberRepositoryCustom memberSearch(MemberSearchProperties properties, TieredMemberRepository tieredMemberSearch,
+											   MeterRegistry meterRegistry) {
+		return properties.isSingleFlight() ? new SingleFlightMemberRepository(tieredMemberSearch, meterRegistry) : tieredMemberSearch;
+	}
+}
@@ -0,0 +1,65 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 회원 검색 설정 (querydsl.search.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.search")
+public class MemberSearchProperties {
+
+	/**
+	 * /v2, /v3 members 가 쓰는 MemberRepositoryCustom 구현
+	 */
+	private Backend backend = Backend.JPA;
+
+	/**
+	 * 동시에 들어온 같은 검색을 한 번만 실행한다 (SingleFlightMemberRepository)
+	 */
+	private boolean singleFlight = true;
+
+	/**
+	 * 팀 이름 -> team_id 캐시 유지 시간. JPA 로 바꾼 팀은 바로 반영되고, JDBC 로 바꾼 팀은 이 시간이 지나야 보인다
+	 */
+	private Duration teamIdCacheTtl = Duration.ofMinutes(1);
+
+	/**
+	 * MemberRepositoryImpl 페이지 조회가 전체 수를 구하는 방법
+	 */
+	private CountMode countMode = CountMode.QUERY;
+
+	public enum Backend {
+		/**
+		 * Querydsl JPA (MemberRepositoryImpl)
+		 */
+		JPA,
+		/**
+		 * querydsl-sql (MemberSqlRepository)
+		 */
+		SQL,
+		/**
+		 * team_id 로 나눈 샤드에 scatter-gather (ShardedMemberRepository, querydsl.shard.*). 기동 때 옮긴 읽기 전용 스냅샷을 읽는다
+		 */
+		SHARDED,
+		/**
+		 * 조인 없이 member_search 만 읽는다 (MemberSearchRepository)
+		 */
+		DENORMALIZED
+	}
+
+	public enum CountMode {
+		/**
+		 * 내용 조회 뒤 count 쿼리를 따로 실행한다
+		 */
+		QUERY,
+		/**
+		 * 내용 조회에 count(*) over() 열을 붙여 한 번에 읽는다. 빈 페이지일 때만 count 쿼리를 실행한다
+		 */
+		WINDOW
+	}
+}
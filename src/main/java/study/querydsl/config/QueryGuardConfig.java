@@ -0,0 +1,40 @@
+package study.querydsl.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.guard.QueryCostGuard;
+import study.querydsl.repository.guard.QueryGuardProperties;
+
+/**
+ * Member 를 다루는 QuerydslPredicateExecutor 리포지토리 프록시에 {@link QueryCostGuard} 를 끼운다.
+ * 가드는 통계 조회용 JPAQueryFactory 가 필요하므로 첫 호출 때 꺼낸다.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryGuardProperties.class)
+public class QueryGuardConfig {
+
+	@Bean
+	public static BeanPostProcessor queryCostGuardRegistrar(ObjectProvider<QueryCostGuard> guard) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+						if (information.getDomainType() == Member.class
+								&& QuerydslPredicateExecutor.class.isAssignableFrom(information.getRepositoryInterface())) {
+							proxyFactory.addAdvice((MethodInterceptor) invocation -> guard.getObject().invoke(invocation));
+						}
+					}));
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,29 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * querydsl-sql 설정. 커넥션은 스프링 트랜잭션에 묶인 것을 쓴다.
+ */
+@Configuration
+public class QuerydslSqlConfig {
+
+	@Bean
+	public com.querydsl.sql.Configuration querydslSqlConfiguration() {
+		com.querydsl.sql.Configuration configuration = new com.querydsl.sql.Configuration(H2Templates.builder().build());
+		configuration.setExceptionTranslator(new SpringExceptionTranslator());
+		return configuration;
+	}
+
+	@Bean
+	public SQLQueryFactory sqlQueryFactory(com.querydsl.sql.Configuration querydslSqlConfiguration, DataSource dataSource) {
+		return new SQLQueryFactory(querydslSqlConfiguration, new SpringConnectionProvider(dataSource));
+	}
+}
@@ -0,0 +1,114 @@
+package study.querydsl.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Interceptor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.ClearEvent;
+import org.hibernate.event.spi.ClearEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 세션마다 하나씩 만들어지는 인터셉터로, 그 세션이 읽었거나 저장한 엔티티 타입을 기억한다 (SessionEntityTypesConfig).
+ * 기억할 타입은 {@link #track} 으로 등록하고, 세션을 clear 하면 잊는다.
+ * <p>
+ * 캐시가 "flush 안 된 변경이 있는가" 를 볼 때 Session.isDirty() 는 관리 중인 엔티티를 모두 검사하므로
+ * 대신 ActionQueue 와 이 타입 목록만 본다. 관리 중인 그 타입 엔티티가 있으면 바뀌었을 수 있다고 본다.
+ */
+public class SessionEntityTypes implements Interceptor {
+
+	// 세션은 한 스레드에서만 쓰인다
+	private final Set<Class<?>> types = new HashSet<>(4);
+
+	/**
+	 * 같은 클래스의 리스너를 두 번 등록하면 Hibernate 가 중복으로 거부하므로 레지스트리마다 Tracker 하나에 타입을 모은다.
+	 */
+	public static void track(EventListenerRegistry registry, Class<?> type) {
+		for (ClearEventListener listener : registry.getEventListenerGroup(EventType.CLEAR).listeners()) {
+			if (listener instanceof Tracker tracker) {
+				tracker.types.add(type);
+				return;
+			}
+		}
+		Tracker tracker = new Tracker();
+		tracker.types.add(type);
+		registry.appendListeners(EventType.POST_LOAD, tracker);
+		registry.appendListeners(EventType.POST_INSERT, tracker);
+		registry.appendListeners(EventType.CLEAR, tracker);
+	}
+
+	/**
+	 * 현재 스레드에 묶인 영속성 컨텍스트에 flush 하지 않은 type 변경이 있을 수 있으면 true.
+	 * 쌓인 insert/delete 가 있거나 type 엔티티를 관리하고 있으면 true 다. 인터셉터가 없으면 Session.isDirty() 로 본다.
+	 */
+	public static boolean hasPendingChanges(EntityManagerFactory entityManagerFactory, Class<?> type) {
+		if (!(TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)) {
+			return false;
+		}
+		SessionImplementor session = holder.getEntityManager().unwrap(SessionImplementor.class);
+		if (session.getActionQueue().hasAnyQueuedActions()) {
+			return true;
+		}
+		if (session.getInterceptor() instanceof SessionEntityTypes entityTypes) {
+			return entityTypes.types.contains(type);
+		}
+		return session.isDirty();
+	}
+
+	private static SessionEntityTypes of(SharedSessionContractImplementor session) {
+		return session.getInterceptor() instanceof SessionEntityTypes entityTypes ? entityTypes : null;
+	}
+
+	private static class Tracker implements PostLoadEventListener, PostInsertEventListener, ClearEventListener {
+
+		// 부트스트랩 때만 바뀐다
+		private final Set<Class<?>> types = new CopyOnWriteArraySet<>();
+
+		@Override
+		public void onPostLoad(PostLoadEvent event) {
+			add(event.getSession(), event.getEntity());
+		}
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			add(event.getSession(), event.getEntity());
+		}
+
+		@Override
+		public void onClear(ClearEvent event) {
+			SessionEntityTypes entityTypes = of(event.getSession());
+			if (entityTypes != null) {
+				entityTypes.types.clear();
+			}
+		}
+
+		@Override
+		public boolean requiresPostCommitHandling(EntityPersister persister) {
+			return false;
+		}
+
+		private void add(SharedSessionContractImplementor session, Object entity) {
+			SessionEntityTypes entityTypes = of(session);
+			if (entityTypes == null) {
+				return;
+			}
+			for (Class<?> type : types) {
+				if (type.isInstance(entity)) {
+					entityTypes.types.add(type);
+				}
+			}
+		}
+	}
+}
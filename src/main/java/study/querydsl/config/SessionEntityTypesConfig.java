@@ -0,0 +1,15 @@
+package study.querydsl.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SessionEntityTypesConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer sessionEntityTypes() {
+		return properties -> properties.put(AvailableSettings.SESSION_SCOPED_INTERCEPTOR, SessionEntityTypes.class);
+	}
+}
@@ -0,0 +1,23 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 기동 관련 설정 (querydsl.startup.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.startup")
+public class StartupProperties {
+
+	/**
+	 * true 면 초기 데이터 적재를 @PostConstruct 가 아니라 기동 완료 후 백그라운드에서 한다.
+	 */
+	private boolean deferredInit = false;
+
+	/**
+	 * true 면 데이터 준비까지 끝난 뒤 바로 종료한다. CDS 아카이브를 만들 때 쓴다.
+	 */
+	private boolean exitOnReady = false;
+}
@@ -0,0 +1,112 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JVM 시작 시점부터 기동 완료, 데이터 준비 완료, 첫 응답까지 걸린 시간을 기록한다.
+ * <p>
+ * 백그라운드 데이터 적재가 끝나기 전에는 {@link #isDataReady()} 가 false 이고,
+ * readiness 헬스 그룹에 포함된 dataInitialization 이 OUT_OF_SERVICE 를 보고한다.
+ */
+@Slf4j
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(StartupProperties.class)
+public class StartupTracker implements MeterBinder {
+
+	private final StartupProperties properties;
+	private final ApplicationContext context;
+
+	private final AtomicInteger pendingInitializations = new AtomicInteger();
+	private final AtomicBoolean dataReady = new AtomicBoolean();
+	private final AtomicBoolean firstResponse = new AtomicBoolean();
+
+	private volatile long readyMillis = -1;
+	private volatile long dataReadyMillis = -1;
+	private volatile long firstResponseMillis = -1;
+
+	public void beginDataInitialization() {
+		pendingInitializations.incrementAndGet();
+	}
+
+	public void endDataInitialization() {
+		if (pendingInitializations.decrementAndGet() == 0 && readyMillis >= 0) {
+			onDataReady();
+		}
+	}
+
+	public boolean isDataReady() {
+		return dataReady.get();
+	}
+
+	public int getPendingInitializations() {
+		return pendingInitializations.get();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		readyMillis = uptimeMillis();
+		log.info("startup: application ready in {} ms", readyMillis);
+		if (pendingInitializations.get() == 0) {
+			onDataReady();
+		}
+	}
+
+	/**
+	 * 기동 후 첫 번째 (actuator 가 아닌) 요청에 응답했을 때 한 번만 기록된다.
+	 */
+	void onFirstResponse() {
+		if (firstResponse.compareAndSet(false, true)) {
+			firstResponseMillis = uptimeMillis();
+			log.info("startup: first response after {} ms (ready={} ms, data ready={} ms)",
+					firstResponseMillis, readyMillis, dataReadyMillis);
+		}
+	}
+
+	boolean isFirstResponseRecorded() {
+		return firstResponse.get();
+	}
+
+	private void onDataReady() {
+		if (!dataReady.compareAndSet(false, true)) {
+			return;
+		}
+		dataReadyMillis = uptimeMillis();
+		log.info("startup: data ready in {} ms", dataReadyMillis);
+
+		if (properties.isExitOnReady()) {
+			new Thread(() -> System.exit(SpringApplication.exit(context)), "exit-on-ready").start();
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		TimeGauge.builder("application.data.ready.time", this, TimeUnit.MILLISECONDS, tracker -> tracker.dataReadyMillis)
+				.description("JVM 시작부터 초기 데이터 준비가 끝날 때까지 걸린 시간")
+				.register(registry);
+		TimeGauge.builder("application.first.response.time", this, TimeUnit.MILLISECONDS, tracker -> tracker.firstResponseMillis)
+				.description("JVM 시작부터 첫 응답까지 걸린 시간")
+				.register(registry);
+	}
+
+	private static long uptimeMillis() {
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+}
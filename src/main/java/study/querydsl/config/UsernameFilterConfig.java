@@ -0,0 +1,55 @@
+package study.querydsl.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.username.UsernameFilter;
+import study.querydsl.repository.username.UsernameFilterProperties;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Member 리포지토리의 findByUsername 을 {@link UsernameFilter} 로 먼저 거른다. 필터가 없다고 하면 빈 목록을 바로 돌려준다.
+ */
+@Configuration
+@EnableConfigurationProperties(UsernameFilterProperties.class)
+public class UsernameFilterConfig {
+
+	@Bean
+	public static BeanPostProcessor usernameFilterRegistrar(ObjectProvider<UsernameFilter> filter) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+						if (information.getDomainType() == Member.class) {
+							proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+								Object[] args = invocation.getArguments();
+								if (!invocation.getMethod().getName().equals("findByUsername")
+										|| args.length != 1 || !(args[0] instanceof String username)) {
+									return invocation.proceed();
+								}
+								UsernameFilter usernameFilter = filter.getObject();
+								if (usernameFilter.ruledOut(username)) {
+									return List.of();
+								}
+								Object result = invocation.proceed();
+								if (result instanceof Collection<?> members && members.isEmpty()) {
+									usernameFilter.falsePositive();
+								}
+								return result;
+							});
+						}
+					}));
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,27 @@
+package study.querydsl.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL 에서 쓸 창 함수를 Hibernate 에 등록한다 (META-INF/services 로 읽힌다).
+ * <ul>
+ *     <li>count_over() - count(*) over(): where 를 거친 전체 행 수를 limit 전에 모든 행에 붙인다</li>
+ * </ul>
+ */
+public class WindowFunctionContributor implements FunctionContributor {
+
+	public static final String COUNT_OVER = "count_over";
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry()
+				.patternDescriptorBuilder(COUNT_OVER, "count(*) over()")
+				.setExactArgumentCount(0)
+				.setInvariantType(functionContributions.getTypeConfiguration()
+						.getBasicTypeRegistry()
+						.resolve(StandardBasicTypes.LONG))
+				.register();
+	}
+}
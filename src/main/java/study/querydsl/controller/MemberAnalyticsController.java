@@ -0,0 +1,52 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberAgeStatsDto;
+import study.querydsl.repository.MemberAnalyticsRepository;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberAnalyticsController {
+
+	static final int MAX_K = 100;
+	static final int MAX_LIMIT = 1_000;
+
+	private final MemberAnalyticsRepository memberAnalyticsRepository;
+	private final QueryTimeouts queryTimeouts;
+
+	@GetMapping("/analytics/teams/oldest")
+	public WebAsyncTask<List<MemberAgeStatsDto>> oldestPerTeam(@RequestParam(defaultValue = "3") int k,
+															  @RequestParam(required = false) String teamName) {
+		check(k, MAX_K, "k");
+		return queryTimeouts.task("analytics", () -> memberAnalyticsRepository.oldestPerTeam(k, teamName));
+	}
+
+	@GetMapping("/analytics/members/age-rank")
+	public WebAsyncTask<List<MemberAgeStatsDto>> ageRank(@RequestParam(required = false) String teamName,
+														 @RequestParam(defaultValue = "100") int limit) {
+		check(limit, MAX_LIMIT, "limit");
+		return queryTimeouts.task("analytics", () -> memberAnalyticsRepository.ageRank(teamName, limit));
+	}
+
+	@GetMapping("/analytics/members/age-deviation")
+	public WebAsyncTask<List<MemberAgeStatsDto>> ageDeviation(@RequestParam(required = false) String teamName,
+															  @RequestParam(defaultValue = "100") int limit) {
+		check(limit, MAX_LIMIT, "limit");
+		return queryTimeouts.task("analytics", () -> memberAnalyticsRepository.ageDeviation(teamName, limit));
+	}
+
+	private static void check(int value, int max, String name) {
+		if (value < 1 || value > max) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " 는 1 이상 " + max + " 이하여야 합니다.");
+		}
+	}
+}
@@ -1,14 +1,24 @@
 package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberFieldSet;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.SparseMember;
 import study.querydsl.repository.MemberJpaRepository;
-import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberProjectionRepository;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSort;
+import study.querydsl.timeout.QueryTimeouts;
 
 import java.util.List;
 
@@ -17,20 +27,62 @@ import java.util.List;
 public class MemberController {
 
 	private final MemberJpaRepository memberJpaRepository;
-	private final MemberRepository memberRepository;
+	private final MemberRepositoryCustom memberSearch;
+	private final MemberProjectionRepository memberProjectionRepository;
+	private final QueryTimeouts queryTimeouts;
 
 	@GetMapping("/v1/members")
-	public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-		return memberJpaRepository.search(condition);
+	public WebAsyncTask<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition) {
+		return queryTimeouts.task("members-v1", () -> memberJpaRepository.search(condition));
 	}
 
 	@GetMapping("/v2/members")
-	public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-		return memberRepository.searchPageSimple(condition, pageable);
+	public WebAsyncTask<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+		checkSort(pageable);
+		return queryTimeouts.task("members-v2", () -> memberSearch.searchPageSimple(condition, pageable));
 	}
 
 	@GetMapping("/v3/members")
-	public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
-		return memberRepository.searchPageComplex(condition, pageable);
+	public WebAsyncTask<Page<MemberTeamDto>> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
+		checkSort(pageable);
+		return queryTimeouts.task("members-v3", () -> memberSearch.searchPageComplex(condition, pageable));
+	}
+
+	// fields=username,age 처럼 필드를 고르면 그 컬럼만 읽고 그 필드만 내려준다 (JPA 로만 읽는다)
+	@GetMapping(value = "/v1/members", params = "fields")
+	public WebAsyncTask<List<SparseMember>> searchMemberV1(MemberSearchCondition condition, @RequestParam String fields) {
+		MemberFieldSet fieldSet = parseFields(fields);
+		return queryTimeouts.task("members-v1", () -> memberProjectionRepository.search(condition, fieldSet));
+	}
+
+	@GetMapping(value = "/v2/members", params = "fields")
+	public WebAsyncTask<Page<SparseMember>> searchMemberV2(MemberSearchCondition condition, Pageable pageable, @RequestParam String fields) {
+		MemberFieldSet fieldSet = parseFields(fields);
+		checkSort(pageable);
+		return queryTimeouts.task("members-v2", () -> memberProjectionRepository.searchPage(condition, fieldSet, pageable));
+	}
+
+	@GetMapping(value = "/v3/members", params = "fields")
+	public WebAsyncTask<Page<SparseMember>> searchMemberV3(MemberSearchCondition condition, Pageable pageable, @RequestParam String fields) {
+		MemberFieldSet fieldSet = parseFields(fields);
+		checkSort(pageable);
+		return queryTimeouts.task("members-v3", () -> memberProjectionRepository.searchPage(condition, fieldSet, pageable));
+	}
+
+	private static MemberFieldSet parseFields(String fields) {
+		try {
+			return MemberFieldSet.parse(fields);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+	}
+
+	// 정렬할 수 없는 sort= 는 검색을 띄우기 전에 400 으로 돌려보낸다
+	private static void checkSort(Pageable pageable) {
+		try {
+			pageable.getSort().forEach(order -> MemberSort.of(order.getProperty()));
+		} catch (InvalidDataAccessApiUsageException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
 	}
 }
@@ -0,0 +1,32 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/**
+ * 팀 안에서의 나이 순위와 팀 평균 대비 편차
+ */
+@Data
+public class MemberAgeStatsDto {
+	private Long memberId;
+	private String username;
+	private int age;
+	private Long teamId;
+	private String teamName;
+	// 팀 안에서 나이 내림차순 순위 (같은 나이는 같은 순위)
+	private long ageRank;
+	private double teamAvgAge;
+	private double ageDeviation;
+
+	@QueryProjection
+	public MemberAgeStatsDto(Long memberId, String username, int age, Long teamId, String teamName, long ageRank, double teamAvgAge) {
+		this.memberId = memberId;
+		this.username = username;
+		this.age = age;
+		this.teamId = teamId;
+		this.teamName = teamName;
+		this.ageRank = ageRank;
+		this.teamAvgAge = teamAvgAge;
+		this.ageDeviation = age - teamAvgAge;
+	}
+}
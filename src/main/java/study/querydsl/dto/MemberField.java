@@ -0,0 +1,49 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.types.Expression;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fields= 로 고를 수 있는 MemberTeamDto 필드. teamId 는 member 의 외래 키라 team 조인 없이 읽는다.
+ */
+public enum MemberField {
+
+	MEMBER_ID("memberId", member.id, false),
+	USERNAME("username", member.username, false),
+	AGE("age", member.age, false),
+	TEAM_ID("teamId", member.team.id, false),
+	TEAM_NAME("teamName", team.name, true);
+
+	private final String fieldName;
+	private final Expression<?> expression;
+	private final boolean needsTeam;
+
+	MemberField(String fieldName, Expression<?> expression, boolean needsTeam) {
+		this.fieldName = fieldName;
+		this.expression = expression;
+		this.needsTeam = needsTeam;
+	}
+
+	public String fieldName() {
+		return fieldName;
+	}
+
+	public Expression<?> expression() {
+		return expression;
+	}
+
+	public boolean needsTeam() {
+		return needsTeam;
+	}
+
+	public static MemberField of(String fieldName) {
+		for (MemberField field : values()) {
+			if (field.fieldName.equals(fieldName)) {
+				return field;
+			}
+		}
+		throw new IllegalArgumentException("알 수 없는 필드입니다: " + fieldName);
+	}
+}
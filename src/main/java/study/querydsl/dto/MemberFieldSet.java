@@ -0,0 +1,87 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QTuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청한 필드 조합과 그 조합의 Querydsl 프로젝션. 조합은 2^5 = 32 가지뿐이라 처음에 모두 만들어 두고 꺼내 쓴다.
+ */
+public final class MemberFieldSet {
+
+	private static final MemberField[] FIELDS = MemberField.values();
+	private static final MemberFieldSet[] CACHE = new MemberFieldSet[1 << FIELDS.length];
+
+	static {
+		for (int mask = 1; mask < CACHE.length; mask++) {
+			CACHE[mask] = new MemberFieldSet(mask);
+		}
+	}
+
+	public static final MemberFieldSet ALL = CACHE[CACHE.length - 1];
+
+	private final int mask;
+	private final MemberField[] fields;
+	private final QTuple projection;
+	private final boolean needsTeam;
+
+	private MemberFieldSet(int mask) {
+		List<MemberField> selected = new ArrayList<>();
+		for (MemberField field : FIELDS) {
+			if ((mask & (1 << field.ordinal())) != 0) {
+				selected.add(field);
+			}
+		}
+		this.mask = mask;
+		this.fields = selected.toArray(MemberField[]::new);
+		this.projection = Projections.tuple(selected.stream().map(MemberField::expression).toArray(Expression[]::new));
+		this.needsTeam = selected.stream().anyMatch(MemberField::needsTeam);
+	}
+
+	/**
+	 * "username,age" 같은 쉼표 목록. 비어 있으면 전체 필드.
+	 */
+	public static MemberFieldSet parse(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		int mask = 0;
+		for (String field : fields.split(",")) {
+			String name = field.trim();
+			if (!name.isEmpty()) {
+				mask |= 1 << MemberField.of(name).ordinal();
+			}
+		}
+		return mask == 0 ? ALL : CACHE[mask];
+	}
+
+	public static MemberFieldSet of(MemberField... fields) {
+		int mask = 0;
+		for (MemberField field : fields) {
+			mask |= 1 << field.ordinal();
+		}
+		return mask == 0 ? ALL : CACHE[mask];
+	}
+
+	/**
+	 * 프로젝션 안에서의 순서대로 정렬된 필드
+	 */
+	public MemberField[] fields() {
+		return fields;
+	}
+
+	public QTuple projection() {
+		return projection;
+	}
+
+	public boolean needsTeam() {
+		return needsTeam;
+	}
+
+	public boolean contains(MemberField field) {
+		return (mask & (1 << field.ordinal())) != 0;
+	}
+}
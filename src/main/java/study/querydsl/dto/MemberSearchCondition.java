@@ -10,4 +10,7 @@ public class MemberSearchCondition {
 	private String teamName;
 	private Integer ageGoe;
 	private Integer ageLoe;
+
+	// true 면 member_archive 로 옮겨진 회원도 함께 찾는다
+	private boolean includeArchived;
 }
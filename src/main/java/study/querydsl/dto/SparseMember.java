@@ -0,0 +1,38 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.querydsl.core.Tuple;
+
+import java.io.IOException;
+
+/**
+ * fields= 로 고른 필드만 담은 회원 한 건. Tuple 을 그대로 들고 있다가 고른 필드만 JSON 으로 쓴다.
+ */
+@JsonSerialize(using = SparseMember.Serializer.class)
+public record SparseMember(Tuple tuple, MemberFieldSet fields) {
+
+	public Object get(MemberField field) {
+		MemberField[] selected = fields.fields();
+		for (int i = 0; i < selected.length; i++) {
+			if (selected[i] == field) {
+				return tuple.get(i, Object.class);
+			}
+		}
+		return null;
+	}
+
+	public static class Serializer extends JsonSerializer<SparseMember> {
+		@Override
+		public void serialize(SparseMember value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+			MemberField[] selected = value.fields().fields();
+			gen.writeStartObject();
+			for (int i = 0; i < selected.length; i++) {
+				serializers.defaultSerializeField(selected[i].fieldName(), value.tuple().get(i, Object.class), gen);
+			}
+			gen.writeEndObject();
+		}
+	}
+}
@@ -1,11 +1,23 @@
 package study.querydsl.entity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+// 정렬 + limit 을 인덱스 순서대로 읽도록 정렬 키 뒤에 member_id 를 붙인 인덱스 (MemberSort 참고)
+@Table(indexes = {
+		@Index(name = "idx_member_username", columnList = "username, member_id"),
+		@Index(name = "idx_member_age", columnList = "age, member_id"),
+		@Index(name = "idx_member_team_id", columnList = "team_id"),
+		// 보관 작업이 오래 활동하지 않은 회원부터 읽는다 (MemberArchiveJob)
+		@Index(name = "idx_member_last_active", columnList = "last_active_at, member_id")
+})
 public class Member {
 	@Id
 	@GeneratedValue
@@ -14,6 +26,10 @@ public class Member {
 	private String username;
 	private int age;
 
+	// 마지막 활동 시각. 가입 시각으로 시작해 MemberUpdateBuffer 가 나이를 고칠 때 갱신되고, 오래 지나면 member_archive 로 옮겨진다
+	@Column(name = "last_active_at")
+	private LocalDateTime lastActiveAt;
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "team_id")
 	private Team team;
@@ -34,7 +50,19 @@ public class Member {
 		}
 	}
 
+	@PrePersist
+	void initLastActiveAt() {
+		if (lastActiveAt == null) {
+			lastActiveAt = LocalDateTime.now();
+		}
+	}
+
 	public void changeTeam(Team team) {
 		this.team = team;
-		team.getMembers().add(this);
+		// 바이트코드 보강(연관관계 관리)으로 빌드하면 위 대입에서 이미 team.members 에 들어간다
+		// 초기화되지 않은 컬렉션은 읽지 않고 예전처럼 add 만 예약한다
+		List<Member> members = team.getMembers();
+		if (!Hibernate.isInitialized(members) || members.isEmpty() || members.get(members.size() - 1) != this) {
+			members.add(this);
+		}
 	} }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package study.querydsl.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래 활동하지 않아 member 에서 옮겨 둔 회원 (cold tier).
+ * <p>
+ * member_id 를 그대로 쓰고, 팀은 연관관계 없이 id 만 둔다. MemberArchiveJob 이 SQL 로 옮기므로 JPA 로는 읽기만 한다.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Table(name = "member_archive", indexes = {
+		@Index(name = "idx_member_archive_username", columnList = "username, member_id"),
+		@Index(name = "idx_member_archive_age", columnList = "age, member_id"),
+		@Index(name = "idx_member_archive_team_id", columnList = "team_id")
+})
+public class MemberArchive {
+	@Id
+	@Column(name = "member_id")
+	private Long memberId;
+	private String username;
+	private int age;
+	@Column(name = "team_id")
+	private Long teamId;
+	@Column(name = "last_active_at")
+	private LocalDateTime lastActiveAt;
+	@Column(name = "archived_at")
+	private LocalDateTime archivedAt;
+}
@@ -0,0 +1,33 @@
+package study.querydsl.entity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * 검색용으로 회원과 팀 이름을 펼쳐 둔 테이블. 조인 없이 검색 조건을 모두 걸 수 있다.
+ * <p>
+ * JPA 로 쓰지 않고 MemberSearchSyncListener 가 같은 트랜잭션 안에서 SQL 로 맞춘다.
+ * 벌크 연산 뒤에는 MemberSearchRepairJob 으로 다시 맞춘다.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Table(name = "member_search", indexes = {
+		@Index(name = "idx_member_search_username", columnList = "username, member_id"),
+		@Index(name = "idx_member_search_team_name", columnList = "team_name, member_id"),
+		@Index(name = "idx_member_search_age", columnList = "age, member_id"),
+		@Index(name = "idx_member_search_team_id", columnList = "team_id")
+})
+public class MemberSearch {
+	@Id
+	@Column(name = "member_id")
+	private Long memberId;
+	private String username;
+	private int age;
+	@Column(name = "team_id")
+	private Long teamId;
+	@Column(name = "team_name")
+	private String teamName;
+}
@@ -8,6 +8,7 @@ import java.util.List;
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name, team_id"))
 public class Team {
 	@Id @GeneratedValue
 	@Column(name = "team_id")
@@ -0,0 +1,129 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static study.querydsl.export.ColumnarFormat.*;
+
+/**
+ * {@link ColumnarFileWriter} 로 쓴 파일을 읽는다.
+ * 블록 헤더는 위치 지정 read 로 읽고, 나이 범위가 겹치는 블록의 데이터 영역만 매핑해서 읽는다.
+ */
+public class ColumnarFileReader implements AutoCloseable {
+
+	private final FileChannel channel;
+	private final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+
+	public ColumnarFileReader(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_BYTES);
+		readFully(fileHeader, 0);
+		if (fileHeader.getInt(0) != MAGIC) {
+			throw new IOException("회원 컬럼 파일이 아닙니다: " + path);
+		}
+		if (fileHeader.getInt(Integer.BYTES) != VERSION) {
+			throw new IOException("지원하지 않는 버전입니다: " + fileHeader.getInt(Integer.BYTES));
+		}
+	}
+
+	/**
+	 * ageGoe <= age <= ageLoe 인 행만 consumer 로 넘긴다. null 이면 그 쪽 경계는 없다.
+	 */
+	public ScanResult scan(Integer ageGoe, Integer ageLoe, Consumer<MemberTeamDto> consumer) throws IOException {
+		int lower = ageGoe == null ? Integer.MIN_VALUE : ageGoe;
+		int upper = ageLoe == null ? Integer.MAX_VALUE : ageLoe;
+
+		long position = FILE_HEADER_BYTES;
+		long blocksRead = 0, blocksSkipped = 0, rowsMatched = 0;
+		while (true) {
+			header.clear();
+			int remaining = (int) Math.min(BLOCK_HEADER_BYTES, channel.size() - position);
+			header.limit(remaining);
+			readFully(header, position);
+			int rowCount = header.getInt(0);
+			if (rowCount == END_OF_BLOCKS) {
+				break;
+			}
+			int minAge = header.getInt(Integer.BYTES + Long.BYTES * 2);
+			int maxAge = header.getInt(Integer.BYTES + Long.BYTES * 2 + Integer.BYTES);
+			long dataLength = header.getLong(Integer.BYTES + Long.BYTES * 2 + Integer.BYTES * 2);
+			long dataStart = position + BLOCK_HEADER_BYTES;
+			position = dataStart + dataLength;
+
+			if (maxAge < lower || minAge > upper) {
+				blocksSkipped++;
+				continue;
+			}
+			blocksRead++;
+			rowsMatched += readBlock(channel.map(FileChannel.MapMode.READ_ONLY, dataStart, dataLength), rowCount, lower, upper, consumer);
+		}
+		return new ScanResult(blocksRead, blocksSkipped, rowsMatched);
+	}
+
+	private static long readBlock(MappedByteBuffer data, int n, int lower, int upper, Consumer<MemberTeamDto> consumer) {
+		int idsOffset = 0;
+		int agesOffset = idsOffset + n * Long.BYTES;
+		int teamIdsOffset = agesOffset + n * Integer.BYTES;
+		data.position(teamIdsOffset + n * Long.BYTES);
+
+		// 문자열 컬럼은 가변 길이라 순서대로 읽는다
+		String[] usernames = new String[n];
+		for (int i = 0; i < n; i++) {
+			usernames[i] = getString(data);
+		}
+
+		long matched = 0;
+		for (int i = 0; i < n; i++) {
+			String teamName = getString(data);
+			int age = data.getInt(agesOffset + i * Integer.BYTES);
+			if (age < lower || age > upper) {
+				continue;
+			}
+			long teamId = data.getLong(teamIdsOffset + i * Long.BYTES);
+			consumer.accept(new MemberTeamDto(
+					data.getLong(idsOffset + i * Long.BYTES),
+					usernames[i],
+					age,
+					teamId == MemberColumns.NO_TEAM ? null : teamId,
+					teamName));
+			matched++;
+		}
+		return matched;
+	}
+
+	private static String getString(ByteBuffer data) {
+		int length = data.getInt();
+		if (length == NULL_STRING) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		data.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new IOException("파일이 예상보다 짧습니다.");
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	public record ScanResult(long blocksRead, long blocksSkipped, long rowsMatched) {
+	}
+}
@@ -0,0 +1,161 @@
+package study.querydsl.export;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static study.querydsl.export.ColumnarFormat.*;
+
+/**
+ * 회원 컬럼 파일을 memory-mapped 윈도우로 쓴다.
+ * <p>
+ * 파일을 WINDOW_BYTES 단위로 매핑해 두고 블록을 그대로 복사한다. 윈도우가 모자라면 현재 위치부터 다시 매핑한다.
+ * 힙에는 블록 하나 분량의 문자열 바이트만 잠깐 올라간다.
+ */
+public class ColumnarFileWriter implements AutoCloseable {
+
+	static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private long position;
+	private long blocks;
+	private long rows;
+	private boolean closed;
+
+	private byte[][] usernameBytes = new byte[0][];
+	private byte[][] teamNameBytes = new byte[0][];
+
+	public ColumnarFileWriter(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		ensure(FILE_HEADER_BYTES);
+		window.putInt(MAGIC);
+		window.putInt(VERSION);
+		position += FILE_HEADER_BYTES;
+	}
+
+	public void writeBlock(MemberColumns columns) throws IOException {
+		int n = columns.size();
+		if (n == 0) {
+			return;
+		}
+		if (usernameBytes.length < n) {
+			usernameBytes = new byte[n][];
+			teamNameBytes = new byte[n][];
+		}
+
+		long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+		int minAge = Integer.MAX_VALUE, maxAge = Integer.MIN_VALUE;
+		long stringBytes = 0;
+		for (int i = 0; i < n; i++) {
+			minId = Math.min(minId, columns.ids[i]);
+			maxId = Math.max(maxId, columns.ids[i]);
+			minAge = Math.min(minAge, columns.ages[i]);
+			maxAge = Math.max(maxAge, columns.ages[i]);
+			usernameBytes[i] = encode(columns.usernames[i]);
+			teamNameBytes[i] = encode(columns.teamNames[i]);
+			stringBytes += stringLength(usernameBytes[i]) + stringLength(teamNameBytes[i]);
+		}
+		long dataLength = (long) n * (Long.BYTES + Integer.BYTES + Long.BYTES) + stringBytes;
+
+		ensure(BLOCK_HEADER_BYTES + dataLength);
+		window.putInt(n);
+		window.putLong(minId);
+		window.putLong(maxId);
+		window.putInt(minAge);
+		window.putInt(maxAge);
+		window.putLong(dataLength);
+		for (int i = 0; i < n; i++) {
+			window.putLong(columns.ids[i]);
+		}
+		for (int i = 0; i < n; i++) {
+			window.putInt(columns.ages[i]);
+		}
+		for (int i = 0; i < n; i++) {
+			window.putLong(columns.teamIds[i]);
+		}
+		for (int i = 0; i < n; i++) {
+			putString(usernameBytes[i]);
+			usernameBytes[i] = null;
+		}
+		for (int i = 0; i < n; i++) {
+			putString(teamNameBytes[i]);
+			teamNameBytes[i] = null;
+		}
+
+		position += BLOCK_HEADER_BYTES + dataLength;
+		blocks++;
+		rows += n;
+	}
+
+	public long bytesWritten() {
+		return position;
+	}
+
+	public long blocks() {
+		return blocks;
+	}
+
+	public long rows() {
+		return rows;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			ensure(Integer.BYTES);
+			window.putInt(END_OF_BLOCKS);
+			position += Integer.BYTES;
+			window.force();
+			window = null;
+			// 마지막 윈도우 때문에 늘어난 꼬리를 잘라낸다
+			channel.truncate(position);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * 현재 위치부터 bytes 만큼 쓸 수 있도록 윈도우를 맞춘다.
+	 */
+	private void ensure(long bytes) throws IOException {
+		if (window != null && position + bytes <= windowStart + window.capacity()) {
+			return;
+		}
+		if (window != null) {
+			window.force();
+		}
+		long size = Math.max(WINDOW_BYTES, bytes);
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("블록이 너무 큽니다: " + bytes + " bytes");
+		}
+		windowStart = position;
+		window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, size);
+	}
+
+	private void putString(byte[] bytes) {
+		if (bytes == null) {
+			window.putInt(NULL_STRING);
+			return;
+		}
+		window.putInt(bytes.length);
+		window.put(bytes);
+	}
+
+	private static byte[] encode(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static long stringLength(byte[] bytes) {
+		return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+	}
+}
@@ -0,0 +1,24 @@
+package study.querydsl.export;
+
+/**
+ * 회원 컬럼 파일 포맷.
+ * <pre>
+ * file   := MAGIC(int) VERSION(int) block* END(int = 0)
+ * block  := rowCount(int) minId(long) maxId(long) minAge(int) maxAge(int) dataLength(long) data
+ * data   := ids(long * n) ages(int * n) teamIds(long * n) usernames(string * n) teamNames(string * n)
+ * string := length(int, null 이면 -1) utf8 bytes
+ * </pre>
+ * 블록 헤더의 min/max 만 보고 데이터 영역을 건너뛸 수 있다.
+ */
+final class ColumnarFormat {
+
+	static final int MAGIC = 0x4D434F4C; // "MCOL"
+	static final int VERSION = 1;
+	static final int FILE_HEADER_BYTES = Integer.BYTES * 2;
+	static final int BLOCK_HEADER_BYTES = Integer.BYTES + Long.BYTES * 2 + Integer.BYTES * 2 + Long.BYTES;
+	static final int END_OF_BLOCKS = 0;
+	static final int NULL_STRING = -1;
+
+	private ColumnarFormat() {
+	}
+}
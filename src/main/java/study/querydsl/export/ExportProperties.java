@@ -0,0 +1,16 @@
+package study.querydsl.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * export 프로필 설정 (querydsl.export.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.export")
+public class ExportProperties {
+
+	private String path = "members.mcol";
+	private int chunkSize = MemberExportJob.DEFAULT_CHUNK_SIZE;
+}
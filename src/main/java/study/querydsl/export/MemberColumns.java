@@ -0,0 +1,54 @@
+package study.querydsl.export;
+
+/**
+ * 한 블록 분량의 회원/팀 데이터를 컬럼별 배열로 들고 있는 버퍼. 청크마다 재사용한다.
+ * 팀이 없는 회원의 teamId 는 {@link #NO_TEAM} 으로 표시한다.
+ */
+public class MemberColumns {
+
+	public static final long NO_TEAM = -1L;
+
+	final long[] ids;
+	final String[] usernames;
+	final int[] ages;
+	final long[] teamIds;
+	final String[] teamNames;
+	int size;
+
+	public MemberColumns(int capacity) {
+		this.ids = new long[capacity];
+		this.usernames = new String[capacity];
+		this.ages = new int[capacity];
+		this.teamIds = new long[capacity];
+		this.teamNames = new String[capacity];
+	}
+
+	public void add(long id, String username, int age, Long teamId, String teamName) {
+		ids[size] = id;
+		usernames[size] = username;
+		ages[size] = age;
+		teamIds[size] = teamId == null ? NO_TEAM : teamId;
+		teamNames[size] = teamName;
+		size++;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return ids.length;
+	}
+
+	public boolean isFull() {
+		return size == ids.length;
+	}
+
+	public long lastId() {
+		return ids[size - 1];
+	}
+}
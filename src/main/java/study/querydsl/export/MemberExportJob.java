@@ -0,0 +1,84 @@
+package study.querydsl.export;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 + 팀 전체를 member_id 순서의 청크(keyset)로 읽어 컬럼 파일로 내보낸다.
+ * 청크 하나가 파일의 블록 하나가 된다. 엔티티가 아니라 Tuple 로 읽으므로 영속성 컨텍스트가 커지지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberExportJob {
+
+	public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+	private final JPAQueryFactory queryFactory;
+
+	@Transactional(readOnly = true)
+	public ExportResult export(Path path, int chunkSize) {
+		long start = System.nanoTime();
+		MemberColumns columns = new MemberColumns(chunkSize);
+
+		try (ColumnarFileWriter writer = new ColumnarFileWriter(path)) {
+			long lastId = 0;
+			while (true) {
+				List<Tuple> rows = queryFactory
+						.select(member.id, member.username, member.age, team.id, team.name)
+						.from(member)
+						.leftJoin(member.team, team)
+						.where(member.id.gt(lastId))
+						.orderBy(member.id.asc())
+						.limit(chunkSize)
+						.fetch();
+				if (rows.isEmpty()) {
+					break;
+				}
+
+				columns.clear();
+				for (Tuple row : rows) {
+					columns.add(row.get(member.id), row.get(member.username), row.get(member.age), row.get(team.id), row.get(team.name));
+				}
+				writer.writeBlock(columns);
+				lastId = columns.lastId();
+
+				if (rows.size() < chunkSize) {
+					break;
+				}
+			}
+
+			writer.close();
+			ExportResult result = new ExportResult(path, writer.rows(), writer.blocks(), writer.bytesWritten(), System.nanoTime() - start);
+			log.info("회원 export 완료: {}", result);
+			return result;
+		} catch (IOException e) {
+			throw new UncheckedIOException("회원 export 에 실패했습니다: " + path, e);
+		}
+	}
+
+	public record ExportResult(Path path, long rows, long blocks, long bytes, long elapsedNanos) {
+
+		public double megabytesPerSecond() {
+			return (bytes / (1024.0 * 1024.0)) / Math.max(elapsedNanos / 1e9, 1e-9);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s rows=%d blocks=%d size=%.1f MB elapsed=%d ms (%.1f MB/s)",
+					path, rows, blocks, bytes / (1024.0 * 1024.0), elapsedNanos / 1_000_000, megabytesPerSecond());
+		}
+	}
+}
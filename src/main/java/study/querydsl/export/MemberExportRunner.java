@@ -0,0 +1,28 @@
+package study.querydsl.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * export 프로필로 띄우면 querydsl.export.path 로 전체 회원을 내보내고 끝난다.
+ */
+@Profile("export")
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ExportProperties.class)
+public class MemberExportRunner implements ApplicationRunner {
+
+	private final MemberExportJob memberExportJob;
+	private final ExportProperties properties;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		memberExportJob.export(Path.of(properties.getPath()), properties.getChunkSize());
+	}
+}
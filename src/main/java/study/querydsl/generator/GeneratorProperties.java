@@ -0,0 +1,39 @@
+package study.querydsl.generator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * generate 프로필에서 쓰는 합성 데이터 설정 (querydsl.generator.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.generator")
+public class GeneratorProperties {
+
+	private int members = 1_000_000;
+	private int teams = 1_000;
+	private long seed = 42L;
+
+	/**
+	 * 팀 크기 Zipf 분포 지수. 0 이면 균등, 클수록 소수 팀에 회원이 몰린다.
+	 */
+	private double teamSkew = 1.0;
+
+	private double ageMean = 35;
+	private double ageStdDev = 12;
+	private int maxAge = 99;
+
+	/**
+	 * 소속 팀이 없는 회원 비율 (0.0 ~ 1.0)
+	 */
+	private double noTeamRatio = 0.0;
+
+	/**
+	 * 마지막 활동 시각을 지금부터 이 일수 전 사이에서 고르게 뽑는다
+	 */
+	private int activeWithinDays = 365;
+
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int batchSize = 5_000;
+}
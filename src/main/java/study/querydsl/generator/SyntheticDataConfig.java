@@ -0,0 +1,40 @@
+package study.querydsl.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.search.MemberSearchRepairJob;
+
+/**
+ * generate 프로필: InitMember 의 100명 대신 querydsl.generator.* 설정대로 대량 데이터를 만든다.
+ */
+@Slf4j
+@Profile("generate")
+@Configuration
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class SyntheticDataConfig {
+
+	@Bean
+	SyntheticDataGenerator syntheticDataGenerator(JdbcTemplate jdbcTemplate) {
+		return new SyntheticDataGenerator(jdbcTemplate);
+	}
+
+	@Bean
+	ApplicationRunner syntheticDataRunner(SyntheticDataGenerator generator, GeneratorProperties properties, JdbcTemplate jdbcTemplate,
+										  MemberSearchRepairJob memberSearchRepairJob) {
+		return args -> {
+			Long existing = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+			if (existing != null && existing > 0) {
+				log.warn("member 테이블에 이미 {} 건이 있어 합성 데이터 생성을 건너뜁니다.", existing);
+				return;
+			}
+			generator.generate(properties);
+			// JDBC 로 바로 넣어서 엔티티 리스너를 거치지 않았다
+			memberSearchRepairJob.repair();
+		};
+	}
+}
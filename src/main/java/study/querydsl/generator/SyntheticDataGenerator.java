@@ -0,0 +1,145 @@
+package study.querydsl.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 대량의 팀/회원 데이터를 JDBC 배치 insert 로 병렬 생성한다.
+ * <p>
+ * 회원 id 공간을 고정 크기 블록으로 나누고 블록마다 (seed, 블록 번호) 로 난수를 만들기 때문에
+ * 스레드 수와 상관없이 같은 seed 면 같은 데이터가 나온다.
+ * 엔티티를 거치지 않고 id 를 직접 넣으므로 끝나면 hibernate 시퀀스를 최대 id 뒤로 옮겨 둔다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+	static final int BLOCK_SIZE = 100_000;
+
+	// hibernate 기본 pooled optimizer 의 allocationSize
+	private static final int SEQUENCE_INCREMENT = 50;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public GenerationResult generate(GeneratorProperties properties) {
+		long start = System.nanoTime();
+
+		insertTeams(properties.getTeams());
+		insertMembers(properties);
+		restartSequence("team_seq", properties.getTeams());
+		restartSequence("member_seq", properties.getMembers());
+
+		GenerationResult result = new GenerationResult(properties.getTeams(), properties.getMembers(), System.nanoTime() - start);
+		log.info("합성 데이터 생성 완료: teams={}, members={}, {} ms ({} rows/s)",
+				result.teams(), result.members(), result.elapsedMillis(), (long) result.rowsPerSecond());
+		return result;
+	}
+
+	private void insertTeams(int teams) {
+		jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				ps.setLong(1, i + 1L);
+				ps.setString(2, "team" + i);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return teams;
+			}
+		});
+	}
+
+	private void insertMembers(GeneratorProperties properties) {
+		ZipfSampler teamSampler = new ZipfSampler(properties.getTeams(), properties.getTeamSkew());
+		int blocks = (properties.getMembers() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		LocalDateTime now = LocalDateTime.now();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+		try {
+			List<Future<?>> futures = new ArrayList<>(blocks);
+			for (int block = 0; block < blocks; block++) {
+				int from = block * BLOCK_SIZE;
+				int to = Math.min(from + BLOCK_SIZE, properties.getMembers());
+				SplittableRandom random = new SplittableRandom(properties.getSeed() * 31 + block);
+				futures.add(executor.submit(() -> insertMemberBlock(properties, teamSampler, random, now, from, to)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("회원 데이터 생성이 중단되었습니다.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("회원 데이터 생성에 실패했습니다.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void insertMemberBlock(GeneratorProperties properties, ZipfSampler teamSampler, SplittableRandom random,
+								   LocalDateTime now, int from, int to) {
+		int batchSize = properties.getBatchSize();
+		for (int batchStart = from; batchStart < to; batchStart += batchSize) {
+			int start = batchStart;
+			int size = Math.min(batchSize, to - batchStart);
+			jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id, last_active_at) values (?, ?, ?, ?, ?)",
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							int index = start + i;
+							ps.setLong(1, index + 1L);
+							ps.setString(2, "member" + index);
+							ps.setInt(3, nextAge(properties, random));
+							if (random.nextDouble() < properties.getNoTeamRatio()) {
+								ps.setNull(4, Types.BIGINT);
+							} else {
+								ps.setLong(4, teamSampler.sample(random) + 1L);
+							}
+							long activeSecondsAgo = (long) (random.nextDouble() * properties.getActiveWithinDays() * 86_400);
+							ps.setTimestamp(5, Timestamp.valueOf(now.minusSeconds(activeSecondsAgo)));
+						}
+
+						@Override
+						public int getBatchSize() {
+							return size;
+						}
+					});
+		}
+	}
+
+	private static int nextAge(GeneratorProperties properties, SplittableRandom random) {
+		long age = Math.round(properties.getAgeMean() + random.nextGaussian() * properties.getAgeStdDev());
+		return (int) Math.max(0, Math.min(properties.getMaxAge(), age));
+	}
+
+	private void restartSequence(String sequence, long maxId) {
+		jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + SEQUENCE_INCREMENT + 1));
+	}
+
+	public record GenerationResult(int teams, int members, long elapsedNanos) {
+
+		public long elapsedMillis() {
+			return elapsedNanos / 1_000_000;
+		}
+
+		public double rowsPerSecond() {
+			return (teams + members) / Math.max(elapsedNanos / 1e9, 1e-9);
+		}
+	}
+}
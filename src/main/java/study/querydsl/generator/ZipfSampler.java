@@ -0,0 +1,37 @@
+package study.querydsl.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 1..n 순위를 P(k) ∝ 1/k^s 로 뽑는다. 누적 분포를 한 번 만들어 두고 이분 탐색한다.
+ * 만든 뒤에는 읽기만 하므로 여러 스레드에서 같이 써도 된다.
+ */
+class ZipfSampler {
+
+	private final double[] cumulative;
+
+	ZipfSampler(int n, double exponent) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("n must be positive: " + n);
+		}
+		cumulative = new double[n];
+		double sum = 0;
+		for (int k = 1; k <= n; k++) {
+			sum += 1.0 / Math.pow(k, exponent);
+			cumulative[k - 1] = sum;
+		}
+		for (int i = 0; i < n; i++) {
+			cumulative[i] /= sum;
+		}
+	}
+
+	/**
+	 * @return 0 부터 시작하는 순위 (0 이 가장 자주 나온다)
+	 */
+	int sample(RandomGenerator random) {
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		int rank = index >= 0 ? index : -index - 1;
+		return Math.min(rank, cumulative.length - 1);
+	}
+}
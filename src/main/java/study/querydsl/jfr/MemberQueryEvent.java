@@ -0,0 +1,47 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 회원 리포지토리 호출 한 번. 이벤트 자체의 duration 은 호출 전체 시간이다.
+ * 기본으로 꺼져 있고 jfr/querydsl.jfc 같은 녹화 설정에서 켠다.
+ */
+@Name("study.querydsl.MemberQuery")
+@Label("Member Query")
+@Category({"Querydsl", "Repository"})
+@Description("MemberRepositoryImpl, MemberJpaRepository 호출")
+@Enabled(false)
+@StackTrace(false)
+class MemberQueryEvent extends jdk.jfr.Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Filters")
+	@Description("값이 있는 검색 조건 (username,teamName,ageGoe,ageLoe,includeArchived)")
+	String filters;
+
+	@Label("Rows")
+	long rows;
+
+	@Label("Statements")
+	@Description("Hibernate 가 이 호출 중에 준비한 SQL 수")
+	long statements;
+
+	@Label("Content Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long contentDuration;
+
+	@Label("Count Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long countDuration;
+
+	@Label("Failed")
+	boolean failed;
+}
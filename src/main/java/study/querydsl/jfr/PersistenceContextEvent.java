@@ -0,0 +1,33 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 회원 리포지토리를 부른 트랜잭션이 커밋하기 직전의 영속성 컨텍스트 크기.
+ */
+@Name("study.querydsl.PersistenceContext")
+@Label("Persistence Context At Commit")
+@Category({"Querydsl", "Repository"})
+@Description("커밋 직전 영속성 컨텍스트가 들고 있는 엔티티와 컬렉션 수")
+@Enabled(false)
+@StackTrace(false)
+class PersistenceContextEvent extends jdk.jfr.Event {
+
+	@Label("First Method")
+	@Description("이 트랜잭션에서 처음 불린 리포지토리 메서드")
+	String method;
+
+	@Label("Entities")
+	int entities;
+
+	@Label("Collections")
+	int collections;
+
+	@Label("Read Only")
+	boolean readOnly;
+}
@@ -0,0 +1,189 @@
+package study.querydsl.jfr;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.StringJoiner;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 회원 리포지토리 호출을 JFR 이벤트로 남긴다 ({@link MemberQueryEvent}, {@link PersistenceContextEvent}).
+ * <p>
+ * 이벤트가 꺼져 있으면 {@link #start} 는 아무것도 재지 않는 기록을 돌려주므로 시각도, SQL 수도 세지 않는다.
+ * 켜는 설정은 src/main/resources/jfr/querydsl.jfc 에 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryEvents {
+
+	private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+	private static final Object SYNCHRONIZATION_KEY = new Object();
+
+	private final EntityManager em;
+
+	public Recording start(String method, MemberSearchCondition condition) {
+		return start(method, filters(condition));
+	}
+
+	/**
+	 * @param filters 값이 있는 검색 조건 이름을 쉼표로 이은 것
+	 */
+	public Recording start(String method, String filters) {
+		watchCommit(method);
+		MemberQueryEvent event = new MemberQueryEvent();
+		if (!event.isEnabled()) {
+			return Recording.DISABLED;
+		}
+		event.method = method;
+		event.filters = filters;
+		Recording recording = new Recording(event, CURRENT.get());
+		CURRENT.set(recording);
+		event.begin();
+		return recording;
+	}
+
+	/**
+	 * Hibernate 가 SQL 을 준비할 때마다 불린다 ({@link StatementCounter})
+	 */
+	static void statementPrepared() {
+		Recording recording = CURRENT.get();
+		if (recording != null) {
+			recording.event.statements++;
+		}
+	}
+
+	/**
+	 * 트랜잭션마다 한 번, 커밋 직전에 영속성 컨텍스트 크기를 남기도록 건다
+	 */
+	private void watchCommit(String method) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.hasResource(SYNCHRONIZATION_KEY)
+				|| !new PersistenceContextEvent().isEnabled()) {
+			return;
+		}
+		TransactionSynchronizationManager.bindResource(SYNCHRONIZATION_KEY, method);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				PersistenceContextEvent event = new PersistenceContextEvent();
+				if (!event.shouldCommit()) {
+					return;
+				}
+				SessionStatistics statistics = em.unwrap(Session.class).getStatistics();
+				event.method = method;
+				event.entities = statistics.getEntityCount();
+				event.collections = statistics.getCollectionCount();
+				event.readOnly = readOnly;
+				event.commit();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(SYNCHRONIZATION_KEY);
+			}
+		});
+	}
+
+	static String filters(MemberSearchCondition condition) {
+		StringJoiner filters = new StringJoiner(",");
+		if (hasText(condition.getUsername())) {
+			filters.add("username");
+		}
+		if (hasText(condition.getTeamName())) {
+			filters.add("teamName");
+		}
+		if (condition.getAgeGoe() != null) {
+			filters.add("ageGoe");
+		}
+		if (condition.getAgeLoe() != null) {
+			filters.add("ageLoe");
+		}
+		if (condition.isIncludeArchived()) {
+			filters.add("includeArchived");
+		}
+		return filters.toString();
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isEmpty();
+	}
+
+	/**
+	 * 리포지토리 메서드 하나의 기록. try-with-resources 로 닫으면 이벤트를 남긴다.
+	 * 안에서 다른 리포지토리를 부르면 그쪽 SQL 은 안쪽 기록에만 센다.
+	 */
+	public static class Recording implements AutoCloseable {
+
+		static final Recording DISABLED = new Recording(null, null);
+
+		private final MemberQueryEvent event;
+		private final Recording outer;
+		private boolean succeeded;
+
+		private Recording(MemberQueryEvent event, Recording outer) {
+			this.event = event;
+			this.outer = outer;
+		}
+
+		public <T> T content(Supplier<T> query) {
+			if (event == null) {
+				return query.get();
+			}
+			long started = System.nanoTime();
+			try {
+				return query.get();
+			} finally {
+				event.contentDuration += System.nanoTime() - started;
+			}
+		}
+
+		public LongSupplier count(LongSupplier query) {
+			if (event == null) {
+				return query;
+			}
+			return () -> {
+				long started = System.nanoTime();
+				try {
+					return query.getAsLong();
+				} finally {
+					event.countDuration += System.nanoTime() - started;
+				}
+			};
+		}
+
+		/**
+		 * 결과 건수를 적고 결과를 그대로 돌려준다. 부르지 않고 닫으면 실패로 남긴다.
+		 */
+		public <T> T rows(T result, long rows) {
+			if (event != null) {
+				event.rows = rows;
+			}
+			succeeded = true;
+			return result;
+		}
+
+		@Override
+		public void close() {
+			if (event == null) {
+				return;
+			}
+			event.end();
+			event.failed = !succeeded;
+			if (event.shouldCommit()) {
+				event.commit();
+			}
+			if (outer == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(outer);
+			}
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package study.querydsl.jfr;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryEventsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer statementCounter() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+	}
+}
@@ -0,0 +1,15 @@
+package study.querydsl.jfr;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 을 지금 열린 {@link QueryEvents.Recording} 에 센다. SQL 은 바꾸지 않는다.
+ */
+class StatementCounter implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		QueryEvents.statementPrepared();
+		return sql;
+	}
+}
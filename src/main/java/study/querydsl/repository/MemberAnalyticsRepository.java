@@ -0,0 +1,117 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberAgeStatsDto;
+import study.querydsl.dto.QMemberAgeStatsDto;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 팀별 나이 분석. 팀 최대/평균 나이를 회원마다 상관 서브쿼리로 다시 구하지 않고, 윈도우 함수로 member 를 한 번만 읽는다.
+ * <p>
+ * 팀이 있는 회원만 본다. 팀 이름 조건은 팀 단위로 거르므로 순위와 평균은 팀 전체 기준 그대로다.
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberAnalyticsRepository {
+
+	private static final PathBuilder<Object> ranked = new PathBuilder<>(Object.class, "ranked");
+	private static final NumberPath<Long> rankedMemberId = Expressions.numberPath(Long.class, ranked, "member_id");
+	private static final StringPath rankedUsername = Expressions.stringPath(ranked, "username");
+	private static final NumberPath<Integer> rankedAge = Expressions.numberPath(Integer.class, ranked, "age");
+	private static final NumberPath<Long> rankedTeamId = Expressions.numberPath(Long.class, ranked, "team_id");
+	private static final StringPath rankedTeamName = Expressions.stringPath(ranked, "team_name");
+	private static final NumberPath<Long> rankedRowNumber = Expressions.numberPath(Long.class, ranked, "team_row");
+	private static final NumberPath<Long> rankedAgeRank = Expressions.numberPath(Long.class, ranked, "age_rank");
+	private static final NumberPath<Double> rankedTeamAvgAge = Expressions.numberPath(Double.class, ranked, "team_avg_age");
+
+	private final SQLQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+
+	/**
+	 * 팀마다 나이가 많은 순으로 k 명. 나이가 같으면 member_id 가 작은 회원이 먼저다.
+	 */
+	public List<MemberAgeStatsDto> oldestPerTeam(int k, String teamName) {
+		return query(teamName)
+				.where(rankedRowNumber.loe((long) k))
+				.orderBy(rankedTeamId.asc(), rankedRowNumber.asc())
+				.fetch();
+	}
+
+	/**
+	 * 팀 안에서의 나이 순위. 팀, 순위 순서로 limit 명.
+	 */
+	public List<MemberAgeStatsDto> ageRank(String teamName, long limit) {
+		return query(teamName)
+				.orderBy(rankedTeamId.asc(), rankedAgeRank.asc(), rankedMemberId.asc())
+				.limit(limit)
+				.fetch();
+	}
+
+	/**
+	 * 팀 평균 나이에서 많이 벗어난 순으로 limit 명
+	 */
+	public List<MemberAgeStatsDto> ageDeviation(String teamName, long limit) {
+		return query(teamName)
+				.orderBy(rankedAge.castToNum(Double.class).subtract(rankedTeamAvgAge).abs().desc(), rankedMemberId.asc())
+				.limit(limit)
+				.fetch();
+	}
+
+	private SQLQuery<MemberAgeStatsDto> query(String teamName) {
+		SQLQuery<?> windowed = SQLExpressions
+				.select(
+						member.memberId.as("member_id"),
+						member.username.as("username"),
+						member.age.as("age"),
+						team.teamId.as("team_id"),
+						team.name.as("team_name"),
+						SQLExpressions.rowNumber().over()
+								.partitionBy(member.teamId)
+								.orderBy(member.age.desc(), member.memberId.asc())
+								.as("team_row"),
+						SQLExpressions.rank().over()
+								.partitionBy(member.teamId)
+								.orderBy(member.age.desc())
+								.as("age_rank"),
+						SQLExpressions.avg(member.age.castToNum(Double.class)).over()
+								.partitionBy(member.teamId)
+								.as("team_avg_age"))
+				.from(member)
+				.join(team).on(member.teamId.eq(team.teamId))
+				.where(teamNameEq(teamName));
+
+		SQLQuery<MemberAgeStatsDto> query = queryFactory
+				.select(new QMemberAgeStatsDto(
+						rankedMemberId,
+						rankedUsername,
+						rankedAge,
+						rankedTeamId,
+						rankedTeamName,
+						rankedAgeRank,
+						rankedTeamAvgAge))
+				.from(windowed, ranked);
+		return queryTimeouts.apply(query, QueryTimeouts.ANALYTICS);
+	}
+
+	private BooleanExpression teamNameEq(String teamName) {
+		if (teamName == null || teamName.isEmpty())
+			return null;
+		return team.name.eq(teamName);
+	}
+}
@@ -6,11 +6,16 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.jfr.QueryEvents;
+import study.querydsl.repository.username.UsernameFilter;
+import study.querydsl.timeout.QueryTimeouts;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,38 +30,79 @@ public class MemberJpaRepository {
 
 	private final EntityManager em;
 	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+	private final UsernameFilter usernameFilter;
+	private final QueryEvents queryEvents;
 
 	public void save(Member member) {
-		em.persist(member);
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.save", "")) {
+			em.persist(member);
+			recording.rows(member, 1);
+		}
 	}
 
 	public Optional<Member> findById(Long id) {
-		Member findMember = em.find(Member.class, id);
-		return Optional.ofNullable(findMember);
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.findById", "id")) {
+			Member findMember = recording.content(() -> em.find(Member.class, id));
+			return recording.rows(Optional.ofNullable(findMember), findMember == null ? 0 : 1);
+		}
 	}
 
+	// 조회만 하는 경로는 read-only 로 읽어서 dirty checking 용 스냅샷을 만들지 않는다
+	@Transactional(readOnly = true)
 	public List<Member> findAll() {
-		return em.createQuery("select m from Member m", Member.class)
-				.getResultList();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.findAll", "")) {
+			List<Member> result = recording.content(em.createQuery("select m from Member m", Member.class)
+					.setHint(HibernateHints.HINT_READ_ONLY, true)
+					::getResultList);
+			return recording.rows(result, result.size());
+		}
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findAll_Querydsl() {
-		return queryFactory
-				.selectFrom(member)
-				.fetch();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.findAll_Querydsl", "")) {
+			List<Member> result = recording.content(queryFactory
+					.selectFrom(member)
+					.setHint(HibernateHints.HINT_READ_ONLY, true)
+					::fetch);
+			return recording.rows(result, result.size());
+		}
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findByUsername(String username) {
-		return em.createQuery("select m from Member m where m.username = :username", Member.class)
-				.setParameter("username", username)
-				.getResultList();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.findByUsername", "username")) {
+			if (usernameFilter.ruledOut(username)) {
+				return recording.rows(List.of(), 0);
+			}
+			List<Member> result = recording.content(em.createQuery("select m from Member m where m.username = :username", Member.class)
+					.setParameter("username", username)
+					.setHint(HibernateHints.HINT_READ_ONLY, true)
+					::getResultList);
+			if (result.isEmpty()) {
+				usernameFilter.falsePositive();
+			}
+			return recording.rows(result, result.size());
+		}
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findByUsername_Querydsl(String username) {
-		return queryFactory
-				.selectFrom(member)
-				.where(member.username.eq(username))
-				.fetch();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.findByUsername_Querydsl", "username")) {
+			if (usernameFilter.ruledOut(username)) {
+				return recording.rows(List.of(), 0);
+			}
+			List<Member> result = recording.content(queryFactory
+					.selectFrom(member)
+					.where(member.username.eq(username))
+					.setHint(HibernateHints.HINT_READ_ONLY, true)
+					::fetch);
+			if (result.isEmpty()) {
+				usernameFilter.falsePositive();
+			}
+			return recording.rows(result, result.size());
+		}
 	}
 
 	public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
@@ -76,37 +122,43 @@ public class MemberJpaRepository {
 			builder.and(member.age.loe(condition.getAgeLoe()));
 		}
 
-		return queryFactory
-				.select(new QMemberTeamDto(
-						member.id.as("memberId"),
-						member.username,
-						member.age,
-						team.id.as("teamId"),
-						team.name.as("teamName")
-				))
-				.from(member)
-				.leftJoin(member.team, team)
-				.where(builder)
-				.fetch();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.searchByBuilder", condition)) {
+			List<MemberTeamDto> result = recording.content(queryFactory
+					.select(new QMemberTeamDto(
+							member.id.as("memberId"),
+							member.username,
+							member.age,
+							team.id.as("teamId"),
+							team.name.as("teamName")
+					))
+					.from(member)
+					.leftJoin(member.team, team)
+					.where(builder)
+					::fetch);
+			return recording.rows(result, result.size());
+		}
 	}
 
 	public List<MemberTeamDto> search(MemberSearchCondition condition) {
-		return queryFactory
-				.select(new QMemberTeamDto(
-						member.id.as("memberId"),
-						member.username,
-						member.age,
-						team.id.as("teamId"),
-						team.name.as("teamName")
-				))
-				.from(member)
-				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()))
-				.fetch();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberJpaRepository.search", condition)) {
+			List<MemberTeamDto> result = recording.content(queryTimeouts.apply(queryFactory
+					.select(new QMemberTeamDto(
+							member.id.as("memberId"),
+							member.username,
+							member.age,
+							team.id.as("teamId"),
+							team.name.as("teamName")
+					))
+					.from(member)
+					.leftJoin(member.team, team)
+					.where(
+							usernameEq(condition.getUsername()),
+							teamNameEq(condition.getTeamName()),
+							ageGoe(condition.getAgeGoe()),
+							ageLoe(condition.getAgeLoe())), QueryTimeouts.SEARCH)
+					::fetch);
+			return recording.rows(result, result.size());
+		}
 	}
 
 	private BooleanExpression usernameEq(String username) {
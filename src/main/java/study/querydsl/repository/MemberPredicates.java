@@ -0,0 +1,52 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import lombok.RequiredArgsConstructor;
+import study.querydsl.dto.MemberSearchCondition;
+
+/**
+ * MemberSearchCondition 을 where 조건으로 바꾼다. 검색 구현마다 읽는 테이블(member + team, member_search, member_archive,
+ * querydsl-sql 메타 모델)만 다르므로 username, 팀 이름, age 경로를 받아 만든다.
+ * 값이 없는 조건은 null 이라 where(...) 에서 빠진다.
+ */
+@RequiredArgsConstructor
+public class MemberPredicates {
+
+	private final StringExpression username;
+	private final StringExpression teamName;
+	private final NumberExpression<Integer> age;
+
+	public BooleanExpression[] where(MemberSearchCondition condition) {
+		return new BooleanExpression[]{
+				usernameEq(condition.getUsername()),
+				teamNameEq(condition.getTeamName()),
+				ageGoe(condition.getAgeGoe()),
+				ageLoe(condition.getAgeLoe())};
+	}
+
+	public BooleanExpression usernameEq(String username) {
+		if (username == null || username.isEmpty())
+			return null;
+		return this.username.eq(username);
+	}
+
+	public BooleanExpression teamNameEq(String teamName) {
+		if (teamName == null || teamName.isEmpty())
+			return null;
+		return this.teamName.eq(teamName);
+	}
+
+	public BooleanExpression ageGoe(Integer ageGoe) {
+		if (ageGoe == null)
+			return null;
+		return age.goe(ageGoe);
+	}
+
+	public BooleanExpression ageLoe(Integer ageLoe) {
+		if (ageLoe == null)
+			return null;
+		return age.loe(ageLoe);
+	}
+}
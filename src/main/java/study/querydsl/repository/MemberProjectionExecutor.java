@@ -0,0 +1,25 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * QuerydslPredicateExecutor 처럼 Predicate 로 찾되, 엔티티 대신 projection (QMemberTeamDto, QMemberDto, Projections.bean ...) 으로 읽는다.
+ * <p>
+ * projection 이나 조건, 정렬이 QTeam.team 을 쓰면 member.team 을 left join 한다.
+ * 정렬은 {@link MemberSort} 가 허용하는 속성만 쓸 수 있다.
+ */
+public interface MemberProjectionExecutor {
+
+	<T> List<T> findAll(Expression<T> projection, Predicate predicate, Sort sort);
+
+	/**
+	 * 첫 페이지가 다 차지 않았거나 마지막 페이지면 count 쿼리를 실행하지 않는다.
+	 */
+	<T> Page<T> findAll(Expression<T> projection, Predicate predicate, Pageable pageable);
+}
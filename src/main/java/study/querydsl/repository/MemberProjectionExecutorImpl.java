@@ -0,0 +1,149 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 로 바로 읽으므로 영속성 컨텍스트에 엔티티나 dirty checking 스냅샷이 남지 않고, 지연 로딩도 일어나지 않는다.
+ * count 쿼리에는 조건이 team 을 쓸 때만 조인을 붙인다 (member -> team 은 다대일이라 left join 이 건수를 바꾸지 않는다).
+ */
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberProjectionExecutorImpl implements MemberProjectionExecutor {
+
+	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+
+	@Override
+	public <T> List<T> findAll(Expression<T> projection, Predicate predicate, Sort sort) {
+		OrderSpecifier<?>[] orders = MemberSort.jpa(sort);
+		return queryTimeouts.apply(contentQuery(projection, predicate, orders), QueryTimeouts.SEARCH)
+				.orderBy(orders)
+				.fetch();
+	}
+
+	@Override
+	public <T> Page<T> findAll(Expression<T> projection, Predicate predicate, Pageable pageable) {
+		OrderSpecifier<?>[] orders = MemberSort.jpa(pageable.getSort());
+		JPAQuery<T> query = queryTimeouts.apply(contentQuery(projection, predicate, orders), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(orders);
+		if (pageable.isPaged()) {
+			query.offset(pageable.getOffset()).limit(pageable.getPageSize());
+		}
+		List<T> content = query.fetch();
+
+		JPAQuery<Long> countQuery = queryFactory
+				.select(member.count())
+				.from(member);
+		if (usesTeam(predicate)) {
+			countQuery.leftJoin(member.team, team);
+		}
+		countQuery.where(predicate);
+
+		return PageableExecutionUtils.getPage(content, pageable,
+				queryTimeouts.apply(countQuery, QueryTimeouts.PAGE_COUNT)::fetchOne);
+	}
+
+	private <T> JPAQuery<T> contentQuery(Expression<T> projection, Predicate predicate, OrderSpecifier<?>[] orders) {
+		JPAQuery<T> query = queryFactory
+				.select(projection)
+				.from(member);
+		if (usesTeam(projection) || usesTeam(predicate) || sortsByTeam(orders)) {
+			query.leftJoin(member.team, team);
+		}
+		return query.where(predicate);
+	}
+
+	private static boolean sortsByTeam(OrderSpecifier<?>[] orders) {
+		for (OrderSpecifier<?> order : orders) {
+			if (usesTeam(order.getTarget())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean usesTeam(Expression<?> expression) {
+		return expression != null && Boolean.TRUE.equals(expression.accept(TeamReference.INSTANCE, null));
+	}
+
+	/**
+	 * 식 안에 QTeam.team 을 루트로 하는 경로가 있는지 본다. member.team.name 같은 경로는 Hibernate 가 알아서 조인한다.
+	 */
+	private enum TeamReference implements Visitor<Boolean, Void> {
+		INSTANCE;
+
+		@Override
+		public Boolean visit(Constant<?> expr, Void context) {
+			return false;
+		}
+
+		@Override
+		public Boolean visit(FactoryExpression<?> expr, Void context) {
+			return any(expr.getArgs());
+		}
+
+		@Override
+		public Boolean visit(Operation<?> expr, Void context) {
+			return any(expr.getArgs());
+		}
+
+		@Override
+		public Boolean visit(ParamExpression<?> expr, Void context) {
+			return false;
+		}
+
+		@Override
+		public Boolean visit(Path<?> expr, Void context) {
+			return expr.getRoot().equals(team);
+		}
+
+		@Override
+		public Boolean visit(SubQueryExpression<?> expr, Void context) {
+			// 서브쿼리는 자기 from 절로 team 을 읽는다
+			return false;
+		}
+
+		@Override
+		public Boolean visit(TemplateExpression<?> expr, Void context) {
+			for (Object arg : expr.getArgs()) {
+				if (arg instanceof Expression<?> e && usesTeam(e)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean any(List<Expression<?>> args) {
+			for (Expression<?> arg : args) {
+				if (usesTeam(arg)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
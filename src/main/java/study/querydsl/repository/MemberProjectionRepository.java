@@ -0,0 +1,94 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFieldSet;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.SparseMember;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fields= 로 고른 컬럼만 읽는 회원 검색.
+ * 팀 이름을 읽지도, 거르지도, 정렬하지도 않으면 team 조인을 하지 않는다.
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberProjectionRepository {
+
+	private static final MemberPredicates PREDICATES = new MemberPredicates(member.username, team.name, member.age);
+
+	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+
+	public List<SparseMember> search(MemberSearchCondition condition, MemberFieldSet fields) {
+		List<Tuple> tuples = queryTimeouts.apply(contentQuery(condition, fields, Sort.unsorted()), QueryTimeouts.SEARCH)
+				.fetch();
+		return wrap(tuples, fields);
+	}
+
+	public Page<SparseMember> searchPage(MemberSearchCondition condition, MemberFieldSet fields, Pageable pageable) {
+		List<Tuple> tuples = queryTimeouts.apply(contentQuery(condition, fields, pageable.getSort()), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(MemberSort.jpa(pageable.getSort()))
+				.offset(pageable.getOffset())
+				.limit(pageable.getPageSize())
+				.fetch();
+
+		JPAQuery<Long> countQuery = queryFactory
+				.select(member.count())
+				.from(member);
+		if (hasText(condition.getTeamName())) {
+			countQuery.leftJoin(member.team, team);
+		}
+		countQuery.where(PREDICATES.where(condition));
+
+		return PageableExecutionUtils.getPage(wrap(tuples, fields), pageable,
+				queryTimeouts.apply(countQuery, QueryTimeouts.PAGE_COUNT)::fetchOne);
+	}
+
+	JPAQuery<Tuple> contentQuery(MemberSearchCondition condition, MemberFieldSet fields, Sort sort) {
+		JPAQuery<Tuple> query = queryFactory
+				.select(fields.projection())
+				.from(member);
+		if (fields.needsTeam() || hasText(condition.getTeamName()) || sortsByTeam(sort)) {
+			query.leftJoin(member.team, team);
+		}
+		return query.where(PREDICATES.where(condition));
+	}
+
+	private static boolean sortsByTeam(Sort sort) {
+		for (OrderSpecifier<?> order : MemberSort.jpa(sort)) {
+			if (order.getTarget() == team.name) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<SparseMember> wrap(List<Tuple> tuples, MemberFieldSet fields) {
+		List<SparseMember> result = new ArrayList<>(tuples.size());
+		for (Tuple tuple : tuples) {
+			result.add(new SparseMember(tuple, fields));
+		}
+		return result;
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isEmpty();
+	}
+}
@@ -1,6 +1,10 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.Predicate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 import study.querydsl.entity.Member;
@@ -8,7 +12,14 @@ import study.querydsl.entity.Member;
 import java.util.List;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member>,
+		MemberProjectionExecutor {
 	//select m from Member m where m.username = ?
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
 	List<Member> findByUsername(String username);
+
+	// 조회 전용 - read-only 로 읽어 dirty checking 스냅샷을 만들지 않는다
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	Iterable<Member> findAll(Predicate predicate);
 }
@@ -1,6 +1,8 @@
 package study.querydsl.repository;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
@@ -8,10 +10,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.config.MemberSearchProperties;
+import study.querydsl.config.WindowFunctionContributor;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.jfr.QueryEvents;
+import study.querydsl.repository.plan.MemberSearchPlan;
+import study.querydsl.repository.plan.MemberSearchPlanner;
+import study.querydsl.timeout.QueryTimeouts;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static study.querydsl.entity.QMember.member;
@@ -20,118 +29,127 @@ import static study.querydsl.entity.QTeam.team;
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+	// where 를 거친 전체 행 수 (WindowFunctionContributor)
+	private static final NumberExpression<Long> TOTAL =
+			Expressions.numberTemplate(Long.class, WindowFunctionContributor.COUNT_OVER + "()");
+
 	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+	private final QueryEvents queryEvents;
+	private final MemberSearchPlanner planner;
+	private final MemberSearchProperties properties;
 
 	@Override
 	public List<MemberTeamDto> search(MemberSearchCondition condition) {
-		return queryFactory
-				.select(new QMemberTeamDto(
-						member.id.as("memberId"),
-						member.username,
-						member.age,
-						team.id.as("teamId"),
-						team.name.as("teamName")
-				))
-				.from(member)
-				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()))
-				.fetch();
+		try (QueryEvents.Recording recording = queryEvents.start("MemberRepositoryImpl.search", condition)) {
+			MemberSearchPlan plan = planner.plan(condition);
+			if (plan.empty()) {
+				return recording.rows(List.of(), 0);
+			}
+			List<MemberTeamDto> result = recording.content(queryTimeouts.apply(contentQuery(plan), QueryTimeouts.SEARCH)
+					::fetch);
+			return recording.rows(result, result.size());
+		}
 	}
 
 	@Override
 	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-		List<MemberTeamDto> content = queryFactory
-				.select(new QMemberTeamDto(
-						member.id.as("memberId"),
-						member.username,
-						member.age,
-						team.id.as("teamId"),
-						team.name.as("teamName")
-				))
-				.from(member)
-				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()))
-				.offset(pageable.getOffset())
-				.limit(pageable.getPageSize())
-				.fetch();
-
-		JPAQuery<Long> countQuery = queryFactory
-				.select(member.count())
-				.from(member)
-				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()));
-
-		return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+		try (QueryEvents.Recording recording = queryEvents.start("MemberRepositoryImpl.searchPageSimple", condition)) {
+			MemberSearchPlan plan = planner.plan(condition);
+			if (plan.empty()) {
+				return recording.rows(Page.empty(pageable), 0);
+			}
+			if (properties.getCountMode() == MemberSearchProperties.CountMode.WINDOW) {
+				Page<MemberTeamDto> page = windowPage(plan, pageable, recording);
+				return recording.rows(page, page.getNumberOfElements());
+			}
+			List<MemberTeamDto> content = recording.content(queryTimeouts.apply(contentQuery(plan), QueryTimeouts.PAGE_CONTENT)
+					.orderBy(MemberSort.jpa(pageable.getSort()))
+					.offset(pageable.getOffset())
+					.limit(pageable.getPageSize())
+					::fetch);
+
+			JPAQuery<Long> countQuery = queryTimeouts.apply(countQuery(plan), QueryTimeouts.PAGE_COUNT);
+
+			return recording.rows(PageableExecutionUtils.getPage(content, pageable, recording.count(countQuery::fetchOne)), content.size());
+		}
 	}
 
 	@Override
 	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-		List<MemberTeamDto> content = queryFactory
-				.select(new QMemberTeamDto(
-						member.id.as("memberId"),
-						member.username,
-						member.age,
-						team.id.as("teamId"),
-						team.name.as("teamName")
-				))
+		try (QueryEvents.Recording recording = queryEvents.start("MemberRepositoryImpl.searchPageComplex", condition)) {
+			MemberSearchPlan plan = planner.plan(condition);
+			if (plan.empty()) {
+				return recording.rows(Page.empty(pageable), 0);
+			}
+			if (properties.getCountMode() == MemberSearchProperties.CountMode.WINDOW) {
+				Page<MemberTeamDto> page = windowPage(plan, pageable, recording);
+				return recording.rows(page, page.getNumberOfElements());
+			}
+			List<MemberTeamDto> content = recording.content(queryTimeouts.apply(contentQuery(plan), QueryTimeouts.PAGE_CONTENT)
+					.orderBy(MemberSort.jpa(pageable.getSort()))
+					.offset(pageable.getOffset())
+					.limit(pageable.getPageSize())
+					::fetch);
+
+			long count = recording.count(queryTimeouts.apply(countQuery(plan), QueryTimeouts.PAGE_COUNT)::fetchOne).getAsLong();
+
+			return recording.rows(new PageImpl<>(content, pageable, count), content.size());
+//			return PageableExecutionUtils.getPage(content, pageable, count::fetchOne);
+		}
+	}
+
+	/**
+	 * 내용 조회에 count(*) over() 를 붙여 전체 수를 첫 행에서 읽는다.
+	 * 빈 페이지는 행이 없어 전체 수를 알 수 없으므로, 첫 페이지면 0 이고 그 뒤 페이지일 때만 count 쿼리를 실행한다.
+	 */
+	private Page<MemberTeamDto> windowPage(MemberSearchPlan plan, Pageable pageable, QueryEvents.Recording recording) {
+		QMemberTeamDto dto = memberTeamDto();
+		List<Tuple> rows = recording.content(queryTimeouts.apply(queryFactory
+				.select(dto, TOTAL)
 				.from(member)
 				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()))
+				.where(plan.where()), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(MemberSort.jpa(pageable.getSort()))
 				.offset(pageable.getOffset())
 				.limit(pageable.getPageSize())
-				.fetch();
+				::fetch);
+
+		if (rows.isEmpty()) {
+			long total = pageable.getOffset() == 0 ? 0
+					: recording.count(queryTimeouts.apply(countQuery(plan), QueryTimeouts.PAGE_COUNT)::fetchOne).getAsLong();
+			return new PageImpl<>(List.of(), pageable, total);
+		}
+		List<MemberTeamDto> content = new ArrayList<>(rows.size());
+		for (Tuple row : rows) {
+			content.add(row.get(dto));
+		}
+		return new PageImpl<>(content, pageable, rows.get(0).get(TOTAL));
+	}
 
-		Long count = queryFactory
-				.select(member.count())
+	// 팀 이름을 내려주므로 내용 조회는 team 을 조인한다
+	private JPAQuery<MemberTeamDto> contentQuery(MemberSearchPlan plan) {
+		return queryFactory
+				.select(memberTeamDto())
 				.from(member)
 				.leftJoin(member.team, team)
-				.where(
-						usernameEq(condition.getUsername()),
-						teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe())).fetchOne();
-
-		return new PageImpl<>(content, pageable, count);
-//		return PageableExecutionUtils.getPage(content, pageable, count::fetchOne);
-	}
-
-	private BooleanExpression usernameEq(String username) {
-		if (username == null || username.isEmpty())
-			return null;
-		return member.username.eq(username);
-	}
-
-	private BooleanExpression teamNameEq(String teamName) {
-		if (teamName == null || teamName.isEmpty())
-			return null;
-		return team.name.eq(teamName);
+				.where(plan.where());
 	}
 
-	private BooleanExpression ageGoe(Integer ageGoe) {
-		if (ageGoe == null)
-			return null;
-		return member.age.goe(ageGoe);
+	private static QMemberTeamDto memberTeamDto() {
+		return new QMemberTeamDto(
+				member.id.as("memberId"),
+				member.username,
+				member.age,
+				team.id.as("teamId"),
+				team.name.as("teamName"));
 	}
 
-	private BooleanExpression ageLoe(Integer ageLoe) {
-		if (ageLoe == null)
-			return null;
-		return member.age.loe(ageLoe);
+	// 팀 조건은 member.team_id 로 바뀌었고 다대일 left join 은 건수를 바꾸지 않으므로 count 는 member 만 읽는다
+	private JPAQuery<Long> countQuery(MemberSearchPlan plan) {
+		return queryFactory
+				.select(member.count())
+				.from(member)
+				.where(plan.where());
 	}
 }
@@ -0,0 +1,110 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.QTeam;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 회원 검색에서 허용하는 정렬 속성. 목록에 없는 속성으로 정렬하면 예외를 던진다.
+ * <p>
+ * 정렬 끝에는 항상 memberId 를 붙여 같은 값끼리도 순서가 고정되게 한다.
+ * username, age 는 (정렬 컬럼, member_id) 인덱스가 있어서 ORDER BY + LIMIT 이 인덱스 순서대로 앞 N 건만 읽는다.
+ * teamName 은 조인한 team 쪽 컬럼이라 idx_team_name 은 팀 이름 조건에만 쓰이고, 정렬은 걸러진 결과 위에서 한다.
+ */
+public enum MemberSort {
+
+	USERNAME("username", QMember.member.username, SMember.member.username, MemberTeamDto::getUsername),
+	AGE("age", QMember.member.age, SMember.member.age, MemberTeamDto::getAge),
+	TEAM_NAME("teamName", QTeam.team.name, STeam.team.name, MemberTeamDto::getTeamName),
+	MEMBER_ID("memberId", QMember.member.id, SMember.member.memberId, MemberTeamDto::getMemberId);
+
+	private final String property;
+	private final ComparableExpressionBase<?> jpaPath;
+	private final ComparableExpressionBase<?> sqlPath;
+	private final Function<MemberTeamDto, ? extends Comparable<?>> value;
+
+	MemberSort(String property, ComparableExpressionBase<?> jpaPath, ComparableExpressionBase<?> sqlPath,
+			   Function<MemberTeamDto, ? extends Comparable<?>> value) {
+		this.property = property;
+		this.jpaPath = jpaPath;
+		this.sqlPath = sqlPath;
+		this.value = value;
+	}
+
+	public static MemberSort of(String property) {
+		for (MemberSort sort : values()) {
+			if (sort.property.equals(property)) {
+				return sort;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("정렬할 수 없는 속성입니다: " + property);
+	}
+
+	/**
+	 * Querydsl JPA (QMember, QTeam) 정렬
+	 */
+	public static OrderSpecifier<?>[] jpa(Sort sort) {
+		return orderBy(sort, s -> s.jpaPath);
+	}
+
+	/**
+	 * querydsl-sql (SMember, STeam) 정렬
+	 */
+	public static OrderSpecifier<?>[] sql(Sort sort) {
+		return orderBy(sort, s -> s.sqlPath);
+	}
+
+	/**
+	 * 샤드 결과를 합칠 때 쓰는 같은 순서의 비교자. null 은 H2 와 같이 오름차순에서 앞, 내림차순에서 뒤에 둔다.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static Comparator<MemberTeamDto> comparator(Sort sort) {
+		Comparator<MemberTeamDto> comparator = null;
+		for (Sort.Order order : withTiebreaker(sort)) {
+			MemberSort memberSort = of(order.getProperty());
+			Comparator<MemberTeamDto> next = Comparator.comparing((Function) memberSort.value, Comparator.nullsFirst(Comparator.naturalOrder()));
+			if (order.isDescending()) {
+				next = next.reversed();
+			}
+			comparator = comparator == null ? next : comparator.thenComparing(next);
+		}
+		return comparator;
+	}
+
+	/**
+	 * 같은 화이트리스트와 tiebreaker 로 다른 메타 모델(예: member_search)의 경로에 정렬을 건다
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static OrderSpecifier<?>[] orderBy(Sort sort, Function<MemberSort, ComparableExpressionBase<?>> path) {
+		List<OrderSpecifier<?>> orders = new ArrayList<>();
+		for (Sort.Order order : withTiebreaker(sort)) {
+			orders.add(new OrderSpecifier(order.isAscending() ? Order.ASC : Order.DESC, path.apply(of(order.getProperty()))));
+		}
+		return orders.toArray(OrderSpecifier[]::new);
+	}
+
+	/**
+	 * memberId 가 없으면 마지막 정렬과 같은 방향으로 memberId 를 붙인다
+	 */
+	private static List<Sort.Order> withTiebreaker(Sort sort) {
+		List<Sort.Order> orders = new ArrayList<>(sort.toList());
+		boolean hasId = orders.stream().anyMatch(order -> order.getProperty().equals(MEMBER_ID.property));
+		if (!hasId) {
+			Sort.Direction direction = orders.isEmpty() ? Sort.Direction.ASC : orders.get(orders.size() - 1).getDirection();
+			orders.add(new Sort.Order(direction, MEMBER_ID.property));
+		}
+		return orders;
+	}
+}
@@ -0,0 +1,76 @@
+package study.querydsl.repository;
+
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * querydsl-sql 로 JPQL 변환과 엔티티 처리를 건너뛰고 바로 SQL 을 실행하는 MemberRepositoryCustom 구현.
+ * 조건 의미는 MemberRepositoryImpl 과 같다. querydsl.search.backend=sql 일 때 쓰인다.
+ */
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberSqlRepository implements MemberRepositoryCustom {
+
+	private static final MemberPredicates PREDICATES = new MemberPredicates(member.username, team.name, member.age);
+
+	private final SQLQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+
+	@Override
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		return queryTimeouts.apply(contentQuery(condition), QueryTimeouts.SEARCH).fetch();
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+		List<MemberTeamDto> content = queryTimeouts.apply(contentQuery(condition), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(MemberSort.sql(pageable.getSort()))
+				.offset(pageable.getOffset())
+				.limit(pageable.getPageSize())
+				.fetch();
+
+		SQLQuery<Long> countQuery = queryTimeouts.apply(countQuery(condition), QueryTimeouts.PAGE_COUNT);
+
+		return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+		return searchPageSimple(condition, pageable);
+	}
+
+	private SQLQuery<MemberTeamDto> contentQuery(MemberSearchCondition condition) {
+		return queryFactory
+				.select(new QMemberTeamDto(
+						member.memberId,
+						member.username,
+						member.age,
+						team.teamId,
+						team.name))
+				.from(member)
+				.leftJoin(team).on(member.teamId.eq(team.teamId))
+				.where(PREDICATES.where(condition));
+	}
+
+	private SQLQuery<Long> countQuery(MemberSearchCondition condition) {
+		return queryFactory
+				.select(member.memberId.count())
+				.from(member)
+				.leftJoin(team).on(member.teamId.eq(team.teamId))
+				.where(PREDICATES.where(condition));
+	}
+}
@@ -0,0 +1,154 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.timeout.QueryCancellation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 검색이 동시에 여러 번 들어오면 한 번만 실행하고 결과를 나눠 준다 (single-flight).
+ * <p>
+ * 조건과 페이지를 정규화한 키로 실행 중인 조회를 ConcurrentHashMap 에 걸어 두고, 같은 키로 들어온 요청은
+ * 그 결과를 기다린다. 끝난 결과는 캐시하지 않으므로 조회가 끝난 뒤 들어온 요청은 다시 실행한다.
+ * 먼저 실행한 요청이 취소되면(클라이언트 연결 끊김 등) 기다리던 요청은 직접 다시 실행한다.
+ */
+public class SingleFlightMemberRepository implements MemberRepositoryCustom {
+
+	private final MemberRepositoryCustom delegate;
+	private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executed;
+	private final Counter coalesced;
+
+	public SingleFlightMemberRepository(MemberRepositoryCustom delegate, MeterRegistry registry) {
+		this.delegate = delegate;
+		this.executed = Counter.builder("member.search.single.flight")
+				.tag("result", "executed")
+				.description("직접 실행한 검색 수")
+				.register(registry);
+		this.coalesced = Counter.builder("member.search.single.flight")
+				.tag("result", "coalesced")
+				.description("실행 중인 같은 검색의 결과를 받아 간 요청 수")
+				.register(registry);
+		Gauge.builder("member.search.single.flight.in.flight", inFlight, ConcurrentHashMap::size)
+				.description("실행 중인 검색 키 수")
+				.register(registry);
+	}
+
+	@Override
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		List<MemberTeamDto> result = execute(Key.of("search", condition, Pageable.unpaged()), () -> delegate.search(condition));
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+		return execute(Key.of("searchPageSimple", condition, pageable), () -> delegate.searchPageSimple(condition, pageable));
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+		return execute(Key.of("searchPageComplex", condition, pageable), () -> delegate.searchPageComplex(condition, pageable));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T execute(Key key, Supplier<T> query) {
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+		if (running == null) {
+			return (T) lead(key, mine, query);
+		}
+
+		coalesced.increment();
+		try {
+			return (T) await(running);
+		} catch (LeaderCancelledException e) {
+			// 먼저 실행한 요청만 취소된 것이므로 이 요청은 직접 실행한다
+			return query.get();
+		}
+	}
+
+	private Object lead(Key key, CompletableFuture<Object> mine, Supplier<?> query) {
+		executed.increment();
+		try {
+			Object result = query.get();
+			mine.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			QueryCancellation cancellation = QueryCancellation.current();
+			mine.completeExceptionally(cancellation != null && cancellation.isCancelled() ? new LeaderCancelledException(e) : e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	/**
+	 * 기다리는 쪽도 자기 요청의 남은 시간까지만 기다린다
+	 */
+	private static Object await(CompletableFuture<Object> running) {
+		QueryCancellation cancellation = QueryCancellation.current();
+		long remaining = cancellation == null ? Long.MAX_VALUE : cancellation.remainingNanos();
+		try {
+			return remaining == Long.MAX_VALUE ? running.get() : running.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new QueryTimeoutException("같은 검색의 결과를 기다리다 시간이 초과되었습니다.", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new QueryTimeoutException("같은 검색의 결과를 기다리다 중단되었습니다.", e);
+		}
+	}
+
+	/**
+	 * 빈 문자열을 null 로 맞춘 조건 + 페이지. 같은 SQL 을 만드는 요청은 같은 키가 된다.
+	 */
+	record Key(String method, String username, String teamName, Integer ageGoe, Integer ageLoe,
+			   boolean includeArchived, long offset, int size, Sort sort) {
+
+		static Key of(String method, MemberSearchCondition condition, Pageable pageable) {
+			boolean paged = pageable.isPaged();
+			return new Key(method,
+					normalize(condition.getUsername()),
+					normalize(condition.getTeamName()),
+					condition.getAgeGoe(),
+					condition.getAgeLoe(),
+					condition.isIncludeArchived(),
+					paged ? pageable.getOffset() : -1,
+					paged ? pageable.getPageSize() : -1,
+					pageable.getSort());
+		}
+
+		private static String normalize(String value) {
+			return value == null || value.isEmpty() ? null : value;
+		}
+	}
+
+	private static class LeaderCancelledException extends RuntimeException {
+
+		LeaderCancelledException(Throwable cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 를 조립하는 코드에서 Member.team 을 한 건씩 초기화하지 않고 모아서 읽게 해 주는 DataLoader.
+ * <p>
+ * {@link #batch()} 로 요청(작업) 하나에 {@link TeamBatch} 를 하나 만들어 쓴다. 엔티티 그래프를 따라갈 때는
+ * hibernate.default_batch_fetch_size 설정이 같은 일을 자동으로 하고, 이 API 는 어떤 팀을 언제 읽을지 직접 정할 때 쓴다.
+ */
+@Component
+public class TeamBatchLoader {
+
+	private final JPAQueryFactory queryFactory;
+	private final int defaultBatchSize;
+
+	public TeamBatchLoader(JPAQueryFactory queryFactory,
+						   @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}") int defaultBatchSize) {
+		this.queryFactory = queryFactory;
+		this.defaultBatchSize = defaultBatchSize;
+	}
+
+	public TeamBatch batch() {
+		return batch(defaultBatchSize);
+	}
+
+	public TeamBatch batch(int batchSize) {
+		return new TeamBatch(batchSize);
+	}
+
+	/**
+	 * 한 요청 동안 쓰는 로더. 스레드 안전하지 않다.
+	 * load 로 쌓아 두었다가 dispatch 할 때(또는 batchSize 만큼 쌓였을 때) where team.id in (...) 한 번으로 읽는다.
+	 */
+	public class TeamBatch {
+
+		private final int batchSize;
+		private final Map<Long, CompletableFuture<Team>> pending = new LinkedHashMap<>();
+		private final Map<Long, CompletableFuture<Team>> done = new HashMap<>();
+
+		private TeamBatch(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("batchSize 는 1 이상이어야 합니다: " + batchSize);
+			}
+			this.batchSize = batchSize;
+		}
+
+		public CompletableFuture<Team> load(Long teamId) {
+			CompletableFuture<Team> future = done.get(teamId);
+			if (future != null) {
+				return future;
+			}
+			future = pending.computeIfAbsent(teamId, id -> new CompletableFuture<>());
+			if (pending.size() >= batchSize) {
+				dispatch();
+			}
+			return future;
+		}
+
+		/**
+		 * 회원들의 팀 중 아직 초기화되지 않은 프록시만 모아서 읽는다. 읽은 팀은 영속성 컨텍스트에 올라가므로
+		 * 이후 member.getTeam().getName() 은 쿼리를 만들지 않는다.
+		 */
+		public void loadTeamsOf(Collection<Member> members) {
+			for (Member member : members) {
+				Team memberTeam = member.getTeam();
+				if (memberTeam != null && !Hibernate.isInitialized(memberTeam)) {
+					load(memberTeam.getId());
+				}
+			}
+			dispatch();
+		}
+
+		public void dispatch() {
+			while (!pending.isEmpty()) {
+				List<Long> ids = new ArrayList<>(Math.min(batchSize, pending.size()));
+				Map<Long, CompletableFuture<Team>> chunk = new HashMap<>();
+				Iterator<Map.Entry<Long, CompletableFuture<Team>>> iterator = pending.entrySet().iterator();
+				while (iterator.hasNext() && ids.size() < batchSize) {
+					Map.Entry<Long, CompletableFuture<Team>> entry = iterator.next();
+					ids.add(entry.getKey());
+					chunk.put(entry.getKey(), entry.getValue());
+					iterator.remove();
+				}
+
+				List<Team> teams = queryFactory
+						.selectFrom(team)
+						.where(team.id.in(ids))
+						.fetch();
+				for (Team loaded : teams) {
+					chunk.remove(loaded.getId()).complete(loaded);
+					done.put(loaded.getId(), CompletableFuture.completedFuture(loaded));
+				}
+				// 없는 id 는 null
+				chunk.forEach((id, future) -> {
+					future.complete(null);
+					done.put(id, future);
+				});
+			}
+		}
+	}
+}
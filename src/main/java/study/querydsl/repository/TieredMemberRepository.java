@@ -0,0 +1,123 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.shard.KWayMerge;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static study.querydsl.entity.QMemberArchive.memberArchive;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 기본 검색은 hot tier(member)만 읽는 검색 구현에 넘기고, includeArchived 면 member_archive 도 같은 조건으로 읽어 합친다.
+ * <p>
+ * 페이지는 두 tier 에서 같은 정렬로 offset + size 건씩 읽어 샤드 검색처럼 k-way merge 로 자르고, 전체 수는 두 count 를 더한다.
+ * <p>
+ * archiveTier 가 false 면 includeArchived 를 무시하고 hot 만 읽는다. hot 이 기본 DB 의 member 가 아닌 스냅샷일 때 쓴다.
+ */
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TieredMemberRepository implements MemberRepositoryCustom {
+
+	private static final MemberPredicates PREDICATES = new MemberPredicates(memberArchive.username, team.name, memberArchive.age);
+
+	private final MemberRepositoryCustom hot;
+	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+	private final boolean archiveTier;
+
+	@Override
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		List<MemberTeamDto> result = hot.search(condition);
+		if (!includeArchived(condition)) {
+			return result;
+		}
+		List<MemberTeamDto> union = new ArrayList<>(result);
+		union.addAll(queryTimeouts.apply(archiveQuery(condition), QueryTimeouts.SEARCH).fetch());
+		return union;
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+		if (!includeArchived(condition)) {
+			return hot.searchPageSimple(condition, pageable);
+		}
+		return union(condition, pageable, hot::searchPageSimple);
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+		if (!includeArchived(condition)) {
+			return hot.searchPageComplex(condition, pageable);
+		}
+		return union(condition, pageable, hot::searchPageComplex);
+	}
+
+	private boolean includeArchived(MemberSearchCondition condition) {
+		return archiveTier && condition.isIncludeArchived();
+	}
+
+	private Page<MemberTeamDto> union(MemberSearchCondition condition, Pageable pageable,
+									  BiFunction<MemberSearchCondition, Pageable, Page<MemberTeamDto>> hotPage) {
+		Sort sort = pageable.getSort();
+		int window = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+
+		Page<MemberTeamDto> hotHead = hotPage.apply(condition, PageRequest.of(0, window, sort));
+		List<MemberTeamDto> archivedHead = queryTimeouts.apply(archiveQuery(condition), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(orderSpecifiers(sort))
+				.limit(window)
+				.fetch();
+		Long archivedCount = queryTimeouts.apply(queryFactory
+				.select(memberArchive.count())
+				.from(memberArchive)
+				.leftJoin(team).on(memberArchive.teamId.eq(team.id))
+				.where(PREDICATES.where(condition)), QueryTimeouts.PAGE_COUNT)
+				.fetchOne();
+
+		List<MemberTeamDto> content = KWayMerge.merge(List.of(hotHead.getContent(), archivedHead),
+				MemberSort.comparator(sort), pageable.getOffset(), pageable.getPageSize());
+		return new PageImpl<>(content, pageable, hotHead.getTotalElements() + (archivedCount == null ? 0 : archivedCount));
+	}
+
+	private JPAQuery<MemberTeamDto> archiveQuery(MemberSearchCondition condition) {
+		return queryFactory
+				.select(new QMemberTeamDto(
+						memberArchive.memberId,
+						memberArchive.username,
+						memberArchive.age,
+						team.id,
+						team.name))
+				.from(memberArchive)
+				.leftJoin(team).on(memberArchive.teamId.eq(team.id))
+				.where(PREDICATES.where(condition));
+	}
+
+	private static OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+		return MemberSort.orderBy(sort, TieredMemberRepository::archivePath);
+	}
+
+	private static ComparableExpressionBase<?> archivePath(MemberSort sort) {
+		return switch (sort) {
+			case USERNAME -> memberArchive.username;
+			case AGE -> memberArchive.age;
+			case TEAM_NAME -> team.name;
+			case MEMBER_ID -> memberArchive.memberId;
+		};
+	}
+}
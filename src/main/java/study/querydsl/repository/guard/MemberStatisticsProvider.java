@@ -0,0 +1,130 @@
+package study.querydsl.repository.guard;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * member 테이블의 행 수, 컬럼별 distinct 수와 min/max 를 읽어 statisticsTtl 동안 캐시한다.
+ * <p>
+ * 행 수와 age min/max 는 H2 가 인덱스와 테이블 행 수로 바로 답하고, distinct 수는 앞쪽 statisticsSampleSize 건만 읽어 추정한다.
+ * TTL 이 지나면 요청 하나만 백그라운드 갱신을 걸고 갱신이 끝날 때까지는 모두 이전 통계를 쓴다.
+ * 통계가 아직 없을 때와 TTL 이 0 일 때만 요청 스레드에서 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberStatisticsProvider {
+
+	private final JPAQueryFactory queryFactory;
+	private final QueryGuardProperties properties;
+	private final TaskExecutor taskExecutor;
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile Snapshot snapshot;
+
+	public TableStatistics get() {
+		long ttl = properties.getStatisticsTtl().toNanos();
+		if (ttl <= 0) {
+			return load();
+		}
+		Snapshot current = snapshot;
+		if (current == null) {
+			return loadFirst();
+		}
+		if (System.nanoTime() - current.loadedAt() >= ttl && refreshing.compareAndSet(false, true)) {
+			taskExecutor.execute(this::refresh);
+		}
+		return current.statistics();
+	}
+
+	private synchronized TableStatistics loadFirst() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			current = new Snapshot(load(), System.nanoTime());
+			snapshot = current;
+		}
+		return current.statistics();
+	}
+
+	private void refresh() {
+		try {
+			snapshot = new Snapshot(load(), System.nanoTime());
+		} catch (RuntimeException e) {
+			log.warn("member statistics refresh failed, keeping previous statistics", e);
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	private TableStatistics load() {
+		// count(*), min, max 만 있으면 H2 는 행을 읽지 않고 답한다 (age 인덱스)
+		Tuple row = queryFactory
+				.select(member.count(), member.age.min(), member.age.max())
+				.from(member)
+				.fetchOne();
+		long rowCount = value(row.get(member.count()));
+		Integer minAge = row.get(member.age.min());
+		Integer maxAge = row.get(member.age.max());
+
+		List<Tuple> sample = queryFactory
+				.select(member.username, member.age, member.team.id)
+				.from(member)
+				.limit(properties.getStatisticsSampleSize())
+				.fetch();
+		TableStatistics.ColumnStatistics team = new TableStatistics.ColumnStatistics(
+				distinct(column(sample, member.team.id), rowCount), null, null);
+
+		return new TableStatistics(rowCount, Map.of(
+				"id", new TableStatistics.ColumnStatistics(rowCount, null, null),
+				"username", new TableStatistics.ColumnStatistics(distinct(column(sample, member.username), rowCount), null, null),
+				"age", new TableStatistics.ColumnStatistics(distinct(column(sample, member.age), rowCount),
+						minAge == null ? null : minAge.doubleValue(), maxAge == null ? null : maxAge.doubleValue()),
+				"team", team,
+				"team.id", team));
+	}
+
+	/**
+	 * 표본의 distinct 수를 전체로 늘린다 (Haas-Stokes Duj1: n*d / (n - f1 + f1*n/N), f1 은 표본에 한 번만 나온 값 수).
+	 * 표본이 전체면 그대로 센다. null 은 세지 않는다.
+	 */
+	static long distinct(List<?> sample, long rowCount) {
+		Map<Object, Integer> frequencies = new HashMap<>();
+		for (Object value : sample) {
+			if (value != null) {
+				frequencies.merge(value, 1, Integer::sum);
+			}
+		}
+		long d = frequencies.size();
+		long n = sample.size();
+		if (n == 0 || n >= rowCount) {
+			return d;
+		}
+		long f1 = frequencies.values().stream().filter(count -> Objects.equals(count, 1)).count();
+		double estimate = n * d / (n - f1 + f1 * (double) n / rowCount);
+		return Math.min(rowCount, Math.max(d, Math.round(estimate)));
+	}
+
+	private static List<Object> column(List<Tuple> sample, Expression<?> column) {
+		return sample.stream().map(row -> (Object) row.get(column)).toList();
+	}
+
+	private static long value(Long value) {
+		return value == null ? 0 : value;
+	}
+
+	private record Snapshot(TableStatistics statistics, long loadedAt) {
+	}
+}
@@ -0,0 +1,191 @@
+package study.querydsl.repository.guard;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Querydsl 표현식 트리를 훑어서 조회 비용을 추정한다.
+ * <p>
+ * 선택도는 컬럼 통계(distinct 수, min/max)로 계산하고, AND 는 곱, OR 는 합집합, NOT 은 여집합으로 합친다.
+ * 최상위 AND 항 중에 인덱스 경로에 대한 등호/IN/범위 조건이 있으면 인덱스로 접근한다고 보고,
+ * 없으면 전체 스캔으로 본다. limit 이 있고 정렬이 없으면 limit 개를 찾을 때까지만 스캔한다고 본다.
+ */
+public class PredicateCostEstimator {
+
+	static final double DEFAULT_SELECTIVITY = 1.0 / 3;
+	static final double DEFAULT_EQ_SELECTIVITY = 0.1;
+	static final double LIKE_SELECTIVITY = 0.1;
+	static final double NULL_SELECTIVITY = 0.1;
+
+	private final Set<String> indexedPaths;
+
+	public PredicateCostEstimator(Set<String> indexedPaths) {
+		this.indexedPaths = indexedPaths;
+	}
+
+	/**
+	 * @param limit  최대 반환 행 수, 없으면 null
+	 * @param sorted 정렬이 있으면 limit 이 있어도 걸러진 전체를 봐야 한다
+	 */
+	public Estimate estimate(Predicate predicate, TableStatistics statistics, Long limit, boolean sorted) {
+		long total = statistics.rowCount();
+		double selectivity = predicate == null ? 1.0 : clamp(selectivity(predicate, statistics));
+		boolean indexed = predicate != null && usesIndex(predicate);
+
+		double matched = total * selectivity;
+		double scanned;
+		if (indexed) {
+			// 인덱스 범위를 읽다가 limit 개를 채우면 멈춘다
+			scanned = limit != null && !sorted ? Math.min(matched, limit) : matched;
+		} else if (limit != null && !sorted && selectivity > 0) {
+			scanned = Math.min(total, limit / selectivity);
+		} else {
+			scanned = total;
+		}
+		double returned = limit == null ? matched : Math.min(limit, matched);
+		return new Estimate((long) Math.ceil(scanned + returned), (long) Math.ceil(matched), selectivity, indexed);
+	}
+
+	double selectivity(Expression<?> expression, TableStatistics statistics) {
+		if (!(expression instanceof Operation<?> operation)) {
+			return DEFAULT_SELECTIVITY;
+		}
+		Operator operator = operation.getOperator();
+
+		if (operator == Ops.AND) {
+			return selectivity(operation.getArg(0), statistics) * selectivity(operation.getArg(1), statistics);
+		}
+		if (operator == Ops.OR) {
+			double left = selectivity(operation.getArg(0), statistics);
+			double right = selectivity(operation.getArg(1), statistics);
+			return left + right - left * right;
+		}
+		if (operator == Ops.NOT) {
+			return 1 - selectivity(operation.getArg(0), statistics);
+		}
+
+		String path = pathOf(operation.getArg(0));
+		TableStatistics.ColumnStatistics column = path == null ? null : statistics.column(path);
+
+		if (operator == Ops.EQ || operator == Ops.EQ_IGNORE_CASE) {
+			return equality(column);
+		}
+		if (operator == Ops.NE) {
+			return 1 - equality(column);
+		}
+		if (operator == Ops.IN) {
+			return Math.min(1.0, equality(column) * sizeOf(operation.getArg(1)));
+		}
+		if (operator == Ops.NOT_IN) {
+			return 1 - Math.min(1.0, equality(column) * sizeOf(operation.getArg(1)));
+		}
+		if (operator == Ops.BETWEEN) {
+			return range(column, number(operation.getArg(1)), number(operation.getArg(2)));
+		}
+		if (operator == Ops.GOE || operator == Ops.GT) {
+			return range(column, number(operation.getArg(1)), null);
+		}
+		if (operator == Ops.LOE || operator == Ops.LT) {
+			return range(column, null, number(operation.getArg(1)));
+		}
+		if (operator == Ops.IS_NULL) {
+			return NULL_SELECTIVITY;
+		}
+		if (operator == Ops.IS_NOT_NULL) {
+			return 1 - NULL_SELECTIVITY;
+		}
+		if (operator == Ops.LIKE || operator == Ops.LIKE_IC || operator == Ops.STARTS_WITH || operator == Ops.STARTS_WITH_IC
+				|| operator == Ops.ENDS_WITH || operator == Ops.ENDS_WITH_IC || operator == Ops.STRING_CONTAINS
+				|| operator == Ops.STRING_CONTAINS_IC) {
+			return LIKE_SELECTIVITY;
+		}
+		return DEFAULT_SELECTIVITY;
+	}
+
+	/**
+	 * 최상위 AND 항 중 하나라도 인덱스 경로에 대한 등호/IN/범위 조건이면 인덱스 접근
+	 */
+	boolean usesIndex(Expression<?> expression) {
+		if (!(expression instanceof Operation<?> operation)) {
+			return false;
+		}
+		Operator operator = operation.getOperator();
+		if (operator == Ops.AND) {
+			return usesIndex(operation.getArg(0)) || usesIndex(operation.getArg(1));
+		}
+		if (operator == Ops.OR) {
+			// OR 는 양쪽 다 인덱스를 탈 수 있어야 한다
+			return usesIndex(operation.getArg(0)) && usesIndex(operation.getArg(1));
+		}
+		boolean indexable = operator == Ops.EQ || operator == Ops.IN || operator == Ops.BETWEEN
+				|| operator == Ops.GOE || operator == Ops.GT || operator == Ops.LOE || operator == Ops.LT
+				|| operator == Ops.STARTS_WITH;
+		String path = pathOf(operation.getArg(0));
+		return indexable && path != null && indexedPaths.contains(path);
+	}
+
+	/**
+	 * member.team.id -> team.id (root 별칭을 뗀 경로)
+	 */
+	static String pathOf(Expression<?> expression) {
+		if (!(expression instanceof Path<?> path) || path.getMetadata().isRoot()) {
+			return null;
+		}
+		String full = path.toString();
+		return full.substring(full.indexOf('.') + 1);
+	}
+
+	private static double equality(TableStatistics.ColumnStatistics column) {
+		if (column == null || column.distinct() == 0) {
+			return DEFAULT_EQ_SELECTIVITY;
+		}
+		return 1.0 / column.distinct();
+	}
+
+	private static double range(TableStatistics.ColumnStatistics column, Double from, Double to) {
+		if (column == null || column.min() == null || column.max() == null) {
+			return DEFAULT_SELECTIVITY;
+		}
+		double min = column.min();
+		double max = column.max();
+		double lower = from == null ? min : Math.max(min, from);
+		double upper = to == null ? max : Math.min(max, to);
+		if (upper < lower) {
+			return 0;
+		}
+		return (upper - lower + 1) / (max - min + 1);
+	}
+
+	private static Double number(Expression<?> expression) {
+		if (expression instanceof Constant<?> constant && constant.getConstant() instanceof Number number) {
+			return number.doubleValue();
+		}
+		return null;
+	}
+
+	private static int sizeOf(Expression<?> expression) {
+		if (expression instanceof Constant<?> constant && constant.getConstant() instanceof Collection<?> values) {
+			return values.size();
+		}
+		return 1;
+	}
+
+	private static double clamp(double selectivity) {
+		return Math.max(0, Math.min(1, selectivity));
+	}
+
+	/**
+	 * @param cost        예상 스캔 행 수 + 예상 반환 행 수
+	 * @param matchedRows 조건에 맞는 예상 행 수
+	 */
+	public record Estimate(long cost, long matchedRows, double selectivity, boolean indexed) {
+	}
+}
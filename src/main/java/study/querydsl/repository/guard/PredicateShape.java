@@ -0,0 +1,92 @@
+package study.querydsl.repository.guard;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+
+/**
+ * 로그용으로 상수를 ? 로 바꾼 predicate 모양을 만든다.
+ * 예) member.age between 5 and 40 && member.username = 'a' -> AND(BETWEEN(member.age, ?, ?), EQ(member.username, ?))
+ */
+public final class PredicateShape implements Visitor<Void, StringBuilder> {
+
+	private static final PredicateShape INSTANCE = new PredicateShape();
+
+	private PredicateShape() {
+	}
+
+	public static String of(Expression<?> expression) {
+		if (expression == null) {
+			return "(none)";
+		}
+		StringBuilder shape = new StringBuilder();
+		expression.accept(INSTANCE, shape);
+		return shape.toString();
+	}
+
+	@Override
+	public Void visit(Constant<?> expr, StringBuilder context) {
+		context.append('?');
+		return null;
+	}
+
+	@Override
+	public Void visit(FactoryExpression<?> expr, StringBuilder context) {
+		context.append(expr.getType().getSimpleName());
+		appendArgs(expr.getArgs(), context);
+		return null;
+	}
+
+	@Override
+	public Void visit(Operation<?> expr, StringBuilder context) {
+		context.append(expr.getOperator());
+		appendArgs(expr.getArgs(), context);
+		return null;
+	}
+
+	@Override
+	public Void visit(ParamExpression<?> expr, StringBuilder context) {
+		context.append('?');
+		return null;
+	}
+
+	@Override
+	public Void visit(Path<?> expr, StringBuilder context) {
+		context.append(expr);
+		return null;
+	}
+
+	@Override
+	public Void visit(SubQueryExpression<?> expr, StringBuilder context) {
+		context.append("(subquery)");
+		return null;
+	}
+
+	@Override
+	public Void visit(TemplateExpression<?> expr, StringBuilder context) {
+		context.append(expr.getTemplate());
+		appendArgs(expr.getArgs(), context);
+		return null;
+	}
+
+	private void appendArgs(java.util.List<?> args, StringBuilder context) {
+		context.append('(');
+		for (int i = 0; i < args.size(); i++) {
+			if (i > 0) {
+				context.append(", ");
+			}
+			if (args.get(i) instanceof Expression<?> arg) {
+				arg.accept(this, context);
+			} else {
+				context.append('?');
+			}
+		}
+		context.append(')');
+	}
+}
@@ -0,0 +1,13 @@
+package study.querydsl.repository.guard;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+/**
+ * 비용 가드가 예산을 넘는 predicate 조회를 거부했을 때
+ */
+public class QueryCostExceededException extends InvalidDataAccessApiUsageException {
+
+	public QueryCostExceededException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,141 @@
+package study.querydsl.repository.guard;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.QPageRequest;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * QuerydslPredicateExecutor 호출을 실행 전에 가로채 비용을 추정하고, 예산을 넘으면 거부하거나 잘라서 실행한다.
+ * <p>
+ * LIMIT 모드에서는 목록 조회(findAll)를 autoLimit 크기의 페이지 조회로 바꿔 다시 호출한다. 페이지 요청이면 페이지 번호는 유지한다.
+ * 잘라도 예산을 넘는 조회(정렬된 전체 스캔, 깊은 offset 등)와 자를 수 없는 조회(count, findBy)는 모드와 상관없이 거부한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCostGuard implements MethodInterceptor {
+
+	private final QueryGuardProperties properties;
+	private final MemberStatisticsProvider statisticsProvider;
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		Object[] args = invocation.getArguments();
+		if (!properties.isEnabled()
+				|| !isPredicateExecutorMethod(method)
+				|| args.length == 0 || !(args[0] instanceof Predicate predicate)) {
+			return invocation.proceed();
+		}
+
+		Pageable pageable = args.length > 1 && args[1] instanceof Pageable p ? p : null;
+		Long limit = limitOf(method.getName(), pageable);
+		boolean sorted = isSorted(args, pageable);
+
+		TableStatistics statistics = statisticsProvider.get();
+		PredicateCostEstimator estimator = new PredicateCostEstimator(properties.getIndexedPaths());
+		PredicateCostEstimator.Estimate estimate = estimator.estimate(predicate, statistics, limit, sorted);
+		if (estimate.cost() <= properties.getMaxCost()) {
+			return invocation.proceed();
+		}
+
+		String shape = PredicateShape.of(predicate);
+		if (properties.getMode() == QueryGuardProperties.Mode.LIMIT && method.getName().equals("findAll")) {
+			Pageable cappedPage = cappedPage(pageable);
+			long cappedLimit = cappedPage.getOffset() + cappedPage.getPageSize();
+			long capped = estimator.estimate(predicate, statistics, cappedLimit, sorted).cost();
+			if (capped <= properties.getMaxCost()) {
+				log.warn("query capped to {} rows: method={}, shape={}, cost={}, cappedCost={}, budget={}",
+						cappedPage.getPageSize(), method.getName(), shape, estimate.cost(), capped, properties.getMaxCost());
+				return findAllCapped((ProxyMethodInvocation) invocation, predicate, args, pageable, cappedPage);
+			}
+		}
+
+		log.warn("query rejected: method={}, shape={}, cost={}, rows={}, indexed={}, budget={}",
+				method.getName(), shape, estimate.cost(), estimate.matchedRows(), estimate.indexed(), properties.getMaxCost());
+		throw new QueryCostExceededException("조회 비용이 예산을 넘었습니다. shape=" + shape
+				+ ", cost=" + estimate.cost() + ", budget=" + properties.getMaxCost());
+	}
+
+	/**
+	 * 페이지 요청은 페이지 번호를 그대로 두고 크기만 autoLimit 으로 줄인다. 그 외에는 autoLimit 크기의 첫 페이지다.
+	 */
+	private Pageable cappedPage(Pageable pageable) {
+		int autoLimit = properties.getAutoLimit();
+		if (pageable == null) {
+			return PageRequest.of(0, autoLimit);
+		}
+		if (pageable.isUnpaged()) {
+			return PageRequest.of(0, autoLimit, pageable.getSort());
+		}
+		return PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), autoLimit), pageable.getSort());
+	}
+
+	/**
+	 * 줄인 페이지를 같은 정렬로 조회한다. 프록시를 통해 부르므로 트랜잭션 등 다른 advice 도 그대로 탄다.
+	 */
+	@SuppressWarnings("unchecked")
+	private Object findAllCapped(ProxyMethodInvocation invocation, Predicate predicate, Object[] args,
+								 Pageable pageable, Pageable cappedPage) {
+		QuerydslPredicateExecutor<Object> repository = (QuerydslPredicateExecutor<Object>) invocation.getProxy();
+
+		if (pageable != null) {
+			return repository.findAll(predicate, cappedPage);
+		}
+
+		int autoLimit = cappedPage.getPageSize();
+		Pageable capped;
+		if (args.length > 1 && args[1] instanceof Sort sort) {
+			capped = PageRequest.of(0, autoLimit, sort);
+		} else if (args.length > 1 && args[1] instanceof OrderSpecifier<?>[] orders && orders.length > 0) {
+			capped = QPageRequest.of(0, autoLimit, orders);
+		} else {
+			capped = cappedPage;
+		}
+		Page<Object> page = repository.findAll(predicate, capped);
+		return page.getContent();
+	}
+
+	/**
+	 * 리포지토리가 힌트를 붙이려고 다시 선언한 메서드(MemberRepository.findAll(Predicate))는 선언 클래스가 달라지므로 시그니처로 찾는다.
+	 */
+	private static boolean isPredicateExecutorMethod(Method method) {
+		return ReflectionUtils.findMethod(QuerydslPredicateExecutor.class, method.getName(), method.getParameterTypes()) != null;
+	}
+
+	/**
+	 * findOne 은 결과가 둘 이상인지만 보고, exists 는 하나만 본다. 페이지 조회는 offset 만큼 건너뛰며 읽으므로 offset + size 행이다.
+	 */
+	private static Long limitOf(String methodName, Pageable pageable) {
+		return switch (methodName) {
+			case "findOne" -> 2L;
+			case "exists" -> 1L;
+			case "findAll" -> pageable == null || pageable.isUnpaged() ? null : pageable.getOffset() + pageable.getPageSize();
+			default -> null;
+		};
+	}
+
+	private static boolean isSorted(Object[] args, Pageable pageable) {
+		if (pageable != null) {
+			return pageable.getSort().isSorted();
+		}
+		if (args.length > 1 && args[1] instanceof Sort sort) {
+			return sort.isSorted();
+		}
+		return args.length > 1 && args[1] instanceof OrderSpecifier<?>[] orders && orders.length > 0;
+	}
+}
@@ -0,0 +1,58 @@
+package study.querydsl.repository.guard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * QuerydslPredicateExecutor 비용 가드 설정 (querydsl.guard.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.guard")
+public class QueryGuardProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * 허용하는 최대 비용 (예상 스캔 행 수 + 예상 반환 행 수)
+	 */
+	private long maxCost = 100_000;
+
+	private Mode mode = Mode.LIMIT;
+
+	/**
+	 * LIMIT 모드에서 목록 조회에 강제로 붙이는 최대 행 수
+	 */
+	private int autoLimit = 1_000;
+
+	/**
+	 * 인덱스가 있는 Member 경로 (root 별칭을 뺀 형태: id, team.id ...)
+	 */
+	private Set<String> indexedPaths = new LinkedHashSet<>(List.of("id", "username", "age", "team.id"));
+
+	/**
+	 * 컬럼 통계를 다시 읽기까지의 시간. 지나면 백그라운드에서 다시 읽고, 0 이면 매번 요청 스레드에서 읽는다.
+	 */
+	private Duration statisticsTtl = Duration.ofMinutes(10);
+
+	/**
+	 * distinct 수를 추정할 때 읽는 최대 행 수
+	 */
+	private int statisticsSampleSize = 10_000;
+
+	public enum Mode {
+		/**
+		 * 예산을 넘으면 예외
+		 */
+		REJECT,
+		/**
+		 * 목록 조회는 autoLimit 으로 잘라서 실행하고, 자를 수 없는 조회(count, exists 등)는 예외
+		 */
+		LIMIT
+	}
+}
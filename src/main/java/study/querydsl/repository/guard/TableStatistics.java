@@ -0,0 +1,24 @@
+package study.querydsl.repository.guard;
+
+import java.util.Map;
+
+/**
+ * 비용 추정에 쓰는 테이블 통계
+ *
+ * @param rowCount 전체 행 수
+ * @param columns  경로(id, age, team.id ...)별 통계
+ */
+public record TableStatistics(long rowCount, Map<String, ColumnStatistics> columns) {
+
+	public ColumnStatistics column(String path) {
+		return columns.get(path);
+	}
+
+	/**
+	 * @param distinct 서로 다른 값 수
+	 * @param min      숫자 컬럼의 최솟값 (숫자가 아니면 null)
+	 * @param max      숫자 컬럼의 최댓값 (숫자가 아니면 null)
+	 */
+	public record ColumnStatistics(long distinct, Double min, Double max) {
+	}
+}
@@ -0,0 +1,44 @@
+package study.querydsl.repository.plan;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 실행 전에 정리한 회원 검색 조건. 조건은 모두 member 컬럼에 걸리므로 team 조인 없이 쓸 수 있다.
+ *
+ * @param empty   결과가 없을 수밖에 없는 조건이면 true (쿼리를 실행하지 않는다)
+ * @param teamIds teamName 을 풀어 둔 team_id. 팀 조건이 없으면 null
+ */
+public record MemberSearchPlan(boolean empty, String username, List<Long> teamIds, Integer ageGoe, Integer ageLoe) {
+
+	static final MemberSearchPlan EMPTY = new MemberSearchPlan(true, null, null, null, null);
+
+	public Predicate[] where() {
+		return new Predicate[]{usernameEq(), teamIdIn(), ageBetween()};
+	}
+
+	private BooleanExpression usernameEq() {
+		return username == null ? null : member.username.eq(username);
+	}
+
+	// member.team.id 는 member.team_id 컬럼이라 조인이 생기지 않는다
+	private BooleanExpression teamIdIn() {
+		if (teamIds == null)
+			return null;
+		return teamIds.size() == 1 ? member.team.id.eq(teamIds.get(0)) : member.team.id.in(teamIds);
+	}
+
+	private BooleanExpression ageBetween() {
+		if (ageGoe != null && ageLoe != null)
+			return ageGoe.equals(ageLoe) ? member.age.eq(ageGoe) : member.age.between(ageGoe, ageLoe);
+		if (ageGoe != null)
+			return member.age.goe(ageGoe);
+		if (ageLoe != null)
+			return member.age.loe(ageLoe);
+		return null;
+	}
+}
@@ -0,0 +1,65 @@
+package study.querydsl.repository.plan;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 검색 조건을 실행 전에 정리한다.
+ * <ul>
+ *     <li>ageGoe &gt; ageLoe, 음수 ageLoe, 없는 팀 이름은 DB 에 가지 않고 빈 결과로 끝낸다</li>
+ *     <li>나이는 음수가 아니므로 ageGoe &lt;= 0 은 버리고, ageGoe == ageLoe 는 age = ? 로 바꾼다</li>
+ *     <li>teamName 은 {@link TeamIdCache} 로 team_id 를 찾아 member.team_id 인덱스 조건으로 바꾼다</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberSearchPlanner {
+
+	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+	private final TeamIdCache teamIdCache;
+
+	public MemberSearchPlan plan(MemberSearchCondition condition) {
+		Integer ageGoe = condition.getAgeGoe();
+		Integer ageLoe = condition.getAgeLoe();
+		if (ageLoe != null && ageLoe < 0) {
+			return MemberSearchPlan.EMPTY;
+		}
+		if (ageGoe != null && ageLoe != null && ageGoe > ageLoe) {
+			return MemberSearchPlan.EMPTY;
+		}
+		if (ageGoe != null && ageGoe <= 0) {
+			ageGoe = null;
+		}
+
+		List<Long> teamIds = null;
+		if (hasText(condition.getTeamName())) {
+			teamIds = teamIdCache.get(condition.getTeamName(), this::findTeamIds);
+			if (teamIds.isEmpty()) {
+				return MemberSearchPlan.EMPTY;
+			}
+		}
+		String username = hasText(condition.getUsername()) ? condition.getUsername() : null;
+		return new MemberSearchPlan(false, username, teamIds, ageGoe, ageLoe);
+	}
+
+	// 팀 이름은 유일하지 않으므로 같은 이름의 팀을 모두 찾는다 (idx_team_name 만 읽는다)
+	private List<Long> findTeamIds(String teamName) {
+		return queryTimeouts.apply(queryFactory
+				.select(team.id)
+				.from(team)
+				.where(team.name.eq(teamName)), QueryTimeouts.SEARCH)
+				.fetch();
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isEmpty();
+	}
+}
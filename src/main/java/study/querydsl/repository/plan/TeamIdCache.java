@@ -0,0 +1,89 @@
+package study.querydsl.repository.plan;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import study.querydsl.config.MemberSearchProperties;
+import study.querydsl.config.SessionEntityTypes;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 팀 이름 -> team_id 캐시. 없는 이름도 빈 목록으로 캐시한다.
+ * <p>
+ * Team 이 insert/update/delete 되면 flush 때와 트랜잭션이 끝난 뒤 두 번 비운다 ({@link TeamIdCacheListener}).
+ * JDBC 로 직접 바꾼 팀(데이터 생성기 등)은 querydsl.search.team-id-cache-ttl 이 지나야 보인다.
+ * 현재 영속성 컨텍스트에 아직 flush 하지 않은 변경이 있거나 Team 을 관리하고 있으면 (바뀌었을 수 있으므로) 캐시를 쓰지 않고 바로 읽는다.
+ */
+@Lazy(false)
+@Component
+public class TeamIdCache {
+
+	private static final int MAX_ENTRIES = 10_000;
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final MemberSearchProperties properties;
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	public TeamIdCache(EntityManagerFactory entityManagerFactory, MemberSearchProperties properties) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.properties = properties;
+	}
+
+	@PostConstruct
+	public void register() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry()
+				.getService(EventListenerRegistry.class);
+		TeamIdCacheListener listener = new TeamIdCacheListener(this);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+		SessionEntityTypes.track(registry, Team.class);
+	}
+
+	public List<Long> get(String teamName, Function<String, List<Long>> loader) {
+		if (hasPendingChanges()) {
+			return loader.apply(teamName);
+		}
+		long now = System.nanoTime();
+		Entry entry = entries.get(teamName);
+		if (entry != null && now - entry.expiresAt() < 0) {
+			return entry.teamIds();
+		}
+		// 읽는 사이 비워졌으면 읽은 값은 이미 낡았을 수 있으므로 넣지 않는다
+		long readGeneration = generation.get();
+		List<Long> teamIds = List.copyOf(loader.apply(teamName));
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.clear();
+		}
+		if (generation.get() == readGeneration) {
+			entries.put(teamName, new Entry(teamIds, now + properties.getTeamIdCacheTtl().toNanos()));
+		}
+		return teamIds;
+	}
+
+	/**
+	 * 이름이 바뀐 팀의 옛 이름을 알 수 없으므로 통째로 비운다 (팀 변경은 드물다)
+	 */
+	public void evictAll() {
+		generation.incrementAndGet();
+		entries.clear();
+	}
+
+	private boolean hasPendingChanges() {
+		return SessionEntityTypes.hasPendingChanges(entityManagerFactory, Team.class);
+	}
+
+	private record Entry(List<Long> teamIds, long expiresAt) {
+	}
+}
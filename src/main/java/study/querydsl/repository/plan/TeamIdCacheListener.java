@@ -0,0 +1,61 @@
+package study.querydsl.repository.plan;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Team;
+
+/**
+ * Team 변경을 {@link TeamIdCache} 에 알린다.
+ * flush 때 비우면 같은 트랜잭션의 다음 검색이, 트랜잭션이 끝난 뒤 다시 비우면 그 사이 커밋 전 상태를 캐시한 다른 트랜잭션이 새로 읽는다.
+ */
+@RequiredArgsConstructor
+class TeamIdCacheListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private final TeamIdCache cache;
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Team) {
+			evict();
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (event.getEntity() instanceof Team) {
+			evict();
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Team) {
+			evict();
+		}
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+
+	private void evict() {
+		cache.evictAll();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.evictAll();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package study.querydsl.repository.username;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 삭제를 지원하는 Bloom filter. 비트 대신 4비트 카운터를 쓰고, long 하나에 카운터 16개를 담아 CAS 로 올리고 내린다.
+ * <p>
+ * 카운터가 15 에 닿으면 더 올리지도 내리지도 않는다 (그 칸은 그 뒤로 오탐만 낸다).
+ * 넣은 적 없는 값을 빼면 다른 값의 카운터가 내려가 미탐이 생기므로, 호출하는 쪽이 실제로 넣은 값만 빼야 한다.
+ */
+public final class CountingBloomFilter {
+
+	private static final int COUNTERS_PER_WORD = 16;
+	private static final long MAX_COUNT = 0xF;
+
+	private final AtomicLongArray words;
+	private final long counters;
+	private final int hashFunctions;
+	private final long expectedInsertions;
+	private final double falsePositiveRate;
+	private final LongAdder size = new LongAdder();
+
+	private CountingBloomFilter(long counters, int hashFunctions, long expectedInsertions, double falsePositiveRate) {
+		this.words = new AtomicLongArray(Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+		this.counters = counters;
+		this.hashFunctions = hashFunctions;
+		this.expectedInsertions = expectedInsertions;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/**
+	 * m = -n ln p / (ln 2)^2, k = m / n ln 2
+	 */
+	public static CountingBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("expectedInsertions >= 1, 0 < falsePositiveRate < 1 이어야 합니다.");
+		}
+		long counters = Math.max(COUNTERS_PER_WORD,
+				(long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+		int hashFunctions = Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+		return new CountingBloomFilter(counters, hashFunctions, expectedInsertions, falsePositiveRate);
+	}
+
+	public void add(String value) {
+		long h1 = hash1(value);
+		long h2 = hash2(h1);
+		for (int i = 0; i < hashFunctions; i++) {
+			increment(index(h1, h2, i));
+		}
+		size.increment();
+	}
+
+	/**
+	 * 지금 들어 있다고 보이는 값만 뺀다
+	 */
+	public void remove(String value) {
+		long h1 = hash1(value);
+		long h2 = hash2(h1);
+		if (!mightContain(h1, h2)) {
+			return;
+		}
+		for (int i = 0; i < hashFunctions; i++) {
+			decrement(index(h1, h2, i));
+		}
+		size.decrement();
+	}
+
+	public boolean mightContain(String value) {
+		long h1 = hash1(value);
+		return mightContain(h1, hash2(h1));
+	}
+
+	private boolean mightContain(long h1, long h2) {
+		for (int i = 0; i < hashFunctions; i++) {
+			if (count(index(h1, h2, i)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 지금 들어 있는 값 수 기준의 예상 오탐률 (1 - e^(-kn/m))^k
+	 */
+	public double estimatedFalsePositiveRate() {
+		double fill = 1 - Math.exp(-(double) hashFunctions * Math.max(0, size.sum()) / counters);
+		return Math.pow(fill, hashFunctions);
+	}
+
+	public long memoryBytes() {
+		return (long) words.length() * Long.BYTES;
+	}
+
+	public long counters() {
+		return counters;
+	}
+
+	public int hashFunctions() {
+		return hashFunctions;
+	}
+
+	public long expectedInsertions() {
+		return expectedInsertions;
+	}
+
+	public double falsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	public long size() {
+		return size.sum();
+	}
+
+	private long index(long h1, long h2, int i) {
+		return Math.floorMod(h1 + i * h2, counters);
+	}
+
+	private long count(long index) {
+		long word = words.get((int) (index / COUNTERS_PER_WORD));
+		return (word >>> shift(index)) & MAX_COUNT;
+	}
+
+	private void increment(long index) {
+		int slot = (int) (index / COUNTERS_PER_WORD);
+		int shift = shift(index);
+		while (true) {
+			long word = words.get(slot);
+			long count = (word >>> shift) & MAX_COUNT;
+			if (count == MAX_COUNT || words.compareAndSet(slot, word, word + (1L << shift))) {
+				return;
+			}
+		}
+	}
+
+	private void decrement(long index) {
+		int slot = (int) (index / COUNTERS_PER_WORD);
+		int shift = shift(index);
+		while (true) {
+			long word = words.get(slot);
+			long count = (word >>> shift) & MAX_COUNT;
+			if (count == 0 || count == MAX_COUNT || words.compareAndSet(slot, word, word - (1L << shift))) {
+				return;
+			}
+		}
+	}
+
+	private static int shift(long index) {
+		return (int) (index % COUNTERS_PER_WORD) * 4;
+	}
+
+	/**
+	 * 문자열 FNV-1a 를 splitmix64 로 섞은 값. 두 해시를 섞어 k 개 위치를 만든다 (Kirsch-Mitzenmacher).
+	 */
+	private static long hash1(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return mix(h);
+	}
+
+	private static long hash2(long h1) {
+		return mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
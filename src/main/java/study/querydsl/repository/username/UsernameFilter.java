@@ -0,0 +1,221 @@
+package study.querydsl.repository.username;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.config.SessionEntityTypes;
+import study.querydsl.entity.Member;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member.username 존재 여부를 메모리에서 먼저 확인한다. 필터가 없다고 하면 username 조회는 DB 에 가지 않는다.
+ * <p>
+ * 시작할 때 member 테이블의 username 을 스트리밍으로 읽어 채우고, 그 뒤로는 Hibernate 이벤트로 갱신한다.
+ * 값은 flush 때 (커밋 전에) 넣고, 삭제/이름 변경으로 빠지는 값은 커밋된 뒤에 뺀다. 롤백돼도 오탐만 남고 미탐은 생기지 않는다.
+ * 벌크 update/insert, JDBC 직접 쓰기는 이벤트가 없으므로 그 뒤에 {@link #rebuild()} 를 불러야 한다.
+ */
+@Slf4j
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class UsernameFilter implements MeterBinder {
+
+	private static final String SCAN = "select username from member where username is not null";
+
+	private final UsernameFilterProperties properties;
+	private final EntityManagerFactory entityManagerFactory;
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 다 채우기 전에는 null 이고, 그동안은 모든 조회를 DB 로 보낸다
+	 */
+	private volatile CountingBloomFilter current;
+	private volatile CountingBloomFilter building;
+	/**
+	 * flush 됐지만 아직 커밋/롤백되지 않은 username. 다시 채우는 스캔이 못 본 값을 새 필터에 넣는 데 쓴다.
+	 */
+	private final Map<String, Integer> uncommitted = new ConcurrentHashMap<>();
+
+	private Counter ruledOut;
+	private Counter passed;
+	private Counter falsePositives;
+
+	@PostConstruct
+	public void registerListener() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry()
+				.getService(EventListenerRegistry.class);
+		UsernameFilterListener listener = new UsernameFilterListener(this);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+		SessionEntityTypes.track(registry, Member.class);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (properties.isEnabled()) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * member 테이블을 다시 읽어 새 필터를 만들고 바꿔 끼운다. 그동안 들어온 값은 새 필터에도 넣고, 빠지는 값은 새 필터에서 빼지 않는다.
+	 * 스캔보다 먼저 flush 됐지만 스캔 뒤에 커밋된 값은 스캔이 못 보므로, 커밋 때 uncommitted 에서 빼기 전에 새 필터에 넣는다.
+	 */
+	public synchronized void rebuild() {
+		long started = System.nanoTime();
+		Long rows = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+		long expected = Math.max(properties.getExpectedInsertions(), (long) Math.ceil(rows * properties.getHeadroom()));
+		CountingBloomFilter filter = CountingBloomFilter.create(expected, properties.getFalsePositiveRate());
+
+		building = filter;
+		try {
+			JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+			streaming.setFetchSize(1_000);
+			streaming.query(SCAN, rs -> {
+				filter.add(rs.getString(1));
+			});
+			uncommitted.keySet().forEach(filter::add);
+			current = filter;
+		} finally {
+			building = null;
+		}
+		log.info("username filter built: names={}, counters={}, hashFunctions={}, memory={} KB, target fpp={}, estimated fpp={}, {} ms",
+				filter.size(), filter.counters(), filter.hashFunctions(), filter.memoryBytes() / 1024,
+				filter.falsePositiveRate(), String.format("%.5f", filter.estimatedFalsePositiveRate()),
+				(System.nanoTime() - started) / 1_000_000);
+	}
+
+	/**
+	 * true 면 그 username 을 가진 회원이 없다. 필터가 준비되지 않았거나, 현재 세션에 flush 되지 않은 회원 변경이 있을 수 있으면
+	 * (조회 쿼리가 auto flush 로 먼저 반영할 것이므로) false 다. 현재 세션이 Member 를 관리하고 있으면 바뀌었을 수 있다고 본다.
+	 */
+	public boolean ruledOut(String username) {
+		CountingBloomFilter filter = current;
+		if (!properties.isEnabled() || filter == null || username == null || hasPendingChanges()) {
+			return false;
+		}
+		if (filter.mightContain(username)) {
+			count(passed);
+			return false;
+		}
+		count(ruledOut);
+		return true;
+	}
+
+	/**
+	 * 필터를 통과했는데 결과가 비어 있었다
+	 */
+	public void falsePositive() {
+		count(falsePositives);
+	}
+
+	public Stats stats() {
+		CountingBloomFilter filter = current;
+		if (filter == null) {
+			return new Stats(false, 0, 0, 0, 0, properties.getFalsePositiveRate(), 0);
+		}
+		return new Stats(true, filter.size(), filter.counters(), filter.hashFunctions(), filter.memoryBytes(),
+				filter.falsePositiveRate(), filter.estimatedFalsePositiveRate());
+	}
+
+	void added(String username) {
+		if (username == null) {
+			return;
+		}
+		boolean tracked = TransactionSynchronizationManager.isSynchronizationActive();
+		if (tracked) {
+			uncommitted.merge(username, 1, Integer::sum);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					// 다시 채우는 중이면 스캔이 커밋 전에 읽었을 수 있으므로 새 필터에 먼저 넣고 나서 뺀다
+					CountingBloomFilter next = building;
+					if (next != null) {
+						next.add(username);
+					}
+					uncommitted.computeIfPresent(username, (name, count) -> count == 1 ? null : count - 1);
+				}
+			});
+		}
+		CountingBloomFilter next = building;
+		if (next != null) {
+			next.add(username);
+		}
+		CountingBloomFilter filter = current;
+		if (filter != null && filter != next) {
+			filter.add(username);
+		}
+	}
+
+	/**
+	 * 커밋된 뒤에만 뺀다. 커밋을 알 수 없으면 (Spring 트랜잭션 밖) 빼지 않고 오탐으로 남긴다.
+	 */
+	void removedAfterCommit(String username) {
+		if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		CountingBloomFilter filter = current;
+		if (filter == null) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				// 그 사이 다시 만들어졌으면 새 필터는 이미 커밋된 상태를 읽었으므로 건드리지 않는다
+				if (current == filter && building == null) {
+					filter.remove(username);
+				}
+			}
+		});
+	}
+
+	private boolean hasPendingChanges() {
+		return SessionEntityTypes.hasPendingChanges(entityManagerFactory, Member.class);
+	}
+
+	private static void count(Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		ruledOut = Counter.builder("member.username.filter.lookups").tag("result", "ruled_out")
+				.description("필터가 없다고 해서 DB 에 가지 않은 조회").register(registry);
+		passed = Counter.builder("member.username.filter.lookups").tag("result", "passed")
+				.description("필터를 통과해 DB 로 간 조회").register(registry);
+		falsePositives = Counter.builder("member.username.filter.lookups").tag("result", "false_positive")
+				.description("필터를 통과했지만 결과가 없었던 조회").register(registry);
+		Gauge.builder("member.username.filter.memory", this, filter -> filter.stats().memoryBytes())
+				.baseUnit("bytes").register(registry);
+		Gauge.builder("member.username.filter.size", this, filter -> filter.stats().size()).register(registry);
+		Gauge.builder("member.username.filter.fpp.target", this, filter -> filter.stats().targetFalsePositiveRate())
+				.register(registry);
+		Gauge.builder("member.username.filter.fpp.estimated", this, filter -> filter.stats().estimatedFalsePositiveRate())
+				.register(registry);
+	}
+
+	public record Stats(boolean ready, long size, long counters, int hashFunctions, long memoryBytes,
+						double targetFalsePositiveRate, double estimatedFalsePositiveRate) {
+	}
+}
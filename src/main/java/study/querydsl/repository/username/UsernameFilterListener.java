@@ -0,0 +1,54 @@
+package study.querydsl.repository.username;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import study.querydsl.entity.Member;
+
+import java.util.Objects;
+
+/**
+ * Member insert/이름 변경/delete 를 {@link UsernameFilter} 에 반영한다.
+ */
+@RequiredArgsConstructor
+class UsernameFilterListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	private final UsernameFilter filter;
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Member member) {
+			filter.added(member.getUsername());
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (!(event.getEntity() instanceof Member member)) {
+			return;
+		}
+		String previous = event.getOldState() == null ? null
+				: (String) event.getOldState()[event.getPersister().getPropertyIndex("username")];
+		if (!Objects.equals(previous, member.getUsername())) {
+			filter.added(member.getUsername());
+			filter.removedAfterCommit(previous);
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Member member) {
+			filter.removedAfterCommit(member.getUsername());
+		}
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+}
@@ -0,0 +1,30 @@
+package study.querydsl.repository.username;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * username 존재 여부 필터 설정 (querydsl.username-filter.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.username-filter")
+public class UsernameFilterProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * 필터 크기를 잡을 때 쓰는 최소 회원 수. 시작할 때 실제 회원 수가 더 많으면 그 수 x headroom 으로 잡는다.
+	 */
+	private long expectedInsertions = 100_000;
+
+	/**
+	 * expectedInsertions 만큼 들어 있을 때의 목표 오탐률. 낮출수록 메모리가 늘어난다 (1% 에 회원당 약 4.8 바이트).
+	 */
+	private double falsePositiveRate = 0.01;
+
+	/**
+	 * 시작 시점 회원 수 대비 여유 배수
+	 */
+	private double headroom = 2.0;
+}
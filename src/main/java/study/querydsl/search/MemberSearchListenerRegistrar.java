@@ -0,0 +1,38 @@
+package study.querydsl.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate 이벤트 리스너 레지스트리에 {@link MemberSearchSyncListener} 를 붙인다.
+ * fast 프로필의 lazy 초기화에서도 첫 쓰기 전에 붙어 있어야 하므로 바로 만든다.
+ * <p>
+ * member_search 를 읽는 querydsl.search.backend=denormalized 일 때만 붙인다. 다른 백엔드로 돌던 동안의 변경은
+ * 백엔드를 바꾸기 전에 {@link MemberSearchRepairJob} 으로 맞춘다.
+ */
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "querydsl.search.backend", havingValue = "denormalized")
+@RequiredArgsConstructor
+public class MemberSearchListenerRegistrar {
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	public void register() {
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry()
+				.getService(EventListenerRegistry.class);
+		MemberSearchSyncListener listener = new MemberSearchSyncListener();
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+	}
+}
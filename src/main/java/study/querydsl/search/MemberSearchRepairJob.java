@@ -0,0 +1,54 @@
+package study.querydsl.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 벌크 update/insert 처럼 엔티티 이벤트를 거치지 않은 변경 뒤에 member_search 를 member/team 과 다시 맞춘다.
+ * <p>
+ * member_id 범위를 CHUNK 단위로 나눠 범위마다 짧은 트랜잭션으로 merge 하고, 원본에 없는 행을 지운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberSearchRepairJob {
+
+	static final long CHUNK = 10_000;
+
+	private static final String MERGE_RANGE = "merge into member_search (member_id, username, age, team_id, team_name) key (member_id) "
+			+ "select m.member_id, m.username, m.age, m.team_id, t.name from member m left join team t on t.team_id = m.team_id "
+			+ "where m.member_id >= ? and m.member_id < ?";
+	private static final String DELETE_ORPHANS = "delete from member_search s where s.member_id >= ? and s.member_id < ? "
+			+ "and not exists (select 1 from member m where m.member_id = s.member_id)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public RepairResult repair() {
+		long started = System.nanoTime();
+		Long minId = jdbcTemplate.queryForObject("select least(coalesce((select min(member_id) from member), 0), "
+				+ "coalesce((select min(member_id) from member_search), 0))", Long.class);
+		Long maxId = jdbcTemplate.queryForObject("select greatest(coalesce((select max(member_id) from member), -1), "
+				+ "coalesce((select max(member_id) from member_search), -1))", Long.class);
+
+		long merged = 0, deleted = 0;
+		for (long next = minId; next <= maxId; next += CHUNK) {
+			long from = next;
+			long to = next + CHUNK;
+			int[] counts = transactionTemplate.execute(status -> new int[]{
+					jdbcTemplate.update(MERGE_RANGE, from, to),
+					jdbcTemplate.update(DELETE_ORPHANS, from, to)});
+			merged += counts[0];
+			deleted += counts[1];
+		}
+		RepairResult result = new RepairResult(merged, deleted, (System.nanoTime() - started) / 1_000_000);
+		log.info("member_search repaired: {}", result);
+		return result;
+	}
+
+	public record RepairResult(long merged, long deleted, long millis) {
+	}
+}
@@ -0,0 +1,82 @@
+package study.querydsl.search;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.MemberPredicates;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSort;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMemberSearch.memberSearch;
+
+/**
+ * member_search 한 테이블만 읽는 MemberRepositoryCustom 구현. querydsl.search.backend=denormalized 일 때 쓰인다.
+ */
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberSearchRepository implements MemberRepositoryCustom {
+
+	private static final MemberPredicates PREDICATES = new MemberPredicates(memberSearch.username, memberSearch.teamName, memberSearch.age);
+
+	private final JPAQueryFactory queryFactory;
+	private final QueryTimeouts queryTimeouts;
+
+	@Override
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		return queryTimeouts.apply(contentQuery(condition), QueryTimeouts.SEARCH).fetch();
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+		List<MemberTeamDto> content = queryTimeouts.apply(contentQuery(condition), QueryTimeouts.PAGE_CONTENT)
+				.orderBy(orderSpecifiers(pageable.getSort()))
+				.offset(pageable.getOffset())
+				.limit(pageable.getPageSize())
+				.fetch();
+
+		JPAQuery<Long> countQuery = queryTimeouts.apply(queryFactory
+				.select(memberSearch.count())
+				.from(memberSearch)
+				.where(PREDICATES.where(condition)), QueryTimeouts.PAGE_COUNT);
+
+		return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+		return searchPageSimple(condition, pageable);
+	}
+
+	private JPAQuery<MemberTeamDto> contentQuery(MemberSearchCondition condition) {
+		return queryFactory
+				.select(new QMemberTeamDto(
+						memberSearch.memberId,
+						memberSearch.username,
+						memberSearch.age,
+						memberSearch.teamId,
+						memberSearch.teamName))
+				.from(memberSearch)
+				.where(PREDICATES.where(condition));
+	}
+
+	private static OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+		return MemberSort.orderBy(sort, property -> switch (property) {
+			case USERNAME -> memberSearch.username;
+			case AGE -> memberSearch.age;
+			case TEAM_NAME -> memberSearch.teamName;
+			case MEMBER_ID -> memberSearch.memberId;
+		});
+	}
+}
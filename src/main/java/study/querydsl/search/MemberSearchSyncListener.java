@@ -0,0 +1,121 @@
+package study.querydsl.search;
+
+import org.hibernate.Hibernate;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Set;
+
+/**
+ * Member insert/delete, 검색 속성(username, age, team) 변경과 Team 이름 변경을 member_search 에 반영한다.
+ * <p>
+ * flush 중에 불리므로 세션 쿼리 대신 같은 커넥션으로 JDBC 를 직접 실행한다. 같은 트랜잭션이라 롤백도 함께 된다.
+ * 팀이 초기화되지 않은 프록시면 팀 이름을 읽으려고 로딩하지 않고 SQL 서브쿼리로 채운다.
+ */
+public class MemberSearchSyncListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	static final String MERGE = "merge into member_search (member_id, username, age, team_id, team_name) key (member_id) "
+			+ "values (?, ?, ?, ?, ?)";
+	static final String MERGE_TEAM_NAME_FROM_TEAM = "merge into member_search (member_id, username, age, team_id, team_name) key (member_id) "
+			+ "values (?, ?, ?, ?, (select t.name from team t where t.team_id = ?))";
+	static final String RENAME_TEAM = "update member_search set team_name = ? where team_id = ?";
+	static final String DELETE = "delete from member_search where member_id = ?";
+
+	// member_search 에 복사하는 속성. 이 밖의 속성(last_active_at 등)만 바뀐 update 는 건너뛴다
+	private static final Set<String> SEARCH_PROPERTIES = Set.of("username", "age", "team");
+	private static final Set<String> TEAM_NAME = Set.of("name");
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof Member member) {
+			merge(event.getSession(), member);
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (event.getEntity() instanceof Member member) {
+			if (changed(event, SEARCH_PROPERTIES)) {
+				merge(event.getSession(), member);
+			}
+		} else if (event.getEntity() instanceof Team team && changed(event, TEAM_NAME)) {
+			event.getSession().doWork(connection -> {
+				try (PreparedStatement statement = connection.prepareStatement(RENAME_TEAM)) {
+					statement.setString(1, team.getName());
+					statement.setLong(2, team.getId());
+					statement.executeUpdate();
+				}
+			});
+		}
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof Member) {
+			event.getSession().doWork(connection -> {
+				try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+					statement.setLong(1, (Long) event.getId());
+					statement.executeUpdate();
+				}
+			});
+		}
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return false;
+	}
+
+	private static void merge(EventSource session, Member member) {
+		Team team = member.getTeam();
+		boolean teamLoaded = team == null || Hibernate.isInitialized(team);
+		session.doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(teamLoaded ? MERGE : MERGE_TEAM_NAME_FROM_TEAM)) {
+				statement.setLong(1, member.getId());
+				statement.setString(2, member.getUsername());
+				statement.setInt(3, member.getAge());
+				if (team == null) {
+					statement.setNull(4, Types.BIGINT);
+					statement.setNull(5, Types.VARCHAR);
+				} else {
+					// 프록시의 id 는 초기화하지 않고 읽을 수 있다
+					Long teamId = team.getId();
+					statement.setLong(4, teamId);
+					if (teamLoaded) {
+						statement.setString(5, team.getName());
+					} else {
+						statement.setLong(5, teamId);
+					}
+				}
+				statement.executeUpdate();
+			}
+		});
+	}
+
+	/**
+	 * 바뀐 속성을 알 수 없으면 바뀐 것으로 본다
+	 */
+	private static boolean changed(PostUpdateEvent event, Set<String> properties) {
+		int[] dirty = event.getDirtyProperties();
+		if (dirty == null) {
+			return true;
+		}
+		String[] names = event.getPersister().getPropertyNames();
+		for (int index : dirty) {
+			if (properties.contains(names[index])) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,53 @@
+package study.querydsl.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 각자 정렬된 목록 여러 개를 힙으로 합친다. 앞에서 skip 개를 버리고 limit 개까지만 만든다.
+ */
+public final class KWayMerge {
+
+	private KWayMerge() {
+	}
+
+	public static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator, long skip, long limit) {
+		PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+				(a, b) -> comparator.compare(a.head, b.head));
+		for (List<T> list : sortedLists) {
+			Iterator<T> iterator = list.iterator();
+			if (iterator.hasNext()) {
+				heap.add(new Cursor<>(iterator.next(), iterator));
+			}
+		}
+
+		List<T> result = new ArrayList<>((int) Math.min(limit, 1024));
+		long skipped = 0;
+		while (!heap.isEmpty() && result.size() < limit) {
+			Cursor<T> cursor = heap.poll();
+			if (skipped < skip) {
+				skipped++;
+			} else {
+				result.add(cursor.head);
+			}
+			if (cursor.rest.hasNext()) {
+				cursor.head = cursor.rest.next();
+				heap.add(cursor);
+			}
+		}
+		return result;
+	}
+
+	private static final class Cursor<T> {
+		T head;
+		final Iterator<T> rest;
+
+		Cursor(T head, Iterator<T> rest) {
+			this.head = head;
+			this.rest = rest;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package study.querydsl.shard;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import study.querydsl.timeout.QueryCancellation;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 샤드 datasource 묶음. 샤드마다 SQLQueryFactory 를 두고, 여러 샤드에 같은 작업을 병렬로 보낸다.
+ * <p>
+ * 샤드 커넥션은 스프링 트랜잭션에 묶이지 않고 쿼리마다 빌려서 바로 돌려준다.
+ * 호출 스레드에 묶인 {@link QueryCancellation} 은 작업 스레드로 넘겨서 요청 취소가 샤드 쿼리에도 닿게 한다.
+ */
+@Slf4j
+public class ShardCluster implements AutoCloseable {
+
+	private final List<DataSource> dataSources;
+	private final List<SQLQueryFactory> queryFactories;
+	private final ShardRouter router;
+	private final ExecutorService executor;
+
+	public ShardCluster(List<DataSource> dataSources, com.querydsl.sql.Configuration configuration) {
+		this.dataSources = List.copyOf(dataSources);
+		this.queryFactories = this.dataSources.stream()
+				.map(dataSource -> new SQLQueryFactory(configuration, dataSource))
+				.toList();
+		this.router = new ShardRouter(dataSources.size());
+		this.executor = Executors.newFixedThreadPool(dataSources.size() * 2, new CustomizableThreadFactory("shard-"));
+	}
+
+	public ShardRouter router() {
+		return router;
+	}
+
+	public int size() {
+		return queryFactories.size();
+	}
+
+	public SQLQueryFactory queryFactory(int shard) {
+		return queryFactories.get(shard);
+	}
+
+	public List<Integer> allShards() {
+		return IntStream.range(0, size()).boxed().toList();
+	}
+
+	/**
+	 * shards 에 작업을 병렬로 보내고 샤드 순서대로 결과를 모은다. 하나라도 실패하면 그 예외를 던진다.
+	 */
+	public <T> List<T> scatter(Collection<Integer> shards, Function<SQLQueryFactory, T> work) {
+		return scatterByShard(shards, shard -> work.apply(queryFactory(shard)));
+	}
+
+	/**
+	 * {@link #scatter} 와 같고, 작업이 샤드 번호를 받는다.
+	 */
+	public <T> List<T> scatterByShard(Collection<Integer> shards, IntFunction<T> work) {
+		if (shards.size() == 1) {
+			return List.of(work.apply(shards.iterator().next()));
+		}
+		QueryCancellation cancellation = QueryCancellation.current();
+		List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+		for (int shard : shards) {
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				if (cancellation == null) {
+					return work.apply(shard);
+				}
+				try (QueryCancellation.Scope ignored = cancellation.bind()) {
+					return work.apply(shard);
+				}
+			}, executor));
+		}
+		try {
+			return futures.stream().map(CompletableFuture::join).toList();
+		} catch (CompletionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	public void initSchema() {
+		for (DataSource dataSource : dataSources) {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.execute("create table if not exists team (team_id bigint primary key, name varchar(255))");
+			jdbcTemplate.execute("create table if not exists member (member_id bigint primary key, age integer not null, "
+					+ "team_id bigint, username varchar(255))");
+			jdbcTemplate.execute("create index if not exists idx_member_team_id on member (team_id)");
+			jdbcTemplate.execute("create index if not exists idx_member_username on member (username, member_id)");
+			jdbcTemplate.execute("create index if not exists idx_member_age on member (age, member_id)");
+			jdbcTemplate.execute("create index if not exists idx_team_name on team (name, team_id)");
+		}
+	}
+
+	/**
+	 * 샤드에 있는 팀 이름을 읽어 라우터의 이름 디렉터리를 채운다.
+	 */
+	public void loadDirectory() {
+		List<List<Tuple>> teams = scatter(allShards(), queryFactory -> queryFactory
+				.select(team.teamId, team.name)
+				.from(team)
+				.fetch());
+		int count = 0;
+		for (List<Tuple> rows : teams) {
+			for (Tuple row : rows) {
+				router.registerTeam(row.get(team.teamId), row.get(team.name));
+				count++;
+			}
+		}
+		log.info("shard directory loaded: {} teams on {} shards", count, size());
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+		for (DataSource dataSource : dataSources) {
+			DataSource target = dataSource instanceof DelegatingDataSource delegating ? delegating.getTargetDataSource() : dataSource;
+			if (target instanceof AutoCloseable closeable) {
+				try {
+					closeable.close();
+				} catch (Exception e) {
+					log.warn("shard datasource close failed", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package study.querydsl.shard;
+
+import com.querydsl.sql.SQLQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.timeout.CancellableDataSource;
+import study.querydsl.timeout.QueryTimeouts;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+
+/**
+ * querydsl.search.backend=sharded 일 때 querydsl.shard.shards 로 샤드 datasource 를 만든다.
+ * <p>
+ * 샤드는 검색용 읽기 전용 스냅샷이다. 기동 때 migrate-on-startup 으로 기본 DB 를 한 번 옮겨 오고, 그 뒤의 쓰기
+ * (MemberJpaRepository.save, InitMember, MemberUpdateBuffer, MemberArchiveJob)는 기본 DB 에만 간다.
+ * 팀 이름 디렉터리도 ShardedMemberWriter 로 넣은 팀만 안다. 최신 데이터가 필요하면 샤드를 비우고 다시 기동해 옮긴다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "querydsl.search.backend", havingValue = "sharded")
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardConfig {
+
+	@Bean(destroyMethod = "close")
+	public ShardCluster shardCluster(ShardProperties properties, com.querydsl.sql.Configuration querydslSqlConfiguration) {
+		List<DataSource> dataSources = properties.getShards().stream()
+				.map(shard -> (DataSource) new CancellableDataSource(DataSourceBuilder.create()
+						.type(HikariDataSource.class)
+						.url(shard.getUrl())
+						.username(shard.getUsername())
+						.password(shard.getPassword())
+						.build()))
+				.toList();
+		ShardCluster cluster = new ShardCluster(dataSources, querydslSqlConfiguration);
+		if (properties.isInitSchema()) {
+			cluster.initSchema();
+		}
+		cluster.loadDirectory();
+		return cluster;
+	}
+
+	@Bean
+	public ShardedMemberRepository shardedMemberRepository(ShardCluster shardCluster, QueryTimeouts queryTimeouts) {
+		return new ShardedMemberRepository(shardCluster, queryTimeouts);
+	}
+
+	@Bean
+	public ShardedMemberWriter shardedMemberWriter(ShardCluster shardCluster) {
+		return new ShardedMemberWriter(shardCluster);
+	}
+
+	@Bean
+	public ShardMigrator shardMigrator(SQLQueryFactory sqlQueryFactory, ShardedMemberWriter shardedMemberWriter) {
+		return new ShardMigrator(sqlQueryFactory, shardedMemberWriter);
+	}
+
+	@Bean
+	public ApplicationRunner shardMigrationRunner(ShardProperties properties, ShardCluster shardCluster, ShardMigrator shardMigrator) {
+		return args -> {
+			if (!properties.isMigrateOnStartup()) {
+				return;
+			}
+			long existing = shardCluster.scatter(shardCluster.allShards(), queryFactory -> queryFactory
+							.select(member.memberId.count())
+							.from(member)
+							.fetchOne())
+					.stream().mapToLong(Long::longValue).sum();
+			if (existing > 0) {
+				log.warn("샤드에 이미 {} 건이 있어 이전을 건너뜁니다.", existing);
+				return;
+			}
+			shardMigrator.migrate();
+		};
+	}
+}
@@ -0,0 +1,63 @@
+package study.querydsl.shard;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 기본 DB 의 팀과 회원을 샤드로 옮긴다. 회원은 member_id keyset 으로 CHUNK 건씩 읽는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardMigrator {
+
+	static final int CHUNK = 10_000;
+
+	private final SQLQueryFactory source;
+	private final ShardedMemberWriter writer;
+
+	@Transactional(readOnly = true)
+	public long migrate() {
+		List<ShardedMemberWriter.TeamRow> teams = source
+				.select(team.teamId, team.name)
+				.from(team)
+				.fetch()
+				.stream()
+				.map(row -> new ShardedMemberWriter.TeamRow(row.get(team.teamId), row.get(team.name)))
+				.toList();
+		writer.insertTeams(teams);
+
+		long migrated = 0;
+		long lastId = Long.MIN_VALUE;
+		while (true) {
+			List<Tuple> rows = source
+					.select(member.memberId, member.username, member.age, member.teamId)
+					.from(member)
+					.where(member.memberId.gt(lastId))
+					.orderBy(member.memberId.asc())
+					.limit(CHUNK)
+					.fetch();
+			if (rows.isEmpty()) {
+				break;
+			}
+			writer.insertMembers(rows.stream()
+					.map(row -> new ShardedMemberWriter.MemberRow(
+							row.get(member.memberId),
+							row.get(member.username),
+							row.get(member.age),
+							row.get(member.teamId)))
+					.toList());
+			migrated += rows.size();
+			lastId = rows.get(rows.size() - 1).get(member.memberId);
+		}
+		log.info("migrated {} teams and {} members to shards", teams.size(), migrated);
+		return migrated;
+	}
+}
@@ -0,0 +1,35 @@
+package study.querydsl.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤드 설정 (querydsl.shard.*). 목록 순서가 샤드 번호이므로 운영 중에 순서를 바꾸면 안 된다.
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.shard")
+public class ShardProperties {
+
+	private List<Shard> shards = new ArrayList<>();
+
+	/**
+	 * 기동 시 샤드에 member/team 테이블이 없으면 만든다
+	 */
+	private boolean initSchema = true;
+
+	/**
+	 * 기동 시 샤드가 비어 있으면 기본 DB 의 회원/팀을 나눠 담는다
+	 */
+	private boolean migrateOnStartup = false;
+
+	@Getter @Setter
+	public static class Shard {
+		private String url;
+		private String username = "sa";
+		private String password = "";
+	}
+}
@@ -0,0 +1,48 @@
+package study.querydsl.shard;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * team_id 로 샤드를 고르고, 팀 이름이 어느 샤드에 있는지 기억한다.
+ * <p>
+ * 같은 팀의 회원은 항상 같은 샤드에 둔다. 팀이 없는 회원은 member_id 로 흩어 놓는다.
+ * 팀 이름은 유일하지 않을 수 있어서 이름마다 샤드 집합을 둔다.
+ */
+public class ShardRouter {
+
+	private final int shardCount;
+	private final Map<String, Set<Integer>> shardsByTeamName = new ConcurrentHashMap<>();
+
+	public ShardRouter(int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("샤드가 하나 이상 있어야 합니다.");
+		}
+		this.shardCount = shardCount;
+	}
+
+	public int shardCount() {
+		return shardCount;
+	}
+
+	public int shardOfTeam(long teamId) {
+		return Math.floorMod(Long.hashCode(teamId), shardCount);
+	}
+
+	public int shardOfMember(long memberId, Long teamId) {
+		return teamId == null ? Math.floorMod(Long.hashCode(memberId), shardCount) : shardOfTeam(teamId);
+	}
+
+	public void registerTeam(long teamId, String teamName) {
+		shardsByTeamName.computeIfAbsent(teamName, name -> ConcurrentHashMap.newKeySet()).add(shardOfTeam(teamId));
+	}
+
+	/**
+	 * 이 이름의 팀이 있는 샤드. 모르는 이름이면 빈 집합.
+	 */
+	public Set<Integer> shardsOfTeamName(String teamName) {
+		return shardsByTeamName.getOrDefault(teamName, Collections.emptySet());
+	}
+}
@@ -0,0 +1,117 @@
+package study.querydsl.shard;
+
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.MemberPredicates;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSort;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.Collection;
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 샤드에 나뉜 회원을 검색하는 MemberRepositoryCustom 구현. querydsl.search.backend=sharded 일 때 쓰인다.
+ * <p>
+ * teamName 이 있으면 그 팀이 있는 샤드에만 보내고, 없으면 모든 샤드에 병렬로 보낸 뒤 요청한 정렬(기본 member_id) 순으로 k-way merge 한다.
+ * 페이지는 샤드마다 offset + size 개를 받아 합친 뒤 offset 만큼 버리므로, 뒤쪽 페이지일수록 비싸다.
+ * 전체 개수는 샤드별 count 를 더한다.
+ * <p>
+ * 샤드는 기동 때 옮겨 둔 스냅샷이라 그 뒤 기본 DB 에 쓴 변경은 보이지 않는다 ({@link ShardConfig}).
+ * 보관된 회원도 샤드에 그대로 남으므로 includeArchived 여도 member_archive 를 합치지 않는다.
+ */
+@RequiredArgsConstructor
+public class ShardedMemberRepository implements MemberRepositoryCustom {
+
+	private static final MemberPredicates PREDICATES = new MemberPredicates(member.username, team.name, member.age);
+
+	private final ShardCluster cluster;
+	private final QueryTimeouts queryTimeouts;
+
+	@Override
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		Collection<Integer> shards = targetShards(condition);
+		if (shards.isEmpty()) {
+			return List.of();
+		}
+		List<List<MemberTeamDto>> results = cluster.scatter(shards, queryFactory ->
+				queryTimeouts.apply(contentQuery(queryFactory, condition, Sort.unsorted()), QueryTimeouts.SEARCH).fetch());
+		return KWayMerge.merge(results, MemberSort.comparator(Sort.unsorted()), 0, Long.MAX_VALUE);
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(search(condition));
+		}
+		Collection<Integer> shards = targetShards(condition);
+		if (shards.isEmpty()) {
+			return Page.empty(pageable);
+		}
+
+		long offset = pageable.getOffset();
+		int size = pageable.getPageSize();
+		List<List<MemberTeamDto>> results = cluster.scatter(shards, queryFactory ->
+				queryTimeouts.apply(contentQuery(queryFactory, condition, pageable.getSort()), QueryTimeouts.PAGE_CONTENT)
+						.limit(offset + size)
+						.fetch());
+		List<MemberTeamDto> content = KWayMerge.merge(results, MemberSort.comparator(pageable.getSort()), offset, size);
+
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(shards, condition));
+	}
+
+	@Override
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+		return searchPageSimple(condition, pageable);
+	}
+
+	private long count(Collection<Integer> shards, MemberSearchCondition condition) {
+		return cluster.scatter(shards, queryFactory ->
+						queryTimeouts.apply(countQuery(queryFactory, condition), QueryTimeouts.PAGE_COUNT).fetchOne())
+				.stream()
+				.mapToLong(count -> count == null ? 0 : count)
+				.sum();
+	}
+
+	private Collection<Integer> targetShards(MemberSearchCondition condition) {
+		String teamName = condition.getTeamName();
+		if (teamName == null || teamName.isEmpty()) {
+			return cluster.allShards();
+		}
+		return cluster.router().shardsOfTeamName(teamName);
+	}
+
+	private SQLQuery<MemberTeamDto> contentQuery(SQLQueryFactory queryFactory, MemberSearchCondition condition, Sort sort) {
+		return queryFactory
+				.select(new QMemberTeamDto(
+						member.memberId,
+						member.username,
+						member.age,
+						team.teamId,
+						team.name))
+				.from(member)
+				.leftJoin(team).on(member.teamId.eq(team.teamId))
+				.where(PREDICATES.where(condition))
+				.orderBy(MemberSort.sql(sort));
+	}
+
+	private SQLQuery<Long> countQuery(SQLQueryFactory queryFactory, MemberSearchCondition condition) {
+		return queryFactory
+				.select(member.memberId.count())
+				.from(member)
+				.leftJoin(team).on(member.teamId.eq(team.teamId))
+				.where(PREDICATES.where(condition));
+	}
+}
@@ -0,0 +1,77 @@
+package study.querydsl.shard;
+
+import com.querydsl.sql.dml.SQLInsertClause;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 팀과 회원을 라우터가 고른 샤드에 넣는다. id 는 호출하는 쪽에서 정해서 넘긴다 (샤드 사이에 겹치면 안 된다).
+ * 회원보다 팀을 먼저 넣어야 팀 이름 디렉터리가 채워진다.
+ */
+@RequiredArgsConstructor
+public class ShardedMemberWriter {
+
+	private final ShardCluster cluster;
+
+	public void insertTeams(List<TeamRow> teams) {
+		List<List<TeamRow>> byShard = partition(teams.size());
+		for (TeamRow row : teams) {
+			byShard.get(cluster.router().shardOfTeam(row.id())).add(row);
+		}
+		cluster.scatterByShard(cluster.allShards(), shard -> {
+			List<TeamRow> rows = byShard.get(shard);
+			if (rows.isEmpty()) {
+				return 0L;
+			}
+			SQLInsertClause insert = cluster.queryFactory(shard).insert(team);
+			for (TeamRow row : rows) {
+				insert.set(team.teamId, row.id()).set(team.name, row.name()).addBatch();
+			}
+			return insert.execute();
+		});
+		for (TeamRow row : teams) {
+			cluster.router().registerTeam(row.id(), row.name());
+		}
+	}
+
+	public void insertMembers(List<MemberRow> members) {
+		List<List<MemberRow>> byShard = partition(members.size());
+		for (MemberRow row : members) {
+			byShard.get(cluster.router().shardOfMember(row.id(), row.teamId())).add(row);
+		}
+		cluster.scatterByShard(cluster.allShards(), shard -> {
+			List<MemberRow> rows = byShard.get(shard);
+			if (rows.isEmpty()) {
+				return 0L;
+			}
+			SQLInsertClause insert = cluster.queryFactory(shard).insert(member);
+			for (MemberRow row : rows) {
+				insert.set(member.memberId, row.id())
+						.set(member.username, row.username())
+						.set(member.age, row.age())
+						.set(member.teamId, row.teamId())
+						.addBatch();
+			}
+			return insert.execute();
+		});
+	}
+
+	private <T> List<List<T>> partition(int expected) {
+		List<List<T>> byShard = new ArrayList<>(cluster.size());
+		for (int shard = 0; shard < cluster.size(); shard++) {
+			byShard.add(new ArrayList<>(expected / cluster.size() + 1));
+		}
+		return byShard;
+	}
+
+	public record TeamRow(long id, String name) {
+	}
+
+	public record MemberRow(long id, String username, int age, Long teamId) {
+	}
+}
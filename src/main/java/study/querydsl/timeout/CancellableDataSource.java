@@ -0,0 +1,53 @@
+package study.querydsl.timeout;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 현재 스레드에 {@link QueryCancellation} 이 묶여 있으면, 커넥션에서 만든 statement 를 거기에 등록한다.
+ */
+public class CancellableDataSource extends DelegatingDataSource {
+
+	public CancellableDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private static Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(),
+				new Class<?>[]{Connection.class},
+				(proxy, method, args) -> invoke(connection, method, args));
+	}
+
+	private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+		Object result;
+		try {
+			result = method.invoke(connection, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+		if (result instanceof Statement statement) {
+			QueryCancellation cancellation = QueryCancellation.current();
+			if (cancellation != null) {
+				cancellation.register(statement);
+			}
+		}
+		return result;
+	}
+}
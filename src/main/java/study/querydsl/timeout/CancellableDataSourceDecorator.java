@@ -0,0 +1,25 @@
+package study.querydsl.timeout;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * p6spy 와 같은 datasource-decorator 체인에 {@link CancellableDataSource} 를 끼운다.
+ * p6spy 안쪽에 두어 취소된 쿼리도 p6spy 로그에 남게 한다.
+ */
+@Component
+public class CancellableDataSourceDecorator implements DataSourceDecorator, Ordered {
+
+	@Override
+	public DataSource decorate(String beanName, DataSource dataSource) {
+		return new CancellableDataSource(dataSource);
+	}
+
+	@Override
+	public int getOrder() {
+		return 5;
+	}
+}
@@ -0,0 +1,97 @@
+package study.querydsl.timeout;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 하나가 실행 중인 JDBC statement 를 모아 두었다가 한 번에 취소한다.
+ * <p>
+ * 비동기 요청을 처리하는 스레드에 {@link #bind()} 로 묶어 두면, 그 스레드에서 만든 statement 가
+ * {@link CancellableDataSource} 를 통해 등록된다. 타임아웃이나 클라이언트 연결 끊김이 감지되면 다른 스레드에서
+ * {@link #cancel()} 을 불러 DB 에서 돌고 있는 쿼리를 멈추고 커넥션을 돌려받는다.
+ */
+@Slf4j
+public class QueryCancellation {
+
+	private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+	private final List<Statement> statements = new ArrayList<>();
+	private long deadlineNanos = Long.MAX_VALUE;
+	private boolean cancelled;
+
+	public static QueryCancellation current() {
+		return CURRENT.get();
+	}
+
+	public Scope bind() {
+		QueryCancellation previous = CURRENT.get();
+		CURRENT.set(this);
+		return () -> {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		};
+	}
+
+	/**
+	 * 요청 전체에 남은 시간. 리포지토리 메서드 타임아웃을 이보다 길게 잡지 않는다.
+	 */
+	public synchronized void deadlineAfter(long nanos) {
+		deadlineNanos = System.nanoTime() + nanos;
+	}
+
+	public synchronized long remainingNanos() {
+		return deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+	}
+
+	synchronized void register(Statement statement) throws SQLException {
+		if (cancelled) {
+			statement.close();
+			throw new SQLException("요청이 취소되어 쿼리를 실행하지 않습니다.", "57014");
+		}
+		statements.removeIf(QueryCancellation::isClosed);
+		statements.add(statement);
+	}
+
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * 아직 닫히지 않은 statement 를 모두 취소한다. 여러 번 불러도 된다.
+	 */
+	public synchronized void cancel() {
+		cancelled = true;
+		for (Statement statement : statements) {
+			if (isClosed(statement)) {
+				continue;
+			}
+			try {
+				statement.cancel();
+				log.info("in-flight statement cancelled");
+			} catch (SQLException e) {
+				log.debug("statement cancel failed", e);
+			}
+		}
+		statements.clear();
+	}
+
+	private static boolean isClosed(Statement statement) {
+		try {
+			return statement.isClosed();
+		} catch (SQLException e) {
+			return true;
+		}
+	}
+
+	public interface Scope extends AutoCloseable {
+		@Override
+		void close();
+	}
+}
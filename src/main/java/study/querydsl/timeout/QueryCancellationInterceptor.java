@@ -0,0 +1,73 @@
+package study.querydsl.timeout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 비동기 요청마다 {@link QueryCancellation} 을 만들어 작업 스레드에 묶고,
+ * 타임아웃이나 오류(클라이언트 연결 끊김 포함)로 요청이 끝나면 실행 중인 statement 를 취소한다.
+ */
+@Slf4j
+public class QueryCancellationInterceptor implements CallableProcessingInterceptor {
+
+	private static final String CANCELLATION = QueryCancellation.class.getName();
+	private static final String SCOPE = QueryCancellation.Scope.class.getName();
+
+	@Override
+	public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+		request.setAttribute(CANCELLATION, new QueryCancellation(), RequestAttributes.SCOPE_REQUEST);
+	}
+
+	@Override
+	public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+		QueryCancellation cancellation = cancellation(request);
+		if (cancellation != null) {
+			request.setAttribute(SCOPE, cancellation.bind(), RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	@Override
+	public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+		if (request.getAttribute(SCOPE, RequestAttributes.SCOPE_REQUEST) instanceof QueryCancellation.Scope scope) {
+			scope.close();
+			request.removeAttribute(SCOPE, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	@Override
+	public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+		cancel(request, "timeout");
+		return RESULT_NONE;
+	}
+
+	@Override
+	public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+		cancel(request, "error: " + t);
+		return RESULT_NONE;
+	}
+
+	@Override
+	public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+		// 정상 완료면 이미 statement 가 닫혀 있어 아무것도 하지 않는다
+		QueryCancellation cancellation = cancellation(request);
+		if (cancellation != null) {
+			cancellation.cancel();
+		}
+	}
+
+	private void cancel(NativeWebRequest request, String reason) {
+		QueryCancellation cancellation = cancellation(request);
+		if (cancellation != null) {
+			log.warn("async request aborted ({}), cancelling queries: {}", reason, request.getDescription(false));
+			cancellation.cancel();
+		}
+	}
+
+	private static QueryCancellation cancellation(NativeWebRequest request) {
+		return (QueryCancellation) request.getAttribute(CANCELLATION, RequestAttributes.SCOPE_REQUEST);
+	}
+}
@@ -0,0 +1,37 @@
+package study.querydsl.timeout;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 쿼리 타임아웃 설정 (querydsl.timeout.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.timeout")
+public class QueryTimeoutProperties {
+
+	/**
+	 * 리포지토리 메서드별 설정이 없을 때의 statement 타임아웃
+	 */
+	private Duration query = Duration.ofSeconds(5);
+
+	/**
+	 * 엔드포인트별 설정이 없을 때의 비동기 요청 타임아웃
+	 */
+	private Duration endpoint = Duration.ofSeconds(10);
+
+	/**
+	 * 리포지토리 메서드별 statement 타임아웃 (키는 {@link QueryTimeouts} 상수)
+	 */
+	private Map<String, Duration> methods = new LinkedHashMap<>();
+
+	/**
+	 * 엔드포인트별 요청 타임아웃 (키는 members-v1, members-v2, members-v3)
+	 */
+	private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
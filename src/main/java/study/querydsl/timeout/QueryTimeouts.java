@@ -0,0 +1,65 @@
+package study.querydsl.timeout;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.StatementOptions;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드와 엔드포인트의 타임아웃을 적용한다.
+ * <p>
+ * 메서드 타임아웃은 JPA 쿼리 타임아웃 힌트(jakarta.persistence.query.timeout)로 statement 에 걸리고,
+ * 요청에 남은 시간이 더 짧으면 그 시간으로 줄인다. JDBC 타임아웃은 초 단위라 1초 미만은 1초로 올린다.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(QueryTimeoutProperties.class)
+public class QueryTimeouts {
+
+	public static final String SEARCH = "search";
+	public static final String PAGE_CONTENT = "page-content";
+	public static final String PAGE_COUNT = "page-count";
+	public static final String ANALYTICS = "analytics";
+
+	private final QueryTimeoutProperties properties;
+
+	public <T> JPAQuery<T> apply(JPAQuery<T> query, String method) {
+		return query.setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, timeoutSeconds(method) * 1000);
+	}
+
+	public <T> SQLQuery<T> apply(SQLQuery<T> query, String method) {
+		query.setStatementOptions(StatementOptions.builder().setQueryTimeout(timeoutSeconds(method)).build());
+		return query;
+	}
+
+	/**
+	 * 엔드포인트 타임아웃으로 감싼 비동기 작업. 타임아웃이 나면 {@link QueryCancellationInterceptor} 가 쿼리를 취소한다.
+	 */
+	public <T> WebAsyncTask<T> task(String endpoint, Callable<T> callable) {
+		Duration timeout = properties.getEndpoints().getOrDefault(endpoint, properties.getEndpoint());
+		return new WebAsyncTask<>(timeout.toMillis(), () -> {
+			QueryCancellation cancellation = QueryCancellation.current();
+			if (cancellation != null) {
+				cancellation.deadlineAfter(timeout.toNanos());
+			}
+			return callable.call();
+		});
+	}
+
+	int timeoutSeconds(String method) {
+		long millis = properties.getMethods().getOrDefault(method, properties.getQuery()).toMillis();
+		QueryCancellation cancellation = QueryCancellation.current();
+		if (cancellation != null) {
+			millis = Math.min(millis, TimeUnit.NANOSECONDS.toMillis(cancellation.remainingNanos()));
+		}
+		return (int) Math.max(1, (millis + 999) / 1000);
+	}
+}
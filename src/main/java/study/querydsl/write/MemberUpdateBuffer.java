@@ -0,0 +1,216 @@
+package study.querydsl.write;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 나이 수정을 짧은 창 동안 모아 회원별로 합친 뒤 JDBC batch 한 번으로 쓴다.
+ * <p>
+ * 같은 창 안에서 값 지정(set)은 나중 것이 이기고, 증감(add)은 더해진다. set 뒤의 add 는 그 값에 더한다.
+ * 창 하나는 트랜잭션 하나로 member 와 member_search 를 함께 고치고, 창은 들어온 순서대로 하나씩 쓴다.
+ * JDBC 로 직접 쓰므로 이미 열려 있는 영속성 컨텍스트의 Member 는 갱신되지 않는다.
+ * <p>
+ * WAIT_FOR_COMMIT 이면 창이 커밋될 때까지 commitTimeout 만큼만 기다린다. 호출하는 쪽 트랜잭션이 그 회원 행을 잠그고 있으면
+ * 창의 update 가 그 잠금을 기다리고 호출은 창을 기다려 서로 막히므로, 트랜잭션 안에서 부르면 버퍼에 넣지 않고 거절한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(MemberUpdateProperties.class)
+public class MemberUpdateBuffer {
+
+	// 나이를 고친 회원은 활동한 것으로 보고 보관 대상에서 뺀다 (MemberArchiveJob)
+	static final String UPDATE_MEMBER = "update member set age = coalesce(?, age) + ?, last_active_at = localtimestamp where member_id = ?";
+	static final String UPDATE_MEMBER_SEARCH = "update member_search set age = coalesce(?, age) + ? where member_id = ?";
+
+	private final MemberUpdateProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService flusher;
+
+	/**
+	 * 쓰는 쪽은 read lock 을 나눠 잡고 지금 창에 넣고, 창을 바꿀 때만 write lock 을 잡는다
+	 */
+	private final ReadWriteLock windowLock = new ReentrantReadWriteLock();
+	private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+	private Window current = new Window();
+
+	private final Counter requests;
+	private final Counter rows;
+	private final Counter failures;
+	private final Timer flushTimer;
+
+	public MemberUpdateBuffer(MemberUpdateProperties properties, JdbcTemplate jdbcTemplate,
+							  PlatformTransactionManager transactionManager, MeterRegistry registry) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.requests = Counter.builder("member.update.buffer.requests")
+				.description("버퍼에 들어온 수정 요청 수").register(registry);
+		this.rows = Counter.builder("member.update.buffer.rows")
+				.description("합친 뒤 실제로 쓴 회원 수. requests - rows 가 합쳐진 요청 수다").register(registry);
+		this.failures = Counter.builder("member.update.buffer.failures")
+				.description("쓰다가 실패한 창의 회원 수").register(registry);
+		this.flushTimer = Timer.builder("member.update.buffer.flush")
+				.description("창 하나를 쓰는 데 걸린 시간").register(registry);
+
+		long window = properties.getWindow().toNanos();
+		this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "member-update-flusher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flusher.scheduleWithFixedDelay(this::flushQuietly, window, window, TimeUnit.NANOSECONDS);
+	}
+
+	public CompletableFuture<Void> setAge(long memberId, int age) {
+		return submit(memberId, PendingUpdate.set(age));
+	}
+
+	public CompletableFuture<Void> addAge(long memberId, int delta) {
+		return submit(memberId, PendingUpdate.add(delta));
+	}
+
+	private CompletableFuture<Void> submit(long memberId, PendingUpdate update) {
+		boolean waitForCommit = properties.getDurability() == MemberUpdateProperties.Durability.WAIT_FOR_COMMIT;
+		if (waitForCommit && TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new InvalidDataAccessApiUsageException("WAIT_FOR_COMMIT 수정은 트랜잭션 밖에서 불러야 합니다. 트랜잭션이 잡은 잠금을 창이 기다립니다.");
+		}
+		Window window;
+		windowLock.readLock().lock();
+		try {
+			window = current;
+			window.updates.merge(memberId, update, PendingUpdate::then);
+		} finally {
+			windowLock.readLock().unlock();
+		}
+		requests.increment();
+
+		if (window.updates.size() >= properties.getMaxPending() && earlyFlushScheduled.compareAndSet(false, true)) {
+			flusher.execute(this::flushQuietly);
+		}
+		if (waitForCommit) {
+			awaitCommit(window.committed);
+		}
+		return window.committed;
+	}
+
+	private void awaitCommit(CompletableFuture<Void> committed) {
+		try {
+			committed.get(properties.getCommitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new QueryTimeoutException("회원 수정 창이 커밋되기를 기다리다 시간이 초과되었습니다.", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new QueryTimeoutException("회원 수정 창이 커밋되기를 기다리다 중단되었습니다.", e);
+		}
+	}
+
+	/**
+	 * 지금 창을 닫고 바로 쓴다. 창은 한 번에 하나씩 쓰므로 앞 창이 커밋된 뒤에 다음 창을 쓴다.
+	 */
+	public synchronized void flush() {
+		Window window;
+		windowLock.writeLock().lock();
+		try {
+			window = current;
+			current = new Window();
+		} finally {
+			windowLock.writeLock().unlock();
+		}
+		earlyFlushScheduled.set(false);
+		if (window.updates.isEmpty()) {
+			window.committed.complete(null);
+			return;
+		}
+
+		List<Object[]> args = new ArrayList<>(window.updates.size());
+		window.updates.entrySet().stream()
+				// 같은 순서로 잠가 창 사이 교착을 피한다
+				.sorted(Map.Entry.comparingByKey())
+				.forEach(entry -> args.add(new Object[]{entry.getValue().absolute(), entry.getValue().delta(), entry.getKey()}));
+		int[] types = {Types.INTEGER, Types.INTEGER, Types.BIGINT};
+		try {
+			flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.batchUpdate(UPDATE_MEMBER, args, types);
+				jdbcTemplate.batchUpdate(UPDATE_MEMBER_SEARCH, args, types);
+			}));
+			rows.increment(args.size());
+			window.committed.complete(null);
+		} catch (RuntimeException e) {
+			failures.increment(args.size());
+			window.committed.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.warn("member update flush failed", e);
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		flusher.shutdown();
+		flushQuietly();
+	}
+
+	private static final class Window {
+		final Map<Long, PendingUpdate> updates = new ConcurrentHashMap<>();
+		final CompletableFuture<Void> committed = new CompletableFuture<>();
+	}
+
+	/**
+	 * 새 나이 = (absolute 가 있으면 absolute, 없으면 지금 나이) + delta
+	 */
+	record PendingUpdate(Integer absolute, int delta) {
+
+		static PendingUpdate set(int age) {
+			return new PendingUpdate(age, 0);
+		}
+
+		static PendingUpdate add(int delta) {
+			return new PendingUpdate(null, delta);
+		}
+
+		PendingUpdate then(PendingUpdate next) {
+			return next.absolute != null ? next : new PendingUpdate(absolute, delta + next.delta);
+		}
+	}
+}
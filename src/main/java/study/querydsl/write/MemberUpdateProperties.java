@@ -0,0 +1,44 @@
+package study.querydsl.write;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 회원 수정 묶어 쓰기 설정 (querydsl.write.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("querydsl.write")
+public class MemberUpdateProperties {
+
+	/**
+	 * 이 시간 동안 들어온 수정을 회원별로 합쳐 한 번에 쓴다
+	 */
+	private Duration window = Duration.ofMillis(20);
+
+	/**
+	 * 한 창에 쌓인 회원 수가 이만큼 되면 창이 끝나기 전에 쓴다
+	 */
+	private int maxPending = 10_000;
+
+	private Durability durability = Durability.WAIT_FOR_COMMIT;
+
+	/**
+	 * WAIT_FOR_COMMIT 에서 창이 커밋되기를 기다리는 최대 시간. 넘으면 QueryTimeoutException 을 던진다 (수정은 버퍼에 남는다)
+	 */
+	private Duration commitTimeout = Duration.ofSeconds(5);
+
+	public enum Durability {
+		/**
+		 * 호출은 그 수정이 들어간 창이 커밋될 때까지 기다린다 (group commit).
+		 * 호출하는 쪽 트랜잭션이 같은 행을 잠그고 있으면 창이 커밋될 수 없으므로 트랜잭션 안에서는 부를 수 없다.
+		 */
+		WAIT_FOR_COMMIT,
+		/**
+		 * 버퍼에 넣고 바로 돌아간다. 쓰기 전에 프로세스가 죽으면 그 창의 수정은 사라진다.
+		 */
+		ASYNC
+	}
+}
@@ -0,0 +1,111 @@
+package study.querydsl.archive;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberArchive;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepositoryCustom;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "querydsl.archive.batch-size=1")
+@Transactional
+class MemberArchiveJobTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired MemberArchiveJob memberArchiveJob;
+	@Autowired MemberRepositoryCustom memberSearch;
+
+	LocalDateTime now = LocalDateTime.now();
+
+	@BeforeEach
+	public void before() {
+		Team team = new Team("archiveTeam");
+		em.persist(team);
+		persist("hot1", 10, team, now.minusDays(1));
+		persist("cold1", 20, team, now.minusDays(400));
+		persist("hot2", 30, team, now.minusDays(10));
+		persist("cold2", 40, team, now.minusDays(300));
+		em.flush();
+		em.clear();
+	}
+
+	private void persist(String username, int age, Team team, LocalDateTime lastActiveAt) {
+		Member member = new Member(username, age, team);
+		member.setLastActiveAt(lastActiveAt);
+		em.persist(member);
+	}
+
+	@Test
+	public void archiveMovesColdMembers() {
+		// 한 번에 1명씩 옮겨도 오래된 순서로 모두 옮긴다
+		MemberArchiveJob.ArchiveResult result = memberArchiveJob.archive(now.minusDays(180));
+
+		assertThat(result.archived()).isEqualTo(2);
+		assertThat(result.batches()).isEqualTo(2);
+		List<MemberArchive> archived = em.createQuery("select a from MemberArchive a order by a.age", MemberArchive.class)
+				.getResultList();
+		assertThat(archived).extracting("username").containsExactly("cold1", "cold2");
+		assertThat(archived).allMatch(a -> a.getArchivedAt() != null && a.getTeamId() != null);
+		assertThat(em.createQuery("select m.username from Member m where m.team.name = 'archiveTeam' order by m.age", String.class)
+				.getResultList()).containsExactly("hot1", "hot2");
+
+		// 다시 돌려도 옮길 회원이 없다
+		assertThat(memberArchiveJob.archive(now.minusDays(180)).archived()).isZero();
+	}
+
+	@Test
+	public void defaultSearchReadsHotTierOnly() {
+		memberArchiveJob.archive(now.minusDays(180));
+
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("archiveTeam");
+
+		assertThat(memberSearch.search(condition)).extracting("username").containsExactlyInAnyOrder("hot1", "hot2");
+
+		condition.setIncludeArchived(true);
+		assertThat(memberSearch.search(condition)).extracting("username")
+				.containsExactlyInAnyOrder("hot1", "cold1", "hot2", "cold2");
+		assertThat(memberSearch.search(condition)).filteredOn(m -> m.getUsername().startsWith("cold"))
+				.extracting(MemberTeamDto::getTeamName).containsOnly("archiveTeam");
+	}
+
+	@Test
+	public void includeArchivedPagesAcrossTiers() {
+		memberArchiveJob.archive(now.minusDays(180));
+
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("archiveTeam");
+		condition.setIncludeArchived(true);
+
+		Page<MemberTeamDto> first = memberSearch.searchPageComplex(condition, PageRequest.of(0, 2, Sort.by("age")));
+		Page<MemberTeamDto> second = memberSearch.searchPageSimple(condition, PageRequest.of(1, 2, Sort.by("age")));
+
+		assertThat(first.getContent()).extracting("username").containsExactly("hot1", "cold1");
+		assertThat(second.getContent()).extracting("username").containsExactly("hot2", "cold2");
+		assertThat(first.getTotalElements()).isEqualTo(4);
+		assertThat(second.getTotalElements()).isEqualTo(4);
+
+		// 보관된 회원의 조건도 같이 적용된다
+		condition.setAgeGoe(25);
+		Page<MemberTeamDto> filtered = memberSearch.searchPageComplex(condition, PageRequest.of(0, 10, Sort.by("age")));
+		assertThat(filtered.getContent()).extracting("username").containsExactly("hot2", "cold2");
+		assertThat(filtered.getTotalElements()).isEqualTo(2);
+	}
+}
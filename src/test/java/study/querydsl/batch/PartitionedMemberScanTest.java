@@ -0,0 +1,121 @@
+package study.querydsl.batch;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 파티션 워커는 자기 EntityManager 로 읽으므로 테스트 트랜잭션 없이 커밋된 데이터로 검증한다.
+ */
+@SpringBootTest
+class PartitionedMemberScanTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired PartitionedMemberScan scan;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	public void before() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team teamA = new Team("teamA");
+			Team teamB = new Team("teamB");
+			em.persist(teamA);
+			em.persist(teamB);
+			for (int i = 0; i < 1000; i++) {
+				em.persist(new Member("member" + i, i % 100, i % 2 == 0 ? teamA : teamB));
+			}
+		});
+	}
+
+	@AfterEach
+	public void after() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void scanVisitsEveryMemberOnce() {
+		Map<Long, Integer> visits = new ConcurrentHashMap<>();
+		Set<Integer> chunkSizes = ConcurrentHashMap.newKeySet();
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+
+		PartitionedMemberScan.ScanResult result = scan.scan(4, 16, 50, (partition, chunk) -> {
+			chunkSizes.add(chunk.size());
+			threads.add(Thread.currentThread().getName());
+			for (Member m : chunk) {
+				visits.merge(m.getId(), 1, Integer::sum);
+			}
+		});
+
+		assertThat(result.rows()).isEqualTo(1000);
+		assertThat(visits).hasSize(1000);
+		assertThat(visits.values()).containsOnly(1);
+		assertThat(chunkSizes).allMatch(size -> size <= 50);
+		assertThat(result.partitions()).hasSize(16);
+		assertThat(result.partitions().stream().mapToLong(PartitionedMemberScan.PartitionStats::rows).sum()).isEqualTo(1000);
+		assertThat(threads).hasSizeLessThanOrEqualTo(4);
+	}
+
+	@Test
+	public void lazyLoadingInsideCallback() {
+		AtomicInteger teamNames = new AtomicInteger();
+
+		scan.scan(2, 2, 100, (partition, chunk) -> chunk.forEach(m -> {
+			if (m.getTeam().getName().startsWith("team")) {
+				teamNames.incrementAndGet();
+			}
+		}));
+
+		assertThat(teamNames.get()).isEqualTo(1000);
+	}
+
+	@Test
+	public void failingChunkStopsScan() {
+		assertThatThrownBy(() -> scan.scan(2, 4, 10, (partition, chunk) -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("boom");
+	}
+
+	@Test
+	public void emptyTable() {
+		after();
+
+		PartitionedMemberScan.ScanResult result = scan.scan(2, 4, 10, (partition, chunk) -> {
+			throw new IllegalStateException("호출되면 안 된다");
+		});
+
+		assertThat(result.rows()).isZero();
+		assertThat(result.partitions()).isEmpty();
+	}
+
+	@Test
+	public void splitCoversRange() {
+		List<PartitionedMemberScan.IdRange> ranges = PartitionedMemberScan.IdRange.split(1, 11, 3);
+
+		assertThat(ranges).extracting(PartitionedMemberScan.IdRange::from).containsExactly(1L, 4L, 7L);
+		assertThat(ranges).extracting(PartitionedMemberScan.IdRange::to).containsExactly(4L, 7L, 11L);
+		assertThat(PartitionedMemberScan.IdRange.split(5, 7, 8)).hasSize(2);
+	}
+}
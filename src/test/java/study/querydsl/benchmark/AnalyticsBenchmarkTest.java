@@ -0,0 +1,59 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+import study.querydsl.repository.AgeStatsSubqueries;
+import study.querydsl.repository.MemberAnalyticsRepository;
+
+/**
+ * 팀별 top-K / 나이 순위 + 평균 편차를 윈도우 함수 한 번과 회원별 상관 서브쿼리로 구해 비교한다.
+ * 서브쿼리는 팀 크기만큼 member 를 다시 읽으므로 회원 수를 작게 잡는다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AnalyticsBenchmarkTest {
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired MemberAnalyticsRepository memberAnalyticsRepository;
+	@Autowired JPAQueryFactory queryFactory;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(20_000);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void oldestPerTeam() {
+		Benchmarks.measure("window oldestPerTeam k=3", 3, 10,
+				() -> transactionTemplate.execute(status -> memberAnalyticsRepository.oldestPerTeam(3, null)));
+		Benchmarks.measure("subquery oldestPerTeam k=3", 1, 3,
+				() -> transactionTemplate.execute(status -> AgeStatsSubqueries.oldestPerTeam(queryFactory, 3)));
+	}
+
+	@Test
+	public void ageStats() {
+		Benchmarks.measure("window ageRank all", 3, 10,
+				() -> transactionTemplate.execute(status -> memberAnalyticsRepository.ageRank(null, Long.MAX_VALUE)));
+		Benchmarks.measure("subquery ageRank + avg all", 1, 3,
+				() -> transactionTemplate.execute(status -> AgeStatsSubqueries.ageStats(queryFactory)));
+	}
+}
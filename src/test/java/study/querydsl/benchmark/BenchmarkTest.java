@@ -0,0 +1,24 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 벤치마크용 테스트. 기본 test 태스크에서는 빠지고 ./gradlew benchmark 로만 돈다.
+ * 별도 in-memory H2 를 쓰고 SQL 로그는 끈다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+		"decorator.datasource.p6spy.enable-logging=false",
+		"logging.level.org.hibernate.SQL=warn"
+})
+public @interface BenchmarkTest {
+}
@@ -0,0 +1,66 @@
+package study.querydsl.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * 벤치마크 측정 도우미. 현재 스레드의 경과 시간, CPU 시간, 할당 바이트를 잰다.
+ */
+public final class Benchmarks {
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private Benchmarks() {
+	}
+
+	public static Result measure(String name, int warmups, int iterations, Supplier<?> body) {
+		for (int i = 0; i < warmups; i++) {
+			body.get();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long wall = 0;
+		long cpu = 0;
+		long allocated = 0;
+		for (int i = 0; i < iterations; i++) {
+			long wallStart = System.nanoTime();
+			long cpuStart = THREADS.getCurrentThreadCpuTime();
+			long allocatedStart = THREADS.getThreadAllocatedBytes(threadId);
+
+			body.get();
+
+			allocated += THREADS.getThreadAllocatedBytes(threadId) - allocatedStart;
+			cpu += THREADS.getCurrentThreadCpuTime() - cpuStart;
+			wall += System.nanoTime() - wallStart;
+		}
+
+		Result result = new Result(name, wall / iterations, cpu / iterations, allocated / iterations);
+		System.out.println(result);
+		return result;
+	}
+
+	/**
+	 * GC 를 몇 번 돌린 뒤의 힙 사용량. 두 시점의 차이로 살아 있는 객체 크기를 어림한다.
+	 */
+	public static long usedHeapAfterGc() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public record Result(String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+
+		public double wallMillis() {
+			return wallNanos / 1e6;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("[benchmark] %-40s wall=%9.2f ms  cpu=%9.2f ms  alloc=%9.2f MB",
+					name, wallNanos / 1e6, cpuNanos / 1e6, allocatedBytes / (1024.0 * 1024.0));
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 10만 명을 managed 로 들고 있는 트랜잭션에서 flush 시간과 남는 힙을 잰다.
+ * <p>
+ * 바이트코드 보강은 빌드 시점에 정해지므로 두 번 돌려 비교한다.
+ * ./gradlew benchmark -PhibernateEnhancement=false 로 한 번(스냅샷 비교), ./gradlew benchmark 로 한 번(보강).
+ * 결과는 build/benchmark/enhancement-*.properties 에 남고, 반대쪽 결과가 있으면 같이 출력한다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EnhancementBenchmarkTest {
+
+	static final int MEMBERS = 100_000;
+	static final Path RESULTS = Path.of("build", "benchmark");
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired JPAQueryFactory queryFactory;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(MEMBERS);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void flushManagedMembers() {
+		boolean enhanced = SelfDirtinessTracker.class.isAssignableFrom(Member.class);
+		String mode = enhanced ? "enhanced" : "snapshot";
+
+		Properties result = new Properties();
+		transactionTemplate.executeWithoutResult(status -> {
+			em.clear();
+			long heapBefore = Benchmarks.usedHeapAfterGc();
+			List<Member> members = queryFactory.selectFrom(member).fetch();
+			long retained = Benchmarks.usedHeapAfterGc() - heapBefore;
+			assertThat(members).hasSize(MEMBERS);
+
+			// 바뀐 게 없는 flush: 스냅샷 비교면 10만 건을 모두 비교한다
+			Benchmarks.Result clean = Benchmarks.measure(mode + " flush, 0 dirty", 2, 5, () -> {
+				em.flush();
+				return null;
+			});
+			// 1% 씩 나이를 바꾸고 flush
+			int[] round = {0};
+			Benchmarks.Result dirty = Benchmarks.measure(mode + " flush, 1% dirty", 2, 5, () -> {
+				for (int i = round[0]++ % 100; i < members.size(); i += 100) {
+					Member m = members.get(i);
+					m.setAge(m.getAge() + 1);
+				}
+				em.flush();
+				return null;
+			});
+
+			result.setProperty("cleanFlushMillis", String.valueOf(clean.wallMillis()));
+			result.setProperty("dirtyFlushMillis", String.valueOf(dirty.wallMillis()));
+			result.setProperty("cleanFlushAllocatedBytes", String.valueOf(clean.allocatedBytes()));
+			result.setProperty("retainedBytes", String.valueOf(retained));
+			status.setRollbackOnly();
+		});
+
+		print(mode, result);
+		save(mode, result);
+		Properties other = load(enhanced ? "snapshot" : "enhanced");
+		if (other != null) {
+			print(enhanced ? "snapshot" : "enhanced", other);
+		}
+	}
+
+	private static void print(String mode, Properties result) {
+		System.out.printf("[benchmark] %-8s %d managed: clean flush %.2f ms (alloc %.1f MB), 1%% dirty flush %.2f ms, retained heap %.1f MB%n",
+				mode, MEMBERS,
+				Double.parseDouble(result.getProperty("cleanFlushMillis")),
+				Long.parseLong(result.getProperty("cleanFlushAllocatedBytes")) / (1024.0 * 1024.0),
+				Double.parseDouble(result.getProperty("dirtyFlushMillis")),
+				Long.parseLong(result.getProperty("retainedBytes")) / (1024.0 * 1024.0));
+	}
+
+	private static void save(String mode, Properties result) {
+		try {
+			Files.createDirectories(RESULTS);
+			try (Writer writer = Files.newBufferedWriter(RESULTS.resolve("enhancement-" + mode + ".properties"))) {
+				result.store(writer, null);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Properties load(String mode) {
+		Path file = RESULTS.resolve("enhancement-" + mode + ".properties");
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (Reader reader = Files.newBufferedReader(file)) {
+			Properties result = new Properties();
+			result.load(reader);
+			return result;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
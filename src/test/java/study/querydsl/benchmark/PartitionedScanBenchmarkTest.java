@@ -0,0 +1,51 @@
+package study.querydsl.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.batch.PartitionedMemberScan;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 회원 스캔을 스레드 수를 바꿔 가며 돌려 처리량이 코어 수에 따라 늘어나는지 본다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartitionedScanBenchmarkTest {
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired PartitionedMemberScan scan;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(200_000);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void scanByParallelism() {
+		int cores = Runtime.getRuntime().availableProcessors();
+		LongAdder ages = new LongAdder();
+		for (int parallelism : new int[]{1, 2, 4, cores}) {
+			Benchmarks.Result result = Benchmarks.measure("partitioned scan parallelism=" + parallelism, 1, 3,
+					() -> scan.scan(parallelism, parallelism * 4, 1_000,
+							(partition, chunk) -> chunk.forEach(m -> ages.add(m.getAge()))));
+			System.out.printf("[benchmark] parallelism=%d rows/s=%.0f%n", parallelism, 200_000 / (result.wallMillis() / 1000.0));
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 10만 건을 managed 로 읽을 때와 read-only 로 읽을 때의 CPU, 할당량, 남는 힙을 비교한다.
+ * flush 까지 포함해서 dirty checking 비용이 같이 잡히게 한다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadOnlyQueryBenchmarkTest {
+
+	static final int MEMBERS = 100_000;
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired JPAQueryFactory queryFactory;
+	@Autowired MemberJpaRepository memberJpaRepository;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(MEMBERS);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void findAll() {
+		Supplier<List<Member>> managed = () -> queryFactory.selectFrom(member).fetch();
+		Supplier<List<Member>> readOnly = () -> memberJpaRepository.findAll_Querydsl();
+
+		Benchmarks.Result before = Benchmarks.measure("managed selectFrom(member) + flush", 2, 5, () -> loadAndFlush(managed));
+		Benchmarks.Result after = Benchmarks.measure("read-only findAll_Querydsl + flush", 2, 5, () -> loadAndFlush(readOnly));
+
+		long retainedManaged = retainedBytes(managed);
+		long retainedReadOnly = retainedBytes(readOnly);
+
+		System.out.printf("[benchmark] read-only: cpu %.1f%% 감소, 할당 %.1f%% 감소, 남는 힙 %.1f MB -> %.1f MB%n",
+				percentSaved(before.cpuNanos(), after.cpuNanos()),
+				percentSaved(before.allocatedBytes(), after.allocatedBytes()),
+				retainedManaged / (1024.0 * 1024.0), retainedReadOnly / (1024.0 * 1024.0));
+
+		assertThat(after.allocatedBytes()).isLessThan(before.allocatedBytes());
+	}
+
+	private int loadAndFlush(Supplier<List<Member>> loader) {
+		return transactionTemplate.execute(status -> {
+			List<Member> members = loader.get();
+			em.flush();
+			em.clear();
+			return members.size();
+		});
+	}
+
+	/**
+	 * 영속성 컨텍스트가 살아있는 상태에서 GC 후 힙 사용량 증가분
+	 */
+	private long retainedBytes(Supplier<List<Member>> loader) {
+		return transactionTemplate.execute(status -> {
+			em.clear();
+			long before = Benchmarks.usedHeapAfterGc();
+			List<Member> members = loader.get();
+			long after = Benchmarks.usedHeapAfterGc();
+			assertThat(members).hasSize(MEMBERS);
+			em.clear();
+			return after - before;
+		});
+	}
+
+	private static double percentSaved(long before, long after) {
+		return before == 0 ? 0 : (before - after) * 100.0 / before;
+	}
+}
@@ -0,0 +1,65 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSqlRepository;
+import study.querydsl.timeout.QueryTimeouts;
+
+/**
+ * 같은 검색을 Querydsl JPA 구현과 querydsl-sql 구현으로 번갈아 돌려 지연 시간을 비교한다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlSearchBenchmarkTest {
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired MemberRepository memberRepository;
+	@Autowired SQLQueryFactory sqlQueryFactory;
+	@Autowired QueryTimeouts queryTimeouts;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(100_000);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void searchPage() {
+		MemberRepositoryCustom sql = new MemberSqlRepository(sqlQueryFactory, queryTimeouts);
+
+		MemberSearchCondition teamCondition = new MemberSearchCondition();
+		teamCondition.setTeamName("team3");
+		MemberSearchCondition ageCondition = new MemberSearchCondition();
+		ageCondition.setAgeGoe(30);
+		ageCondition.setAgeLoe(40);
+
+		for (MemberSearchCondition condition : new MemberSearchCondition[]{teamCondition, ageCondition}) {
+			PageRequest pageRequest = PageRequest.of(2, 20);
+			Benchmarks.measure("jpa searchPageSimple " + condition, 20, 100,
+					() -> transactionTemplate.execute(status -> memberRepository.searchPageSimple(condition, pageRequest)));
+			Benchmarks.measure("sql searchPageSimple " + condition, 20, 100,
+					() -> transactionTemplate.execute(status -> sql.searchPageSimple(condition, pageRequest)));
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.config.MemberSearchProperties;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.generator.GeneratorProperties;
+import study.querydsl.generator.SyntheticDataGenerator;
+import study.querydsl.jfr.QueryEvents;
+import study.querydsl.repository.MemberRepositoryImpl;
+import study.querydsl.repository.plan.MemberSearchPlanner;
+import study.querydsl.repository.plan.TeamIdCache;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 페이지 조회의 전체 수를 count 쿼리로 따로 구할 때와 count(*) over() 로 내용 조회에서 같이 읽을 때를
+ * 조건의 선택도(걸러지는 비율)를 바꿔 가며 비교한다.
+ */
+@BenchmarkTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WindowCountBenchmarkTest {
+
+	static final int MEMBERS = 100_000;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired JPAQueryFactory queryFactory;
+	@Autowired QueryTimeouts queryTimeouts;
+	@Autowired QueryEvents queryEvents;
+	@Autowired MemberSearchPlanner planner;
+	@Autowired TeamIdCache teamIdCache;
+
+	@BeforeAll
+	void setUp() {
+		GeneratorProperties data = new GeneratorProperties();
+		data.setMembers(MEMBERS);
+		data.setTeams(100);
+		new SyntheticDataGenerator(jdbcTemplate).generate(data);
+		// JDBC 로 넣은 팀은 캐시가 모르므로 비운다
+		teamIdCache.evictAll();
+	}
+
+	@AfterAll
+	void tearDown() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void searchPage() {
+		MemberRepositoryImpl twoQueries = repository(MemberSearchProperties.CountMode.QUERY);
+		MemberRepositoryImpl window = repository(MemberSearchProperties.CountMode.WINDOW);
+		PageRequest pageRequest = PageRequest.of(2, 20);
+
+		for (Map.Entry<String, MemberSearchCondition> entry : conditions().entrySet()) {
+			MemberSearchCondition condition = entry.getValue();
+			Page<MemberTeamDto> expected = transactionTemplate.execute(status -> twoQueries.searchPageComplex(condition, pageRequest));
+			Page<MemberTeamDto> actual = transactionTemplate.execute(status -> window.searchPageComplex(condition, pageRequest));
+			assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+			assertThat(actual.getContent()).isEqualTo(expected.getContent());
+
+			double selectivity = expected.getTotalElements() * 100.0 / MEMBERS;
+			Benchmarks.Result before = Benchmarks.measure("content + count " + entry.getKey(), 20, 100,
+					() -> transactionTemplate.execute(status -> twoQueries.searchPageComplex(condition, pageRequest)));
+			Benchmarks.Result after = Benchmarks.measure("count(*) over() " + entry.getKey(), 20, 100,
+					() -> transactionTemplate.execute(status -> window.searchPageComplex(condition, pageRequest)));
+			System.out.printf("[benchmark] %s (%.2f%% 선택, total %d): %.2f ms -> %.2f ms%n",
+					entry.getKey(), selectivity, expected.getTotalElements(), before.wallMillis(), after.wallMillis());
+		}
+	}
+
+	private MemberRepositoryImpl repository(MemberSearchProperties.CountMode countMode) {
+		MemberSearchProperties properties = new MemberSearchProperties();
+		properties.setCountMode(countMode);
+		return new MemberRepositoryImpl(queryFactory, queryTimeouts, queryEvents, planner, properties);
+	}
+
+	private static Map<String, MemberSearchCondition> conditions() {
+		Map<String, MemberSearchCondition> conditions = new LinkedHashMap<>();
+
+		MemberSearchCondition narrow = new MemberSearchCondition();
+		narrow.setTeamName("team50");
+		narrow.setAgeGoe(30);
+		narrow.setAgeLoe(35);
+		conditions.put("team50 age 30~35", narrow);
+
+		MemberSearchCondition team = new MemberSearchCondition();
+		team.setTeamName("team3");
+		conditions.put("team3", team);
+
+		MemberSearchCondition age = new MemberSearchCondition();
+		age.setAgeGoe(30);
+		age.setAgeLoe(40);
+		conditions.put("age 30~40", age);
+
+		conditions.put("(none)", new MemberSearchCondition());
+		return conditions;
+	}
+}
@@ -0,0 +1,174 @@
+package study.querydsl.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.archive.MemberArchiveJob;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.shard.ShardCluster;
+import study.querydsl.shard.ShardedMemberWriter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 컨트롤러처럼 트랜잭션 밖에서 주입된 memberSearch 를 부른다. 검색 구현마다 컨텍스트를 따로 띄운다.
+ * <p>
+ * 테스트 트랜잭션이 있으면 구현의 트랜잭션 경계가 빠져도 드러나지 않으므로 데이터는 커밋하고 끝나면 지운다.
+ */
+abstract class MemberSearchBackendTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired MemberRepositoryCustom memberSearch;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("backendTeamA");
+		Team teamB = new Team("backendTeamB");
+		List<Member> members = List.of(
+				new Member("member1", 10, teamA),
+				new Member("member2", 20, teamA),
+				new Member("member3", 30, teamB),
+				new Member("member4", 40, teamB));
+		transactionTemplate.executeWithoutResult(status -> {
+			em.persist(teamA);
+			em.persist(teamB);
+			members.forEach(em::persist);
+		});
+		afterInsert(List.of(teamA, teamB), members);
+	}
+
+	/**
+	 * 기본 DB 에 커밋한 뒤 불린다. 검색 구현이 다른 저장소를 읽으면 여기서 같은 데이터를 넣는다.
+	 */
+	protected void afterInsert(List<Team> teams, List<Member> members) {
+	}
+
+	@AfterEach
+	public void after() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member_archive");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void searchWithoutTransaction() {
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("backendTeamB");
+		condition.setAgeGoe(35);
+
+		assertThat(memberSearch.search(condition)).extracting("username").containsExactly("member4");
+	}
+
+	@Test
+	public void searchPageWithoutTransaction() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("backendTeamA");
+		PageRequest pageRequest = PageRequest.of(0, 1, Sort.by("age"));
+
+		Page<MemberTeamDto> simple = memberSearch.searchPageSimple(condition, pageRequest);
+		Page<MemberTeamDto> complex = memberSearch.searchPageComplex(condition, pageRequest);
+
+		assertThat(simple.getContent()).extracting("username").containsExactly("member1");
+		assertThat(simple.getTotalElements()).isEqualTo(2);
+		assertThat(complex.getContent()).extracting("username").containsExactly("member1");
+		assertThat(complex.getTotalElements()).isEqualTo(2);
+	}
+
+	@Test
+	public void includeArchivedWithoutTransaction() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("backendTeamA");
+		condition.setIncludeArchived(true);
+
+		assertThat(memberSearch.searchPageComplex(condition, PageRequest.of(0, 10, Sort.by("age"))).getContent())
+				.extracting("username").containsExactly("member1", "member2");
+	}
+
+	@SpringBootTest(properties = "querydsl.search.backend=jpa")
+	static class JpaBackendTest extends MemberSearchBackendTest {
+	}
+
+	@SpringBootTest(properties = "querydsl.search.backend=sql")
+	static class SqlBackendTest extends MemberSearchBackendTest {
+	}
+
+	@SpringBootTest(properties = "querydsl.search.backend=denormalized")
+	static class DenormalizedBackendTest extends MemberSearchBackendTest {
+	}
+
+	@SpringBootTest(properties = {
+			"querydsl.search.backend=sharded",
+			"querydsl.shard.shards[0].url=jdbc:h2:mem:search-backend-0;DB_CLOSE_DELAY=-1",
+			"querydsl.shard.shards[1].url=jdbc:h2:mem:search-backend-1;DB_CLOSE_DELAY=-1"
+	})
+	static class ShardedBackendTest extends MemberSearchBackendTest {
+
+		@Autowired ShardCluster shardCluster;
+		@Autowired ShardedMemberWriter shardedMemberWriter;
+		@Autowired MemberArchiveJob memberArchiveJob;
+
+		@Override
+		protected void afterInsert(List<Team> teams, List<Member> members) {
+			shardedMemberWriter.insertTeams(teams.stream()
+					.map(t -> new ShardedMemberWriter.TeamRow(t.getId(), t.getName()))
+					.toList());
+			shardedMemberWriter.insertMembers(members.stream()
+					.map(m -> new ShardedMemberWriter.MemberRow(m.getId(), m.getUsername(), m.getAge(), m.getTeam().getId()))
+					.toList());
+		}
+
+		@Test
+		public void archivedMemberIsNotDuplicated() {
+			// 샤드는 스냅샷이라 기본 DB 에서 보관된 회원도 남아 있다. member_archive 를 합치면 두 번 나온다
+			LocalDateTime now = LocalDateTime.now();
+			jdbcTemplate.update("update member set last_active_at = ? where username = 'member1'",
+					Timestamp.valueOf(now.minusDays(400)));
+			assertThat(memberArchiveJob.archive(now.minusDays(180)).archived()).isEqualTo(1);
+
+			MemberSearchCondition condition = new MemberSearchCondition();
+			condition.setTeamName("backendTeamA");
+			condition.setIncludeArchived(true);
+
+			assertThat(memberSearch.search(condition)).extracting("username").containsExactly("member1", "member2");
+			Page<MemberTeamDto> page = memberSearch.searchPageSimple(condition, PageRequest.of(0, 10, Sort.by("age")));
+			assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2");
+			assertThat(page.getTotalElements()).isEqualTo(2);
+		}
+
+		@AfterEach
+		@Override
+		public void after() {
+			super.after();
+			shardCluster.scatter(shardCluster.allShards(), queryFactory -> queryFactory.delete(member).execute());
+			shardCluster.scatter(shardCluster.allShards(), queryFactory -> queryFactory.delete(team).execute());
+		}
+	}
+}
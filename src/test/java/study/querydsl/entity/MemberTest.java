@@ -47,4 +47,17 @@ class MemberTest {
 			System.out.println("-> member.getTeam" + member.getTeam());
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void changeTeamAddsMemberOnce() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+
+		Member member1 = new Member("member1", 10, teamA);
+		member1.changeTeam(teamB);
+		member1.changeTeam(teamB);
+
+		// 연관관계 관리 보강이 켜져 있어도 두 번 들어가지 않는다 (teamA 에서 빠지는지는 보강 여부에 따라 다르다)
+		assertEquals(List.of(member1), teamB.getMembers());
+	}
+}
@@ -0,0 +1,69 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarFileTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void writeAndRead() throws Exception {
+		Path file = dir.resolve("members.mcol");
+		MemberColumns columns = new MemberColumns(2);
+		try (ColumnarFileWriter writer = new ColumnarFileWriter(file)) {
+			columns.add(1L, "member1", 10, 1L, "teamA");
+			columns.add(2L, "회원2", 20, null, null);
+			writer.writeBlock(columns);
+			assertThat(writer.rows()).isEqualTo(2);
+		}
+
+		List<MemberTeamDto> result = new ArrayList<>();
+		try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+			reader.scan(null, null, result::add);
+		}
+
+		assertThat(result).extracting("memberId").containsExactly(1L, 2L);
+		assertThat(result).extracting("username").containsExactly("member1", "회원2");
+		assertThat(result).extracting("age").containsExactly(10, 20);
+		assertThat(result).extracting("teamId").containsExactly(1L, null);
+		assertThat(result).extracting("teamName").containsExactly("teamA", null);
+	}
+
+	/**
+	 * 블록마다 나이 범위가 다르면 범위 밖 블록은 읽지 않고 건너뛴다
+	 */
+	@Test
+	public void skipBlocksByAge() throws Exception {
+		Path file = dir.resolve("members.mcol");
+		MemberColumns columns = new MemberColumns(10);
+		try (ColumnarFileWriter writer = new ColumnarFileWriter(file)) {
+			long id = 1;
+			for (int block = 0; block < 3; block++) {
+				columns.clear();
+				for (int i = 0; i < 10; i++) {
+					columns.add(id++, "member" + id, block * 10 + i, 1L, "teamA");
+				}
+				writer.writeBlock(columns);
+			}
+		}
+
+		List<MemberTeamDto> result = new ArrayList<>();
+		ColumnarFileReader.ScanResult scan;
+		try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+			scan = reader.scan(12, 15, result::add);
+		}
+
+		assertThat(scan.blocksRead()).isEqualTo(1);
+		assertThat(scan.blocksSkipped()).isEqualTo(2);
+		assertThat(result).extracting("age").containsExactly(12, 13, 14, 15);
+	}
+}
@@ -0,0 +1,55 @@
+package study.querydsl.export;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberExportJobTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired MemberExportJob memberExportJob;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void export() throws Exception {
+		Team teamA = new Team("teamA");
+		em.persist(teamA);
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30));
+		em.flush();
+		em.clear();
+
+		Path file = dir.resolve("members.mcol");
+		MemberExportJob.ExportResult result = memberExportJob.export(file, 2);
+
+		assertThat(result.rows()).isEqualTo(3);
+		assertThat(result.blocks()).isEqualTo(2);
+
+		List<MemberTeamDto> rows = new ArrayList<>();
+		try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+			reader.scan(null, null, rows::add);
+		}
+		assertThat(rows).extracting("username").containsExactly("member1", "member2", "member3");
+		assertThat(rows).extracting("teamName").containsExactly("teamA", "teamA", null);
+	}
+}
@@ -0,0 +1,52 @@
+package study.querydsl.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipfSamplerTest {
+
+	@Test
+	public void skewed() {
+		ZipfSampler sampler = new ZipfSampler(100, 1.0);
+		SplittableRandom random = new SplittableRandom(42);
+
+		int[] counts = new int[100];
+		for (int i = 0; i < 100_000; i++) {
+			counts[sampler.sample(random)]++;
+		}
+
+		// 1순위 팀이 2순위의 약 2배, 10순위의 약 10배
+		assertThat(counts[0]).isGreaterThan(counts[1]);
+		assertThat((double) counts[0] / counts[1]).isBetween(1.8, 2.2);
+		assertThat((double) counts[0] / counts[9]).isBetween(8.5, 11.5);
+	}
+
+	@Test
+	public void uniform() {
+		ZipfSampler sampler = new ZipfSampler(10, 0.0);
+		SplittableRandom random = new SplittableRandom(42);
+
+		int[] counts = new int[10];
+		for (int i = 0; i < 100_000; i++) {
+			counts[sampler.sample(random)]++;
+		}
+
+		for (int count : counts) {
+			assertThat(count).isBetween(9_000, 11_000);
+		}
+	}
+
+	@Test
+	public void sameSeedSameSequence() {
+		ZipfSampler sampler = new ZipfSampler(1_000, 1.2);
+		SplittableRandom random1 = new SplittableRandom(7);
+		SplittableRandom random2 = new SplittableRandom(7);
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(sampler.sample(random1)).isEqualTo(sampler.sample(random2));
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package study.querydsl.jfr;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepositoryImpl;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 이벤트를 보려면 실제로 커밋해야 하므로 테스트 트랜잭션 없이 검증한다.
+ */
+@SpringBootTest
+class QueryEventsTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired MemberJpaRepository memberJpaRepository;
+	@Autowired MemberRepositoryImpl memberRepositoryImpl;
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	public void before() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team teamA = new Team("teamA");
+			em.persist(teamA);
+			em.persist(new Member("member1", 10, teamA));
+			em.persist(new Member("member2", 20, teamA));
+			em.persist(new Member("member3", 30));
+		});
+	}
+
+	@AfterEach
+	public void after() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void bundledSettingsEnableQueryEvents() throws Exception {
+		Configuration configuration;
+		try (Reader reader = new InputStreamReader(new ClassPathResource("jfr/querydsl.jfc").getInputStream(), StandardCharsets.UTF_8)) {
+			configuration = Configuration.create(reader);
+		}
+
+		assertThat(configuration.getSettings())
+				.containsEntry("study.querydsl.MemberQuery#enabled", "true")
+				.containsEntry("study.querydsl.PersistenceContext#enabled", "true")
+				.containsEntry("jdk.GarbageCollection#enabled", "true")
+				.containsEntry("jdk.JavaMonitorEnter#enabled", "true");
+	}
+
+	@Test
+	public void searchEvents() throws Exception {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("teamA");
+		condition.setAgeGoe(15);
+		// 팀 이름 -> team_id 캐시를 채워 둔다
+		memberRepositoryImpl.searchPageComplex(condition, PageRequest.of(0, 10));
+
+		List<RecordedEvent> events = record(() -> {
+			memberRepositoryImpl.searchPageComplex(condition, PageRequest.of(0, 10));
+			memberJpaRepository.findAll();
+		});
+
+		RecordedEvent page = single(events, "study.querydsl.MemberQuery", "MemberRepositoryImpl.searchPageComplex");
+		assertThat(page.getString("filters")).isEqualTo("teamName,ageGoe");
+		assertThat(page.getLong("rows")).isEqualTo(1);
+		// 내용 + count
+		assertThat(page.getLong("statements")).isEqualTo(2);
+		assertThat(page.getDuration("contentDuration")).isPositive();
+		assertThat(page.getDuration("countDuration")).isPositive();
+		assertThat(page.getBoolean("failed")).isFalse();
+
+		RecordedEvent findAll = single(events, "study.querydsl.MemberQuery", "MemberJpaRepository.findAll");
+		assertThat(findAll.getLong("rows")).isEqualTo(3);
+		assertThat(findAll.getLong("statements")).isEqualTo(1);
+		assertThat(findAll.getDuration("countDuration")).isZero();
+
+		// findAll 은 자기 트랜잭션으로 읽으므로 커밋 직전에 회원 3명이 영속성 컨텍스트에 있다
+		// 바이트코드 보강으로 빌드하면 지연 로딩 team 도 프록시 대신 id 만 채운 엔티티로 들어가 teamA 가 더해진다
+		RecordedEvent commit = single(events, "study.querydsl.PersistenceContext", "MemberJpaRepository.findAll");
+		boolean enhanced = PersistentAttributeInterceptable.class.isAssignableFrom(Member.class);
+		assertThat(commit.getInt("entities")).isEqualTo(enhanced ? 4 : 3);
+		assertThat(commit.getBoolean("readOnly")).isTrue();
+	}
+
+	@Test
+	public void noEventsWhenDisabled() throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.start();
+			memberJpaRepository.findAll();
+			recording.stop();
+			Path file = dir.resolve("disabled.jfr");
+			recording.dump(file);
+			assertThat(RecordingFile.readAllEvents(file))
+					.noneMatch(e -> e.getEventType().getName().startsWith("study.querydsl."));
+		}
+	}
+
+	private List<RecordedEvent> record(Runnable work) throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.enable("study.querydsl.MemberQuery").withThreshold(Duration.ZERO);
+			recording.enable("study.querydsl.PersistenceContext");
+			recording.start();
+			work.run();
+			recording.stop();
+			Path file = dir.resolve("events.jfr");
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		}
+	}
+
+	private static RecordedEvent single(List<RecordedEvent> events, String type, String method) {
+		List<RecordedEvent> matched = events.stream()
+				.filter(e -> e.getEventType().getName().equals(type))
+				.filter(e -> method.equals(e.getString("method")))
+				.toList();
+		assertThat(matched).hasSize(1);
+		return matched.get(0);
+	}
+}
@@ -0,0 +1,79 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import study.querydsl.dto.MemberAgeStatsDto;
+import study.querydsl.entity.QMember;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * {@link MemberAnalyticsRepository} 와 같은 결과를 QuerydslBasicTest.subQuery* 처럼 회원마다 상관 서브쿼리로 구한다.
+ * 결과 비교와 벤치마크 기준으로 쓴다.
+ */
+public final class AgeStatsSubqueries {
+
+	private AgeStatsSubqueries() {
+	}
+
+	/**
+	 * 팀 안에서 나보다 나이가 많은 (같으면 id 가 작은) 회원이 k 명 미만인 회원
+	 */
+	public static List<MemberAgeStatsDto> oldestPerTeam(JPAQueryFactory queryFactory, int k) {
+		QMember older = new QMember("older");
+		List<Tuple> result = select(queryFactory)
+				.where(JPAExpressions
+						.select(older.count())
+						.from(older)
+						.where(older.team.eq(member.team),
+								older.age.gt(member.age).or(older.age.eq(member.age).and(older.id.lt(member.id))))
+						.lt((long) k))
+				.orderBy(team.id.asc(), member.age.desc(), member.id.asc())
+				.fetch();
+		return result.stream().map(AgeStatsSubqueries::toDto).toList();
+	}
+
+	/**
+	 * 팀, 순위, id 순서의 전체 회원
+	 */
+	public static List<MemberAgeStatsDto> ageStats(JPAQueryFactory queryFactory) {
+		List<Tuple> result = select(queryFactory)
+				.orderBy(team.id.asc(), member.age.desc(), member.id.asc())
+				.fetch();
+		return result.stream().map(AgeStatsSubqueries::toDto).toList();
+	}
+
+	private static JPAQuery<Tuple> select(JPAQueryFactory queryFactory) {
+		QMember sameTeam = new QMember("sameTeam");
+		QMember olderInTeam = new QMember("olderInTeam");
+		return queryFactory
+				.select(member.id, member.username, member.age, team.id, team.name,
+						JPAExpressions
+								.select(olderInTeam.count())
+								.from(olderInTeam)
+								.where(olderInTeam.team.eq(member.team), olderInTeam.age.gt(member.age)),
+						JPAExpressions
+								.select(sameTeam.age.avg())
+								.from(sameTeam)
+								.where(sameTeam.team.eq(member.team)))
+				.from(member)
+				.join(member.team, team);
+	}
+
+	private static MemberAgeStatsDto toDto(Tuple tuple) {
+		Object[] values = tuple.toArray();
+		return new MemberAgeStatsDto(
+				(Long) values[0],
+				(String) values[1],
+				(Integer) values[2],
+				(Long) values[3],
+				(String) values[4],
+				(Long) values[5] + 1,
+				(Double) values[6]);
+	}
+}
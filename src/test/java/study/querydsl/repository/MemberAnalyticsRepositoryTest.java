@@ -0,0 +1,90 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberAgeStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@Transactional
+class MemberAnalyticsRepositoryTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired MemberAnalyticsRepository memberAnalyticsRepository;
+	@Autowired JPAQueryFactory queryFactory;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 20, teamA));
+		em.persist(new Member("member4", 40, teamB));
+		em.persist(new Member("member5", 30, teamB));
+		em.persist(new Member("member6", 50));
+		// querydsl-sql 은 같은 트랜잭션의 커넥션으로 읽으므로 flush 만 하면 된다
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void oldestPerTeam() {
+		List<MemberAgeStatsDto> result = memberAnalyticsRepository.oldestPerTeam(2, null);
+
+		// 팀 없는 member6 은 빠지고, 나이가 같으면 먼저 가입한 회원이 앞선다
+		assertThat(result).extracting("username").containsExactly("member2", "member3", "member4", "member5");
+		assertThat(memberAnalyticsRepository.oldestPerTeam(1, "teamB")).extracting("username").containsExactly("member4");
+	}
+
+	@Test
+	public void ageRankWithTies() {
+		List<MemberAgeStatsDto> result = memberAnalyticsRepository.ageRank("teamA", 10);
+
+		assertThat(result).extracting("username").containsExactly("member2", "member3", "member1");
+		assertThat(result).extracting("ageRank").containsExactly(1L, 1L, 3L);
+	}
+
+	@Test
+	public void ageDeviation() {
+		List<MemberAgeStatsDto> result = memberAnalyticsRepository.ageDeviation(null, 10);
+
+		// teamA 평균 16.67, teamB 평균 35
+		assertThat(result.get(0).getUsername()).isEqualTo("member1");
+		assertThat(result.get(0).getAgeDeviation()).isCloseTo(-6.667, within(0.001));
+		assertThat(result).filteredOn("teamName", "teamB").extracting("ageDeviation").containsOnly(5.0, -5.0);
+	}
+
+	@Test
+	public void sameAsCorrelatedSubqueries() {
+		// 평균은 계산 순서에 따라 마지막 자리가 다를 수 있다
+		RecursiveComparisonConfiguration closeDoubles = RecursiveComparisonConfiguration.builder()
+				.withComparatorForType((Double a, Double b) -> Math.abs(a - b) < 1e-9 ? 0 : Double.compare(a, b), Double.class)
+				.build();
+
+		assertThat(memberAnalyticsRepository.oldestPerTeam(2, null))
+				.usingRecursiveFieldByFieldElementComparator(closeDoubles)
+				.containsExactlyElementsOf(AgeStatsSubqueries.oldestPerTeam(queryFactory, 2));
+		assertThat(memberAnalyticsRepository.ageRank(null, 100))
+				.usingRecursiveFieldByFieldElementComparator(closeDoubles)
+				.containsExactlyElementsOf(AgeStatsSubqueries.ageStats(queryFactory));
+	}
+}
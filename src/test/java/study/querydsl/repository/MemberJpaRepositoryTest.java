@@ -3,6 +3,7 @@ package study.querydsl.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -57,6 +58,19 @@ class MemberJpaRepositoryTest {
 		assertThat(result2).containsExactly(member);
 	}
 
+	@Test
+	public void readOnlyTest() {
+		memberJpaRepository.save(new Member("member1", 10));
+		em.flush();
+		em.clear();
+
+		Session session = em.unwrap(Session.class);
+		assertThat(memberJpaRepository.findAll()).isNotEmpty().allMatch(session::isReadOnly);
+		assertThat(memberJpaRepository.findAll_Querydsl()).isNotEmpty().allMatch(session::isReadOnly);
+		assertThat(memberJpaRepository.findByUsername("member1")).hasSize(1).allMatch(session::isReadOnly);
+		assertThat(memberJpaRepository.findByUsername_Querydsl("member1")).hasSize(1).allMatch(session::isReadOnly);
+	}
+
 	@Test
 	public void searchTest() {
 		Team teamA = new Team("teamA");
@@ -0,0 +1,107 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Projections;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MemberProjectionExecutorTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired EntityManagerFactory emf;
+	@Autowired MemberRepository memberRepository;
+
+	Statistics statistics;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("projectionTeamA");
+		Team teamB = new Team("projectionTeamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		em.persist(new Member("pmember1", 10, teamA));
+		em.persist(new Member("pmember2", 20, teamA));
+		em.persist(new Member("pmember3", 30, teamB));
+		em.persist(new Member("pmember4", 40, teamB));
+		em.persist(new Member("pmember5", 50));
+		em.flush();
+		em.clear();
+
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void pageOfDtoWithTeamJoin() {
+		Page<MemberTeamDto> page = memberRepository.findAll(
+				new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name),
+				team.name.startsWith("projectionTeam"),
+				PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+
+		assertThat(page.getContent()).extracting("username").containsExactly("pmember4", "pmember3", "pmember2");
+		assertThat(page.getContent()).extracting("teamName").containsExactly("projectionTeamB", "projectionTeamB", "projectionTeamA");
+		assertThat(page.getTotalElements()).isEqualTo(4);
+		// 내용 + count
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		// DTO 만 읽었으므로 영속성 컨텍스트는 비어 있다
+		assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	public void countSkippedWhenPageIsNotFull() {
+		Page<MemberDto> first = memberRepository.findAll(new QMemberDto(member.username, member.age),
+				member.username.startsWith("pmember"), PageRequest.of(0, 10, Sort.by("username")));
+
+		assertThat(first.getContent()).extracting("username")
+				.containsExactly("pmember1", "pmember2", "pmember3", "pmember4", "pmember5");
+		assertThat(first.getTotalElements()).isEqualTo(5);
+		// 첫 페이지가 다 차지 않았으므로 count 쿼리 없이 건수를 안다
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		Page<MemberDto> last = memberRepository.findAll(new QMemberDto(member.username, member.age),
+				member.username.startsWith("pmember"), PageRequest.of(1, 3, Sort.by("username")));
+
+		assertThat(last.getContent()).extracting("username").containsExactly("pmember4", "pmember5");
+		assertThat(last.getTotalElements()).isEqualTo(5);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void beanProjectionAndSort() {
+		List<MemberDto> result = memberRepository.findAll(
+				Projections.bean(MemberDto.class, member.username, member.age),
+				member.age.goe(30).and(member.username.startsWith("pmember")),
+				Sort.by(Sort.Direction.DESC, "teamName"));
+
+		// 팀 이름으로 정렬하므로 팀이 없는 회원도 left join 으로 남는다 (null 은 내림차순에서 뒤)
+		assertThat(result).extracting("username").containsExactly("pmember4", "pmember3", "pmember5");
+		assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+}
@@ -0,0 +1,94 @@
+package study.querydsl.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberField;
+import study.querydsl.dto.MemberFieldSet;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.SparseMember;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberProjectionRepositoryTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired MemberProjectionRepository memberProjectionRepository;
+	@Autowired ObjectMapper objectMapper;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		em.persist(teamA);
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30));
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void cachedPerCombination() {
+		assertThat(MemberFieldSet.parse("age,username")).isSameAs(MemberFieldSet.parse(" username, age"));
+		assertThat(MemberFieldSet.parse("")).isSameAs(MemberFieldSet.ALL);
+		assertThat(MemberFieldSet.parse("teamName,memberId").fields())
+				.containsExactly(MemberField.MEMBER_ID, MemberField.TEAM_NAME);
+		assertThatThrownBy(() -> MemberFieldSet.parse("password")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void skipTeamJoin() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(15);
+
+		String withoutTeam = memberProjectionRepository.contentQuery(condition, MemberFieldSet.parse("username,teamId"), Sort.unsorted()).toString();
+		String withTeamName = memberProjectionRepository.contentQuery(condition, MemberFieldSet.parse("username,teamName"), Sort.unsorted()).toString();
+		condition.setTeamName("teamA");
+		String withTeamFilter = memberProjectionRepository.contentQuery(condition, MemberFieldSet.parse("username"), Sort.unsorted()).toString();
+
+		assertThat(withoutTeam).doesNotContainIgnoringCase("join");
+		assertThat(withTeamName).containsIgnoringCase("left join");
+		assertThat(withTeamFilter).containsIgnoringCase("left join");
+	}
+
+	@Test
+	public void onlyRequestedFields() throws Exception {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeLoe(20);
+
+		List<SparseMember> result = memberProjectionRepository.search(condition, MemberFieldSet.parse("username,age"));
+
+		assertThat(result).extracting(member -> member.get(MemberField.USERNAME)).containsExactlyInAnyOrder("member1", "member2");
+		assertThat(objectMapper.writeValueAsString(result))
+				.contains("{\"username\":\"member1\",\"age\":10}")
+				.doesNotContain("teamName", "memberId");
+	}
+
+	@Test
+	public void page() throws Exception {
+		MemberFieldSet fields = MemberFieldSet.of(MemberField.USERNAME, MemberField.TEAM_NAME);
+		Page<SparseMember> result = memberProjectionRepository.searchPage(new MemberSearchCondition(), fields,
+				PageRequest.of(0, 2, Sort.by(Sort.Order.desc("age"))));
+
+		assertThat(result.getTotalElements()).isEqualTo(3);
+		assertThat(objectMapper.writeValueAsString(result.getContent()))
+				.isEqualTo("[{\"username\":\"member3\",\"teamName\":null},{\"username\":\"member2\",\"teamName\":\"teamA\"}]");
+	}
+}
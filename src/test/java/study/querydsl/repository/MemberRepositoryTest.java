@@ -2,6 +2,7 @@ package study.querydsl.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -127,4 +128,15 @@ class MemberRepositoryTest {
 			System.out.println("member1 = " + mem);
 		}
 	}
+
+	@Test
+	public void readOnlyTest() {
+		memberRepository.save(new Member("member1", 10));
+		em.flush();
+		em.clear();
+
+		Session session = em.unwrap(Session.class);
+		assertThat(memberRepository.findByUsername("member1")).hasSize(1).allMatch(session::isReadOnly);
+		assertThat(memberRepository.findAll(member.username.eq("member1"))).hasSize(1).allMatch(session::isReadOnly);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.sqlshape.SqlRecorder;
+import study.querydsl.sqlshape.SqlShape;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@Import(MemberSortTest.RecorderConfig.class)
+class MemberSortTest {
+
+	@TestConfiguration
+	static class RecorderConfig {
+		@Bean
+		SqlRecorder sqlRecorder() {
+			return new SqlRecorder();
+		}
+	}
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	SqlRecorder recorder;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		for (int i = 0; i < 20; i++) {
+			em.persist(new Member("member" + (i % 7), 10 + i % 4, i % 2 == 0 ? teamA : teamB));
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void sortWithIdTiebreaker() {
+		Sort sort = Sort.by(Sort.Order.desc("age"), Sort.Order.asc("username"));
+		Page<MemberTeamDto> result = memberRepository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(0, 20, sort));
+
+		assertThat(result.getContent()).isSortedAccordingTo(MemberSort.comparator(sort));
+		// age, username 이 같은 회원끼리는 memberId 오름차순 (마지막 정렬인 username 의 방향)
+		assertThat(MemberSort.jpa(sort)).extracting(Object::toString)
+				.containsExactly("member1.age DESC", "member1.username ASC", "member1.id ASC");
+	}
+
+	@Test
+	public void sortByTeamName() {
+		Sort sort = Sort.by("teamName");
+		Page<MemberTeamDto> result = memberRepository.searchPageComplex(new MemberSearchCondition(), PageRequest.of(0, 5, sort));
+
+		assertThat(result.getContent()).isSortedAccordingTo(MemberSort.comparator(sort));
+		assertThat(result.getContent()).extracting(MemberTeamDto::getTeamName).containsOnly("teamA");
+	}
+
+	@Test
+	public void unknownPropertyRejected() {
+		PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("team.members"));
+
+		assertThatThrownBy(() -> memberRepository.searchPageSimple(new MemberSearchCondition(), pageRequest))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	@Test
+	public void indexOrderedTopN() {
+		String usernamePlan = explainContentQuery(Sort.by("username"));
+		String agePlan = explainContentQuery(Sort.by("age"));
+
+		assertThat(usernamePlan).containsIgnoringCase("idx_member_username").contains("index sorted");
+		assertThat(agePlan).containsIgnoringCase("idx_member_age").contains("index sorted");
+	}
+
+	/**
+	 * searchPageSimple 이 실제로 실행한 내용 조회 SQL 의 실행 계획
+	 */
+	private String explainContentQuery(Sort sort) {
+		List<SqlRecorder.RecordedStatement> statements = recorder.record(() ->
+				memberRepository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(0, 10, sort)));
+		assertThat(statements).isNotEmpty();
+		SqlRecorder.RecordedStatement content = statements.get(0);
+		assertThat(SqlShape.hasLimit(content.sql())).as(content.sql()).isTrue();
+		return (String) em.createNativeQuery("explain " + content.sqlWithValues()).getSingleResult();
+	}
+}
@@ -0,0 +1,115 @@
+package study.querydsl.repository;
+
+import com.querydsl.sql.SQLQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * querydsl-sql 구현이 JPA 구현과 같은 결과를 내는지 조건 조합별로 비교한다.
+ */
+@SpringBootTest
+@Transactional
+class MemberSqlRepositoryTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired MemberRepository memberRepository;
+	@Autowired SQLQueryFactory sqlQueryFactory;
+	@Autowired QueryTimeouts queryTimeouts;
+
+	MemberSqlRepository memberSqlRepository;
+
+	@BeforeEach
+	public void before() {
+		memberSqlRepository = new MemberSqlRepository(sqlQueryFactory, queryTimeouts);
+
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30, teamB));
+		em.persist(new Member("member4", 40, teamB));
+		em.persist(new Member("member5", 50));
+
+		// querydsl-sql 은 같은 커넥션으로 바로 SQL 을 실행하므로 먼저 flush
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void searchEquivalence() {
+		for (MemberSearchCondition condition : conditions()) {
+			List<MemberTeamDto> expected = memberRepository.search(condition);
+			List<MemberTeamDto> actual = memberSqlRepository.search(condition);
+
+			assertThat(actual).as(condition.toString()).containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void searchPageEquivalence() {
+		PageRequest pageRequest = PageRequest.of(0, 100);
+		for (MemberSearchCondition condition : conditions()) {
+			Page<MemberTeamDto> expected = memberRepository.searchPageSimple(condition, pageRequest);
+			Page<MemberTeamDto> actual = memberSqlRepository.searchPageSimple(condition, pageRequest);
+
+			assertThat(actual.getTotalElements()).as(condition.toString()).isEqualTo(expected.getTotalElements());
+			assertThat(actual.getContent()).as(condition.toString()).containsExactlyInAnyOrderElementsOf(expected.getContent());
+		}
+	}
+
+	@Test
+	public void searchPageCount() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(20);
+
+		Page<MemberTeamDto> result = memberSqlRepository.searchPageComplex(condition, PageRequest.of(0, 2));
+
+		assertThat(result.getContent()).hasSize(2);
+		assertThat(result.getTotalElements()).isEqualTo(4);
+	}
+
+	private static List<MemberSearchCondition> conditions() {
+		List<MemberSearchCondition> conditions = new ArrayList<>();
+		conditions.add(condition(null, null, null, null));
+		conditions.add(condition("member1", null, null, null));
+		conditions.add(condition("", "", null, null));
+		conditions.add(condition(null, "teamA", null, null));
+		conditions.add(condition(null, "teamC", null, null));
+		conditions.add(condition(null, null, 20, null));
+		conditions.add(condition(null, null, null, 30));
+		conditions.add(condition(null, "teamB", 20, 40));
+		conditions.add(condition("member5", null, 40, 60));
+		return conditions;
+	}
+
+	private static MemberSearchCondition condition(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setUsername(username);
+		condition.setTeamName(teamName);
+		condition.setAgeGoe(ageGoe);
+		condition.setAgeLoe(ageLoe);
+		return condition;
+	}
+}
@@ -0,0 +1,182 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.timeout.QueryCancellation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightMemberRepositoryTest {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	BlockingSearch backend = new BlockingSearch();
+	SingleFlightMemberRepository repository = new SingleFlightMemberRepository(backend, registry);
+
+	@Test
+	public void concurrentIdenticalSearchesRunOnce() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Page<MemberTeamDto>>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				// 빈 username 과 null 은 같은 검색이다
+				MemberSearchCondition condition = condition("teamA");
+				condition.setUsername(i % 2 == 0 ? "" : null);
+				results.add(executor.submit(() -> repository.searchPageSimple(condition, PageRequest.of(0, 10))));
+			}
+			awaitWaiters(7);
+			backend.release.countDown();
+
+			for (Future<Page<MemberTeamDto>> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS).getContent()).extracting("username").containsExactly("teamA");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(backend.calls.get()).isEqualTo(1);
+		assertThat(count("executed")).isEqualTo(1);
+		assertThat(count("coalesced")).isEqualTo(7);
+	}
+
+	@Test
+	public void differentPagesAreNotCoalesced() throws Exception {
+		backend.release.countDown();
+
+		repository.searchPageSimple(condition("teamA"), PageRequest.of(0, 10));
+		repository.searchPageSimple(condition("teamA"), PageRequest.of(1, 10));
+		repository.searchPageComplex(condition("teamA"), PageRequest.of(0, 10));
+		repository.searchPageSimple(condition("teamB"), PageRequest.of(0, 10));
+
+		assertThat(backend.calls.get()).isEqualTo(4);
+		assertThat(count("coalesced")).isZero();
+	}
+
+	@Test
+	public void finishedSearchIsNotCached() {
+		backend.release.countDown();
+
+		repository.search(condition("teamA"));
+		repository.search(condition("teamA"));
+
+		assertThat(backend.calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void failureIsSharedWithWaiters() throws Exception {
+		backend.failure = new IllegalStateException("db down");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> first = executor.submit(() -> repository.search(condition("teamA")));
+			Future<?> second = executor.submit(() -> repository.search(condition("teamA")));
+			awaitWaiters(1);
+			backend.release.countDown();
+
+			assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+			assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(backend.calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void waiterRunsItselfWhenLeaderIsCancelled() throws Exception {
+		QueryCancellation leaderCancellation = new QueryCancellation();
+		backend.failure = new IllegalStateException("cancelled");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> leader = executor.submit(() -> {
+				try (QueryCancellation.Scope ignored = leaderCancellation.bind()) {
+					return repository.search(condition("teamA"));
+				}
+			});
+			awaitCalls(1);
+			Future<List<MemberTeamDto>> waiter = executor.submit(() -> repository.search(condition("teamA")));
+			awaitWaiters(1);
+
+			leaderCancellation.cancel();
+			backend.release.countDown();
+
+			assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+			assertThat(waiter.get(5, TimeUnit.SECONDS)).extracting("username").containsExactly("teamA");
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(backend.calls.get()).isEqualTo(2);
+	}
+
+	private double count(String result) {
+		return registry.get("member.search.single.flight").tag("result", result).counter().count();
+	}
+
+	private void awaitWaiters(int waiters) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count("coalesced") < waiters && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private void awaitCalls(int calls) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (backend.calls.get() < calls && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static MemberSearchCondition condition(String teamName) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName(teamName);
+		return condition;
+	}
+
+	/**
+	 * release 가 열릴 때까지 막혀 있다가 팀 이름을 username 으로 담은 결과 하나를 돌려준다.
+	 * failure 가 있으면 첫 호출만 실패한다.
+	 */
+	static class BlockingSearch implements MemberRepositoryCustom {
+
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger calls = new AtomicInteger();
+		volatile RuntimeException failure;
+
+		@Override
+		public List<MemberTeamDto> search(MemberSearchCondition condition) {
+			int call = calls.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (failure != null && call == 1) {
+				throw failure;
+			}
+			return List.of(new MemberTeamDto(1L, condition.getTeamName(), 10, 1L, condition.getTeamName()));
+		}
+
+		@Override
+		public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+			return new PageImpl<>(search(condition), pageable, 1);
+		}
+
+		@Override
+		public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+			return searchPageSimple(condition, pageable);
+		}
+	}
+}
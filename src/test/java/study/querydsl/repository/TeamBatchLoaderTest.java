@@ -0,0 +1,105 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TeamBatchLoaderTest {
+
+	static final int TEAMS = 10;
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired EntityManagerFactory emf;
+	@Autowired JPAQueryFactory queryFactory;
+	@Autowired TeamBatchLoader teamBatchLoader;
+
+	Statistics statistics;
+
+	@BeforeEach
+	public void before() {
+		for (int i = 0; i < TEAMS; i++) {
+			Team team = new Team("team" + i);
+			em.persist(team);
+			em.persist(new Member("member" + i, i, team));
+			em.persist(new Member("member" + (i + TEAMS), i, team));
+		}
+		em.flush();
+		em.clear();
+
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void batchFetchConfiguration() {
+		List<Member> members = queryFactory.selectFrom(member).fetch();
+		for (Member m : members) {
+			m.getTeam().getName();
+		}
+
+		// 회원 조회 1 + 팀 10개를 in 으로 한 번 (default_batch_fetch_size: 100)
+		assertThat(members).hasSize(TEAMS * 2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void explicitBatchPerBatchSize() {
+		List<Member> members = queryFactory.selectFrom(member).fetch();
+
+		TeamBatchLoader.TeamBatch batch = teamBatchLoader.batch(4);
+		batch.loadTeamsOf(members);
+		long afterLoad = statistics.getPrepareStatementCount();
+		for (Member m : members) {
+			assertThat(m.getTeam().getName()).startsWith("team");
+		}
+
+		// 회원 조회 1 + 팀 10개를 4개씩 3번, 이름을 읽을 때는 추가 쿼리 없음
+		assertThat(afterLoad).isEqualTo(1 + 3);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterLoad);
+	}
+
+	@Test
+	public void explicitLoadAndDispatch() {
+		List<Member> members = queryFactory.selectFrom(member).where(member.age.lt(3)).fetch();
+		TeamBatchLoader.TeamBatch batch = teamBatchLoader.batch();
+
+		List<CompletableFuture<Team>> teams = members.stream()
+				.map(m -> batch.load(m.getTeam().getId()))
+				.toList();
+		CompletableFuture<Team> missing = batch.load(-1L);
+		assertThat(teams).noneMatch(CompletableFuture::isDone);
+
+		batch.dispatch();
+
+		assertThat(teams).allMatch(CompletableFuture::isDone);
+		assertThat(teams).extracting(CompletableFuture::join).extracting(Team::getName)
+				.containsOnly("team0", "team1", "team2");
+		assertThat(missing.join()).isNull();
+		// 회원 조회 1 + 중복을 뺀 팀 3개를 한 번에
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		// 이미 읽은 팀은 다시 읽지 않는다
+		assertThat(batch.load(members.get(0).getTeam().getId())).isDone();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,98 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"querydsl.search.count-mode=window",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class WindowCountPagingTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired EntityManagerFactory emf;
+	@Autowired MemberRepository memberRepository;
+
+	Statistics statistics;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("windowTeamA");
+		Team teamB = new Team("windowTeamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		for (int i = 1; i <= 5; i++) {
+			em.persist(new Member("wmember" + i, i * 10, i <= 3 ? teamA : teamB));
+		}
+		em.flush();
+		em.clear();
+
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	public void totalFromTheContentQuery() {
+		MemberSearchCondition condition = teamCondition("windowTeamA");
+		// 팀 이름 -> team_id 캐시를 채운다
+		memberRepository.searchPageComplex(condition, PageRequest.of(0, 2));
+		statistics.clear();
+
+		Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 2, Sort.by("age")));
+
+		assertThat(page.getContent()).extracting("username").containsExactly("wmember1", "wmember2");
+		assertThat(page.getContent()).extracting("teamName").containsOnly("windowTeamA");
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void countQueryOnlyForEmptyPageAfterTheEnd() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(20);
+		statistics.clear();
+
+		Page<MemberTeamDto> last = memberRepository.searchPageSimple(condition, PageRequest.of(1, 3, Sort.by("age")));
+		assertThat(last.getContent()).extracting("username").containsExactly("wmember5");
+		assertThat(last.getTotalElements()).isEqualTo(4);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// 끝을 지난 빈 페이지는 전체 수를 알려고 count 를 한 번 더 실행한다
+		Page<MemberTeamDto> past = memberRepository.searchPageSimple(condition, PageRequest.of(5, 3));
+		assertThat(past.getContent()).isEmpty();
+		assertThat(past.getTotalElements()).isEqualTo(4);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+		// 첫 페이지가 비었으면 전체도 0 이다
+		condition.setAgeGoe(1000);
+		Page<MemberTeamDto> none = memberRepository.searchPageComplex(condition, PageRequest.of(0, 3));
+		assertThat(none.getTotalElements()).isZero();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	private static MemberSearchCondition teamCondition(String teamName) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName(teamName);
+		return condition;
+	}
+}
@@ -0,0 +1,36 @@
+package study.querydsl.repository.guard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberStatisticsProviderTest {
+
+	@Test
+	public void wholeTableIsCountedExactly() {
+		List<Object> values = new ArrayList<>(List.of(1, 1, 2, 3));
+		values.add(null);
+
+		assertThat(MemberStatisticsProvider.distinct(values, 5)).isEqualTo(3);
+	}
+
+	@Test
+	public void uniqueSampleScalesToTable() {
+		// 1만 건 표본이 모두 다르면 10만 건 전체도 거의 다 다르다고 본다
+		List<Object> usernames = IntStream.range(0, 10_000).mapToObj(i -> (Object) ("member" + i)).toList();
+
+		assertThat(MemberStatisticsProvider.distinct(usernames, 100_000)).isEqualTo(100_000);
+	}
+
+	@Test
+	public void repeatedSampleKeepsDistinct() {
+		// 나이 0~99 가 표본에 골고루 여러 번 나오면 전체 distinct 도 100 이다
+		List<Object> ages = IntStream.range(0, 10_000).mapToObj(i -> (Object) (i % 100)).toList();
+
+		assertThat(MemberStatisticsProvider.distinct(ages, 100_000)).isEqualTo(100);
+	}
+}
@@ -0,0 +1,68 @@
+package study.querydsl.repository.guard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static study.querydsl.entity.QMember.member;
+
+class PredicateCostEstimatorTest {
+
+	// 10만 명, 나이 0~99, 팀 100개
+	TableStatistics statistics = new TableStatistics(100_000, Map.of(
+			"id", new TableStatistics.ColumnStatistics(100_000, null, null),
+			"username", new TableStatistics.ColumnStatistics(100_000, null, null),
+			"age", new TableStatistics.ColumnStatistics(100, 0.0, 99.0),
+			"team.id", new TableStatistics.ColumnStatistics(100, null, null)));
+
+	PredicateCostEstimator estimator = new PredicateCostEstimator(Set.of("id", "team.id"));
+
+	@Test
+	public void selectivity() {
+		assertThat(estimator.selectivity(member.age.between(10, 19), statistics)).isCloseTo(0.1, within(1e-9));
+		assertThat(estimator.selectivity(member.age.goe(50), statistics)).isCloseTo(0.5, within(1e-9));
+		assertThat(estimator.selectivity(member.team.id.in(List.of(1L, 2L, 3L)), statistics)).isCloseTo(0.03, within(1e-9));
+		assertThat(estimator.selectivity(member.age.goe(50).and(member.team.id.eq(1L)), statistics)).isCloseTo(0.005, within(1e-9));
+		assertThat(estimator.selectivity(member.age.goe(50).or(member.age.loe(49)), statistics)).isCloseTo(0.75, within(1e-9));
+		assertThat(estimator.selectivity(member.age.goe(50).not(), statistics)).isCloseTo(0.5, within(1e-9));
+		assertThat(estimator.selectivity(member.age.gt(200), statistics)).isZero();
+	}
+
+	@Test
+	public void indexedPathIsCheap() {
+		PredicateCostEstimator.Estimate estimate = estimator.estimate(member.team.id.eq(1L).and(member.age.goe(50)), statistics, null, false);
+
+		assertThat(estimate.indexed()).isTrue();
+		assertThat(estimate.matchedRows()).isEqualTo(500);
+		assertThat(estimate.cost()).isEqualTo(1_000);
+	}
+
+	@Test
+	public void unindexedScanCostsWholeTable() {
+		PredicateCostEstimator.Estimate estimate = estimator.estimate(member.age.between(5, 40).and(member.username.eq("member1")), statistics, null, false);
+
+		assertThat(estimate.indexed()).isFalse();
+		assertThat(estimate.cost()).isGreaterThanOrEqualTo(100_000);
+	}
+
+	@Test
+	public void limitStopsScanEarlyUnlessSorted() {
+		PredicateCostEstimator.Estimate limited = estimator.estimate(member.age.goe(50), statistics, 100L, false);
+		PredicateCostEstimator.Estimate sorted = estimator.estimate(member.age.goe(50), statistics, 100L, true);
+
+		// 절반이 조건에 맞으니 200건쯤 읽으면 100건을 채운다
+		assertThat(limited.cost()).isEqualTo(300);
+		assertThat(sorted.cost()).isEqualTo(100_100);
+	}
+
+	@Test
+	public void shape() {
+		String shape = PredicateShape.of(member.age.between(5, 40).and(member.username.eq("member1")));
+
+		assertThat(shape).isEqualTo("AND(BETWEEN(member1.age, ?, ?), EQ(member1.username, ?))");
+	}
+}
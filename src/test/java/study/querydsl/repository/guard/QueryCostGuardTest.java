@@ -0,0 +1,102 @@
+package study.querydsl.repository.guard;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest(properties = {
+		"querydsl.guard.max-cost=50",
+		"querydsl.guard.auto-limit=10",
+		"querydsl.guard.statistics-ttl=0s"
+})
+@Transactional
+class QueryCostGuardTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	QueryGuardProperties properties;
+
+	@BeforeEach
+	public void before() {
+		properties.setMode(QueryGuardProperties.Mode.LIMIT);
+		for (int i = 0; i < 100; i++) {
+			em.persist(new Member("member" + i, i));
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void cheapQueryRunsAsIs() {
+		Member member1 = memberRepository.findByUsername("member1").get(0);
+
+		Iterable<Member> result = memberRepository.findAll(member.id.eq(member1.getId()));
+
+		assertThat(result).extracting("username").containsExactly("member1");
+	}
+
+	@Test
+	public void expensiveFindAllIsCapped() {
+		// MemberRepository 가 다시 선언한 findAll(Predicate) 도 가드를 탄다
+		List<Member> result = new ArrayList<>();
+		memberRepository.findAll(member.age.goe(0)).forEach(result::add);
+
+		assertThat(result).hasSize(10);
+	}
+
+	@Test
+	public void cappedPageKeepsPageNumber() {
+		Page<Member> page = memberRepository.findAll(member.age.goe(0), PageRequest.of(1, 50));
+
+		assertThat(page.getNumber()).isEqualTo(1);
+		assertThat(page.getSize()).isEqualTo(10);
+		assertThat(page.getContent()).hasSize(10);
+	}
+
+	@Test
+	public void deepOffsetIsRejected() {
+		// 10 건으로 줄여도 앞의 50 건을 건너뛰며 읽어야 한다
+		assertThatThrownBy(() -> memberRepository.findAll(member.age.goe(0), PageRequest.of(5, 50)))
+				.isInstanceOf(QueryCostExceededException.class);
+	}
+
+	@Test
+	public void uncappableQueryIsRejected() {
+		assertThatThrownBy(() -> memberRepository.count(member.age.goe(0)))
+				.isInstanceOf(QueryCostExceededException.class);
+
+		// 정렬이 있으면 잘라도 전체를 읽어야 한다
+		assertThatThrownBy(() -> memberRepository.findAll(member.age.goe(0), Sort.by("age")))
+				.isInstanceOf(QueryCostExceededException.class);
+	}
+
+	@Test
+	public void rejectMode() {
+		properties.setMode(QueryGuardProperties.Mode.REJECT);
+
+		assertThatThrownBy(() -> memberRepository.findAll(member.age.goe(0)))
+				.isInstanceOf(QueryCostExceededException.class)
+				.hasMessageContaining("GOE(member1.age, ?)");
+	}
+}
@@ -0,0 +1,114 @@
+package study.querydsl.repository.plan;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MemberSearchPlannerTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired EntityManagerFactory emf;
+	@Autowired MemberSearchPlanner planner;
+	@Autowired MemberRepository memberRepository;
+
+	Team teamA;
+	Statistics statistics;
+
+	@BeforeEach
+	public void before() {
+		teamA = new Team("planTeamA");
+		Team teamB = new Team("planTeamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30, teamB));
+		em.flush();
+		em.clear();
+
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void impossibleConditionsSkipTheDatabase() {
+		assertThat(planner.plan(condition(null, 30, 20)).empty()).isTrue();
+		assertThat(planner.plan(condition(null, null, -1)).empty()).isTrue();
+
+		Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition(null, 30, 20), PageRequest.of(0, 10));
+		assertThat(page.getContent()).isEmpty();
+		assertThat(page.getTotalElements()).isZero();
+		assertThat(memberRepository.search(condition(null, null, -1))).isEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	public void missingTeamIsCachedAsEmpty() {
+		assertThat(memberRepository.search(condition("noSuchTeam", null, null))).isEmpty();
+		long afterLookup = statistics.getPrepareStatementCount();
+		assertThat(memberRepository.searchPageSimple(condition("noSuchTeam", null, null), PageRequest.of(0, 10))).isEmpty();
+
+		// 팀 조회 한 번, 두 번째는 캐시로 끝낸다
+		assertThat(afterLookup).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterLookup);
+	}
+
+	@Test
+	public void teamNameResolvedToTeamId() {
+		MemberSearchPlan plan = planner.plan(condition("planTeamA", 0, 20));
+
+		assertThat(plan.empty()).isFalse();
+		assertThat(plan.teamIds()).containsExactly(teamA.getId());
+		// 나이는 음수가 아니므로 ageGoe 0 은 조건에서 빠진다
+		assertThat(plan.ageGoe()).isNull();
+
+		statistics.clear();
+		Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition("planTeamA", 0, 20), PageRequest.of(0, 1));
+		assertThat(page.getContent()).extracting("username").containsExactly("member1");
+		assertThat(page.getContent()).extracting("teamName").containsExactly("planTeamA");
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		// 팀은 캐시에서 찾으므로 내용 + count 만 실행한다
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void newTeamIsVisibleInTheSameTransaction() {
+		assertThat(memberRepository.search(condition("planTeamC", null, null))).isEmpty();
+
+		Team teamC = new Team("planTeamC");
+		em.persist(teamC);
+		em.persist(new Member("member4", 40, teamC));
+
+		// flush 전 변경이 있으면 캐시를 건너뛰고, 읽으면서 flush 된 insert 가 캐시를 비운다
+		assertThat(memberRepository.search(condition("planTeamC", null, null))).extracting("username").containsExactly("member4");
+		assertThat(memberRepository.search(condition("planTeamC", null, null))).extracting("username").containsExactly("member4");
+	}
+
+	private static MemberSearchCondition condition(String teamName, Integer ageGoe, Integer ageLoe) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName(teamName);
+		condition.setAgeGoe(ageGoe);
+		condition.setAgeLoe(ageLoe);
+		return condition;
+	}
+}
@@ -0,0 +1,77 @@
+package study.querydsl.repository.username;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountingBloomFilterTest {
+
+	@Test
+	public void noFalseNegatives() {
+		CountingBloomFilter filter = CountingBloomFilter.create(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.add("member" + i));
+
+		assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("member" + i));
+		assertThat(filter.size()).isEqualTo(10_000);
+	}
+
+	@Test
+	public void falsePositiveRateNearTarget() {
+		CountingBloomFilter filter = CountingBloomFilter.create(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.add("member" + i));
+
+		long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("absent" + i)).count();
+
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+		assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.02);
+	}
+
+	@Test
+	public void sizing() {
+		CountingBloomFilter filter = CountingBloomFilter.create(1_000_000, 0.01);
+
+		// 1% 면 원소당 카운터 약 9.6 개, 해시 7 개, 4비트 카운터라 약 4.8 MB
+		assertThat(filter.hashFunctions()).isEqualTo(7);
+		assertThat(filter.counters()).isBetween(9_500_000L, 9_700_000L);
+		assertThat(filter.memoryBytes()).isBetween(4_700_000L, 4_900_000L);
+		assertThatThrownBy(() -> CountingBloomFilter.create(10, 1.5)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void removeKeepsOtherValues() {
+		CountingBloomFilter filter = CountingBloomFilter.create(1_000, 0.01);
+		IntStream.range(0, 1_000).forEach(i -> filter.add("member" + i));
+
+		IntStream.range(0, 500).forEach(i -> filter.remove("member" + i));
+
+		assertThat(IntStream.range(500, 1_000)).allMatch(i -> filter.mightContain("member" + i));
+		assertThat(IntStream.range(0, 500).filter(i -> filter.mightContain("member" + i)).count()).isLessThan(25);
+		assertThat(filter.size()).isEqualTo(500);
+	}
+
+	@Test
+	public void duplicateNeedsTwoRemoves() {
+		CountingBloomFilter filter = CountingBloomFilter.create(100, 0.01);
+		filter.add("member1");
+		filter.add("member1");
+
+		filter.remove("member1");
+		assertThat(filter.mightContain("member1")).isTrue();
+
+		filter.remove("member1");
+		assertThat(filter.mightContain("member1")).isFalse();
+	}
+
+	@Test
+	public void concurrentAdds() {
+		CountingBloomFilter filter = CountingBloomFilter.create(100_000, 0.01);
+
+		IntStream.range(0, 100_000).parallel().forEach(i -> filter.add("member" + i));
+
+		assertThat(IntStream.range(0, 100_000)).allMatch(i -> filter.mightContain("member" + i));
+		assertThat(filter.size()).isEqualTo(100_000);
+	}
+}
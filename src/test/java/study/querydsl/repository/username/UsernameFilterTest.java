@@ -0,0 +1,133 @@
+package study.querydsl.repository.username;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 뒤에 빼는 동작을 보려고 테스트 트랜잭션 없이 TransactionTemplate 으로 커밋한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UsernameFilterTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired EntityManagerFactory emf;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired UsernameFilter usernameFilter;
+	@Autowired MemberRepository memberRepository;
+	@Autowired MemberJpaRepository memberJpaRepository;
+
+	Statistics statistics;
+	Long member1Id;
+
+	@BeforeEach
+	public void before() {
+		member1Id = transactionTemplate.execute(status -> {
+			Member member1 = new Member("member1", 10);
+			em.persist(member1);
+			em.persist(new Member("member2", 20));
+			return member1.getId();
+		});
+		// 다른 테스트가 롤백하며 남긴 오탐을 지운다
+		usernameFilter.rebuild();
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	public void after() {
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		usernameFilter.rebuild();
+	}
+
+	@Test
+	public void missIsAnsweredWithoutQuery() {
+		assertThat(memberRepository.findByUsername("nobody")).isEmpty();
+		assertThat(memberJpaRepository.findByUsername("nobody")).isEmpty();
+		assertThat(memberJpaRepository.findByUsername_Querydsl("nobody")).isEmpty();
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(memberRepository.findByUsername("member1")).hasSize(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void renameAndDeleteAreReflectedAfterCommit() {
+		transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member1Id).setUsername("renamed"));
+
+		assertThat(memberRepository.findByUsername("renamed")).hasSize(1);
+		assertThat(usernameFilter.ruledOut("member1")).isTrue();
+
+		transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Member.class, member1Id)));
+
+		assertThat(usernameFilter.ruledOut("renamed")).isTrue();
+		assertThat(usernameFilter.ruledOut("member2")).isFalse();
+	}
+
+	@Test
+	public void rollbackKeepsRemovedName() {
+		transactionTemplate.executeWithoutResult(status -> {
+			em.remove(em.find(Member.class, member1Id));
+			em.flush();
+			status.setRollbackOnly();
+		});
+
+		assertThat(memberRepository.findByUsername("member1")).hasSize(1);
+	}
+
+	@Test
+	public void unflushedChangesAreNotRuledOut() {
+		transactionTemplate.executeWithoutResult(status -> {
+			em.persist(new Member("pending", 30));
+
+			assertThat(memberRepository.findByUsername("pending")).hasSize(1);
+			status.setRollbackOnly();
+		});
+	}
+
+	@Test
+	public void unflushedRenameIsNotRuledOut() {
+		transactionTemplate.executeWithoutResult(status -> {
+			em.find(Member.class, member1Id).setUsername("renamedPending");
+
+			assertThat(memberRepository.findByUsername("renamedPending")).hasSize(1);
+			status.setRollbackOnly();
+		});
+	}
+
+	@Test
+	public void transactionWithoutMembersUsesFilter() {
+		transactionTemplate.executeWithoutResult(status ->
+				assertThat(usernameFilter.ruledOut("nobody")).isTrue());
+	}
+
+	@Test
+	public void rebuildPicksUpDirectWrites() {
+		jdbcTemplate.update("insert into member (member_id, username, age) values (?, ?, ?)", 900_000L, "jdbc", 1);
+		assertThat(usernameFilter.ruledOut("jdbc")).isTrue();
+
+		usernameFilter.rebuild();
+
+		assertThat(usernameFilter.ruledOut("jdbc")).isFalse();
+		assertThat(usernameFilter.stats().ready()).isTrue();
+		assertThat(usernameFilter.stats().memoryBytes()).isPositive();
+	}
+}
@@ -0,0 +1,159 @@
+package study.querydsl.search;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberSearch;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.timeout.QueryTimeouts;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest(properties = "querydsl.search.backend=denormalized")
+@Transactional
+class MemberSearchSyncTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JPAQueryFactory queryFactory;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired QueryTimeouts queryTimeouts;
+	@Autowired MemberRepository memberRepository;
+	@Autowired MemberSearchRepairJob repairJob;
+
+	MemberSearchRepository memberSearchRepository;
+	Team teamA;
+	Team teamB;
+	Member member1;
+
+	@BeforeEach
+	public void before() {
+		memberSearchRepository = new MemberSearchRepository(queryFactory, queryTimeouts);
+
+		teamA = new Team("teamA");
+		teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+
+		member1 = new Member("member1", 10, teamA);
+		em.persist(member1);
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30, teamB));
+		em.persist(new Member("member4", 40, teamB));
+		em.persist(new Member("member5", 50));
+		em.flush();
+	}
+
+	@Test
+	public void insert() {
+		Map<String, Object> row = row(member1.getId());
+
+		assertThat(row.get("USERNAME")).isEqualTo("member1");
+		assertThat(row.get("AGE")).isEqualTo(10);
+		assertThat(row.get("TEAM_ID")).isEqualTo(teamA.getId());
+		assertThat(row.get("TEAM_NAME")).isEqualTo("teamA");
+	}
+
+	@Test
+	public void updateAndChangeTeam() {
+		member1.setAge(11);
+		member1.changeTeam(teamB);
+		em.flush();
+
+		Map<String, Object> row = row(member1.getId());
+		assertThat(row.get("AGE")).isEqualTo(11);
+		assertThat(row.get("TEAM_ID")).isEqualTo(teamB.getId());
+		assertThat(row.get("TEAM_NAME")).isEqualTo("teamB");
+	}
+
+	@Test
+	public void unrelatedUpdateIsSkipped() {
+		jdbcTemplate.update("update member_search set age = 99 where member_id = ?", member1.getId());
+
+		member1.setLastActiveAt(LocalDateTime.now().minusDays(1));
+		em.flush();
+
+		// member_search 에 없는 속성만 바뀌었으므로 다시 쓰지 않는다
+		assertThat(row(member1.getId()).get("AGE")).isEqualTo(99);
+	}
+
+	@Test
+	public void teamNameFromUnloadedProxy() {
+		em.clear();
+		Member found = em.find(Member.class, member1.getId());
+		// changeTeam 은 팀 회원 목록을 건드려 프록시를 초기화하므로 setter 로 바꾼다
+		found.setTeam(em.getReference(Team.class, teamB.getId()));
+		em.flush();
+
+		assertThat(row(member1.getId()).get("TEAM_NAME")).isEqualTo("teamB");
+	}
+
+	@Test
+	public void renameTeam() {
+		teamA.setName("teamA2");
+		em.flush();
+
+		List<String> names = jdbcTemplate.queryForList("select team_name from member_search where team_id = ?", String.class, teamA.getId());
+		assertThat(names).hasSize(2).containsOnly("teamA2");
+	}
+
+	@Test
+	public void delete() {
+		em.remove(member1);
+		em.flush();
+
+		assertThat(jdbcTemplate.queryForObject("select count(*) from member_search where member_id = ?", Long.class, member1.getId())).isZero();
+	}
+
+	@Test
+	public void repairAfterBulkUpdate() {
+		queryFactory.update(member).set(member.age, member.age.add(1)).execute();
+		jdbcTemplate.update("delete from member_search where member_id = ?", member1.getId());
+		em.clear();
+
+		MemberSearchRepairJob.RepairResult result = repairJob.repair();
+
+		assertThat(result.merged()).isGreaterThanOrEqualTo(5);
+		assertThat(row(member1.getId()).get("AGE")).isEqualTo(11);
+		assertThat(em.find(MemberSearch.class, member1.getId()).getTeamName()).isEqualTo("teamA");
+	}
+
+	@Test
+	public void searchEquivalence() {
+		em.clear();
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("teamB");
+		condition.setAgeGoe(35);
+
+		List<MemberTeamDto> expected = memberRepository.search(condition);
+		List<MemberTeamDto> actual = memberSearchRepository.search(condition);
+		assertThat(actual).containsExactlyInAnyOrderElementsOf(expected).hasSize(1);
+
+		PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Order.desc("age")));
+		MemberSearchCondition all = new MemberSearchCondition();
+		assertThat(memberSearchRepository.searchPageSimple(all, pageRequest).getContent())
+				.containsExactlyElementsOf(memberRepository.searchPageSimple(all, pageRequest).getContent());
+	}
+
+	private Map<String, Object> row(Long memberId) {
+		return jdbcTemplate.queryForMap("select * from member_search where member_id = ?", memberId);
+	}
+}
@@ -0,0 +1,164 @@
+package study.querydsl.shard;
+
+import com.querydsl.sql.H2Templates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberSort;
+import study.querydsl.timeout.QueryTimeoutProperties;
+import study.querydsl.timeout.QueryTimeouts;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * in-memory H2 3개를 샤드로 두고 라우팅과 scatter-gather 결과를 확인한다.
+ */
+class ShardedMemberRepositoryTest {
+
+	static final int TEAMS = 10;
+	static final int MEMBERS = 200;
+
+	ShardCluster cluster;
+	ShardedMemberRepository repository;
+	List<DataSource> dataSources = new ArrayList<>();
+
+	@BeforeEach
+	public void before() {
+		String run = UUID.randomUUID().toString();
+		for (int i = 0; i < 3; i++) {
+			dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:shard-" + run + "-" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+		}
+		cluster = new ShardCluster(dataSources, new com.querydsl.sql.Configuration(H2Templates.builder().build()));
+		cluster.initSchema();
+		repository = new ShardedMemberRepository(cluster, new QueryTimeouts(new QueryTimeoutProperties()));
+
+		ShardedMemberWriter writer = new ShardedMemberWriter(cluster);
+		List<ShardedMemberWriter.TeamRow> teams = new ArrayList<>();
+		for (long teamId = 1; teamId <= TEAMS; teamId++) {
+			teams.add(new ShardedMemberWriter.TeamRow(teamId, "team" + teamId));
+		}
+		writer.insertTeams(teams);
+
+		// 11번째마다 팀 없는 회원
+		List<ShardedMemberWriter.MemberRow> members = new ArrayList<>();
+		for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+			Long teamId = memberId % 11 == 0 ? null : memberId % TEAMS + 1;
+			members.add(new ShardedMemberWriter.MemberRow(memberId, "member" + memberId, (int) (memberId % 60), teamId));
+		}
+		writer.insertMembers(members);
+	}
+
+	@AfterEach
+	public void after() {
+		for (DataSource dataSource : dataSources) {
+			new JdbcTemplate(dataSource).execute("shutdown");
+		}
+		cluster.close();
+	}
+
+	@Test
+	public void teamMembersStayTogether() {
+		for (long teamId = 1; teamId <= TEAMS; teamId++) {
+			int home = cluster.router().shardOfTeam(teamId);
+			for (int shard = 0; shard < dataSources.size(); shard++) {
+				Long count = new JdbcTemplate(dataSources.get(shard))
+						.queryForObject("select count(*) from member where team_id = ?", Long.class, teamId);
+				assertThat(count).as("team %d on shard %d", teamId, shard).isEqualTo(shard == home ? 20 - noTeam(teamId) : 0);
+			}
+		}
+	}
+
+	@Test
+	public void singleTeamSearch() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("team3");
+
+		assertThat(cluster.router().shardsOfTeamName("team3")).hasSize(1);
+		List<MemberTeamDto> result = repository.search(condition);
+
+		assertThat(result).hasSize(20 - noTeam(3));
+		assertThat(result).allMatch(dto -> dto.getTeamId() == 3L && dto.getTeamName().equals("team3"));
+		assertThat(result).isSortedAccordingTo((a, b) -> Long.compare(a.getMemberId(), b.getMemberId()));
+	}
+
+	@Test
+	public void unknownTeamSearchIsEmpty() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("nobody");
+
+		assertThat(repository.search(condition)).isEmpty();
+		assertThat(repository.searchPageSimple(condition, PageRequest.of(0, 10)).getTotalElements()).isZero();
+	}
+
+	@Test
+	public void crossTeamSearchMergesInOrder() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(10);
+		condition.setAgeLoe(20);
+
+		List<MemberTeamDto> result = repository.search(condition);
+
+		List<Long> expected = new ArrayList<>();
+		for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+			if (memberId % 60 >= 10 && memberId % 60 <= 20) {
+				expected.add(memberId);
+			}
+		}
+		assertThat(result).extracting(MemberTeamDto::getMemberId).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	public void crossTeamPages() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		List<Long> seen = new ArrayList<>();
+
+		for (int page = 0; page < 7; page++) {
+			Page<MemberTeamDto> result = repository.searchPageSimple(condition, PageRequest.of(page, 30));
+
+			assertThat(result.getTotalElements()).isEqualTo(MEMBERS);
+			result.getContent().forEach(dto -> seen.add(dto.getMemberId()));
+		}
+
+		List<Long> expected = new ArrayList<>();
+		for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+			expected.add(memberId);
+		}
+		assertThat(seen).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	public void crossTeamSortedPages() {
+		Sort sort = Sort.by(Sort.Order.desc("age"), Sort.Order.asc("teamName"));
+		List<MemberTeamDto> all = repository.search(new MemberSearchCondition());
+		all.sort(MemberSort.comparator(sort));
+
+		List<MemberTeamDto> seen = new ArrayList<>();
+		for (int page = 0; page < 10; page++) {
+			seen.addAll(repository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(page, 20, sort)).getContent());
+		}
+
+		assertThat(seen).containsExactlyElementsOf(all);
+	}
+
+	private static int noTeam(long teamId) {
+		int count = 0;
+		for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+			if (memberId % TEAMS + 1 == teamId && memberId % 11 == 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
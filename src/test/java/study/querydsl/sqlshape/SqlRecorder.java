@@ -0,0 +1,44 @@
+package study.querydsl.sqlshape;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * p6spy 이벤트로 실행된 statement 를 모은다. 다른 스레드(배경 작업 등)의 SQL 이 섞이지 않게 기록을 시작한 스레드 것만 모은다.
+ * 빈으로 등록하면 datasource-decorator 가 p6spy 리스너로 붙인다.
+ */
+public class SqlRecorder extends SimpleJdbcEventListener {
+
+	// 테스트 클래스마다 컨텍스트가 달라 p6spy 에 리스너가 여럿 붙어 있을 수 있으므로 자기 기록만 모으게 인스턴스마다 둔다
+	private final ThreadLocal<List<RecordedStatement>> current = new ThreadLocal<>();
+
+	public List<RecordedStatement> record(Runnable body) {
+		List<RecordedStatement> statements = new ArrayList<>();
+		current.set(statements);
+		try {
+			body.run();
+		} finally {
+			current.remove();
+		}
+		return statements;
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		List<RecordedStatement> statements = current.get();
+		if (statements != null) {
+			statements.add(new RecordedStatement(statementInformation.getSql(), statementInformation.getSqlWithValues()));
+		}
+	}
+
+	/**
+	 * @param sql           파라미터 자리가 ? 인 SQL
+	 * @param sqlWithValues 파라미터를 채운 SQL (실행 계획 확인용)
+	 */
+	public record RecordedStatement(String sql, String sqlWithValues) {
+	}
+}
@@ -0,0 +1,62 @@
+package study.querydsl.sqlshape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * statement 비교용 정규화와 H2 실행 계획 요약
+ */
+public final class SqlShape {
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	// querydsl-sql 은 절마다 줄을 바꾸므로 공백 대신 단어 경계로 찾는다
+	private static final Pattern LIMIT = Pattern.compile("\\b(?:limit|fetch\\s+(?:first|next))\\b", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * EXPLAIN 결과에서 테이블 참조("PUBLIC"."MEMBER" "M1_0") 바로 뒤에 붙는 접근 경로 주석의 인덱스 이름
+	 */
+	private static final Pattern ACCESS = Pattern.compile(
+			"\"?PUBLIC\"?\\.\"?(\\w+)\"?\\s+\"?\\w+\"?\\s*/\\*\\s*PUBLIC\\.(\\w+(?:\\.tableScan)?)");
+	private static final Pattern PRIMARY_KEY = Pattern.compile("PRIMARY_KEY_\\w+");
+
+	private SqlShape() {
+	}
+
+	/**
+	 * 공백을 하나로 줄이고 리터럴과 IN 목록 길이를 지운다. 별칭(m1_0 등)과 키워드는 그대로 둔다.
+	 */
+	public static String normalize(String sql) {
+		String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+		normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+		normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+		return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+	}
+
+	public static boolean isQuery(String sql) {
+		String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+		return head.startsWith("select") || head.startsWith("with");
+	}
+
+	public static boolean hasLimit(String sql) {
+		return LIMIT.matcher(sql).find();
+	}
+
+	/**
+	 * 예) [MEMBER:IDX_MEMBER_USERNAME, TEAM:PRIMARY_KEY, TEAM:TEAM.tableScan]
+	 */
+	public static List<String> accessPaths(String plan) {
+		List<String> paths = new ArrayList<>();
+		Matcher matcher = ACCESS.matcher(plan);
+		while (matcher.find()) {
+			String index = PRIMARY_KEY.matcher(matcher.group(2)).replaceAll("PRIMARY_KEY");
+			paths.add(matcher.group(1) + ":" + index);
+		}
+		return paths;
+	}
+}
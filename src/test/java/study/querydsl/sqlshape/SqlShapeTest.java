@@ -0,0 +1,273 @@
+package study.querydsl.sqlshape;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFieldSet;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberAnalyticsRepository;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberProjectionRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 메서드 x 검색 조건 모양마다 실행되는 statement 수와 정규화한 SQL 을 스냅샷과 비교한다.
+ * statement 가 늘거나, 페이지 조회에서 limit 이 빠지거나, SQL 모양이 바뀌면 실패한다.
+ * <p>
+ * 각 시나리오는 한 번 돌려 캐시를 채운 뒤 영속성 컨텍스트를 비우고 다시 돌린 것을 기록한다.
+ * 실행 계획은 스냅샷에 넣지 않고, 인덱스를 타야 하는 모양만 데이터를 늘려 member 전체 스캔이 없는지 본다.
+ */
+@SpringBootTest
+@Transactional
+@Import(SqlShapeTest.RecorderConfig.class)
+class SqlShapeTest {
+
+	@TestConfiguration
+	static class RecorderConfig {
+		@Bean
+		SqlRecorder sqlRecorder() {
+			return new SqlRecorder();
+		}
+	}
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired SqlRecorder recorder;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired MemberRepository memberRepository;
+	@Autowired MemberJpaRepository memberJpaRepository;
+	@Autowired MemberProjectionRepository memberProjectionRepository;
+	@Autowired MemberAnalyticsRepository memberAnalyticsRepository;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamA));
+		em.persist(new Member("member3", 30, teamB));
+		em.persist(new Member("member4", 40, teamB));
+		em.persist(new Member("member5", 50));
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void memberRepositorySearch() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberRepository.search");
+		forEachShape((shape, condition) -> {
+			List<SqlSnapshot.CapturedStatement> statements = capture(() -> memberRepository.search(condition));
+			assertThat(statements).as(shape).hasSize(1);
+			snapshot.add(shape, statements);
+		});
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberRepositorySearchPageSimple() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberRepository.searchPageSimple");
+		forEachShape((shape, condition) -> snapshot.add(shape,
+				capturePage(shape, () -> memberRepository.searchPageSimple(condition, PageRequest.of(0, 2)))));
+		snapshot.add("sorted username desc, age asc", capturePage("sorted", () -> memberRepository.searchPageSimple(
+				new MemberSearchCondition(), PageRequest.of(1, 2, Sort.by(Sort.Order.desc("username"), Sort.Order.asc("age"))))));
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberRepositorySearchPageComplex() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberRepository.searchPageComplex");
+		forEachShape((shape, condition) -> snapshot.add(shape,
+				capturePage(shape, () -> memberRepository.searchPageComplex(condition, PageRequest.of(0, 2)))));
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberRepositoryFinders() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberRepository.finders");
+		snapshot.add("findByUsername", capture(() -> memberRepository.findByUsername("member1")));
+		Long member1 = memberId("member1");
+		snapshot.add("findById", capture(() -> memberRepository.findById(member1)));
+
+		// 팀 지연 로딩은 default_batch_fetch_size 로 한 번에 읽는다
+		List<SqlSnapshot.CapturedStatement> lazyTeams = capture(() ->
+				memberRepository.findAll().forEach(m -> {
+					if (m.getTeam() != null) {
+						m.getTeam().getName();
+					}
+				}));
+		assertThat(lazyTeams).hasSize(2);
+		snapshot.add("findAll + team names", lazyTeams);
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberJpaRepository() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberJpaRepository");
+		Long member1 = memberId("member1");
+		snapshot.add("findById", capture(() -> memberJpaRepository.findById(member1)));
+		snapshot.add("findAll", capture(memberJpaRepository::findAll));
+		snapshot.add("findAll_Querydsl", capture(memberJpaRepository::findAll_Querydsl));
+		snapshot.add("findByUsername", capture(() -> memberJpaRepository.findByUsername("member1")));
+		snapshot.add("findByUsername_Querydsl", capture(() -> memberJpaRepository.findByUsername_Querydsl("member1")));
+		forEachShape((shape, condition) -> {
+			List<SqlSnapshot.CapturedStatement> search = capture(() -> memberJpaRepository.search(condition));
+			List<SqlSnapshot.CapturedStatement> searchByBuilder = capture(() -> memberJpaRepository.searchByBuilder(condition));
+			assertThat(search).as(shape).hasSize(1);
+			assertThat(searchByBuilder).as(shape).hasSize(1);
+			snapshot.add("search " + shape, search);
+			snapshot.add("searchByBuilder " + shape, searchByBuilder);
+		});
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberProjectionRepository() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberProjectionRepository");
+		for (String fields : new String[]{"username,age", "username,teamName", "memberId,teamId"}) {
+			MemberFieldSet fieldSet = MemberFieldSet.parse(fields);
+			forEachShape((shape, condition) -> {
+				List<SqlSnapshot.CapturedStatement> search = capture(() -> memberProjectionRepository.search(condition, fieldSet));
+				assertThat(search).as(shape).hasSize(1);
+				snapshot.add("search fields=" + fields + " " + shape, search);
+				snapshot.add("searchPage fields=" + fields + " " + shape, capturePage(shape,
+						() -> memberProjectionRepository.searchPage(condition, fieldSet, PageRequest.of(0, 2))));
+			});
+		}
+		snapshot.verify();
+	}
+
+	@Test
+	public void memberAnalyticsRepository() {
+		SqlSnapshot snapshot = new SqlSnapshot("MemberAnalyticsRepository");
+		snapshot.add("oldestPerTeam", capture(() -> memberAnalyticsRepository.oldestPerTeam(2, null)));
+		snapshot.add("oldestPerTeam teamName", capture(() -> memberAnalyticsRepository.oldestPerTeam(2, "teamA")));
+		snapshot.add("ageRank", capturePage("ageRank", () -> memberAnalyticsRepository.ageRank(null, 10)));
+		snapshot.add("ageDeviation", capturePage("ageDeviation", () -> memberAnalyticsRepository.ageDeviation("teamA", 10)));
+		snapshot.verify();
+	}
+
+	@Test
+	public void indexedShapesDoNotScanMember() {
+		// 몇 건뿐이면 H2 가 인덱스보다 전체 스캔을 고를 수 있어 팀 10개, 회원 1000명을 더 넣는다
+		for (int t = 0; t < 10; t++) {
+			Team team = new Team("planTeam" + t);
+			em.persist(team);
+			for (int i = 0; i < 100; i++) {
+				em.persist(new Member("planMember" + t + "_" + i, i, team));
+			}
+		}
+		em.flush();
+		em.clear();
+
+		MemberSearchCondition username = new MemberSearchCondition();
+		username.setUsername("member1");
+		MemberSearchCondition teamName = new MemberSearchCondition();
+		teamName.setTeamName("teamA");
+
+		assertMemberNotScanned("username search", () -> memberRepository.search(username));
+		assertMemberNotScanned("username page", () -> memberRepository.searchPageSimple(username, PageRequest.of(0, 2)));
+		assertMemberNotScanned("teamName search", () -> memberRepository.search(teamName));
+		assertMemberNotScanned("teamName page", () -> memberRepository.searchPageSimple(teamName, PageRequest.of(0, 2)));
+		// H2 는 오름차순 인덱스를 거꾸로 읽지 않으므로 내림차순 정렬은 여기서 보지 않는다
+		assertMemberNotScanned("sorted username", () -> memberRepository.searchPageSimple(
+				new MemberSearchCondition(), PageRequest.of(0, 2, Sort.by("username"))));
+		assertMemberNotScanned("sorted age", () -> memberRepository.searchPageSimple(
+				new MemberSearchCondition(), PageRequest.of(0, 2, Sort.by("age"))));
+	}
+
+	/**
+	 * member 를 읽는 첫 statement(내용 조회)를 값을 채워 EXPLAIN 하고 member 접근 경로에 tableScan 이 없는지 본다.
+	 * 팀 이름 조건은 앞에 team_id 를 찾는 조회가 먼저 나갈 수 있어 건너뛴다.
+	 */
+	private void assertMemberNotScanned(String shape, Runnable body) {
+		SqlRecorder.RecordedStatement content = recorder.record(body).stream()
+				.filter(statement -> statement.sql().toLowerCase(Locale.ROOT).contains(" from member "))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError(shape + ": member 조회가 없습니다"));
+		String plan = (String) em.createNativeQuery("explain " + content.sqlWithValues()).getSingleResult();
+		List<String> memberPaths = SqlShape.accessPaths(plan).stream()
+				.filter(path -> path.startsWith("MEMBER:"))
+				.toList();
+		assertThat(memberPaths).as("%s\n%s", shape, plan)
+				.isNotEmpty()
+				.doesNotContain("MEMBER:MEMBER.tableScan");
+		em.clear();
+	}
+
+	/**
+	 * username, teamName, ageGoe, ageLoe 를 넣고 빼는 16 가지 조건
+	 */
+	private static void forEachShape(ShapeConsumer consumer) {
+		for (int mask = 0; mask < 16; mask++) {
+			MemberSearchCondition condition = new MemberSearchCondition();
+			List<String> names = new ArrayList<>();
+			if ((mask & 1) != 0) {
+				condition.setUsername("member1");
+				names.add("username");
+			}
+			if ((mask & 2) != 0) {
+				condition.setTeamName("teamA");
+				names.add("teamName");
+			}
+			if ((mask & 4) != 0) {
+				condition.setAgeGoe(10);
+				names.add("ageGoe");
+			}
+			if ((mask & 8) != 0) {
+				condition.setAgeLoe(40);
+				names.add("ageLoe");
+			}
+			consumer.accept(names.isEmpty() ? "(none)" : String.join("+", names), condition);
+		}
+	}
+
+	/**
+	 * 페이지 조회는 첫 statement(내용 조회)에 limit 이 있어야 하고, count 까지 최대 두 번이다
+	 */
+	private List<SqlSnapshot.CapturedStatement> capturePage(String shape, Runnable body) {
+		List<SqlSnapshot.CapturedStatement> statements = capture(body);
+		assertThat(statements).as(shape).isNotEmpty().hasSizeLessThanOrEqualTo(2);
+		assertThat(statements.get(0).hasLimit()).as("limit 이 빠졌습니다: %s %s", shape, statements.get(0).sql()).isTrue();
+		return statements;
+	}
+
+	private List<SqlSnapshot.CapturedStatement> capture(Runnable body) {
+		body.run();
+		em.clear();
+		List<SqlRecorder.RecordedStatement> recorded = recorder.record(body);
+		em.clear();
+		return recorded.stream()
+				.map(statement -> new SqlSnapshot.CapturedStatement(SqlShape.normalize(statement.sql()), statement.sql()))
+				.toList();
+	}
+
+	private Long memberId(String username) {
+		return jdbcTemplate.queryForObject("select member_id from member where username = ?", Long.class, username);
+	}
+
+	@FunctionalInterface
+	interface ShapeConsumer {
+		void accept(String shape, MemberSearchCondition condition);
+	}
+}
@@ -0,0 +1,75 @@
+package study.querydsl.sqlshape;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * 리포지토리 메서드 하나의 SQL 모양 스냅샷 (src/test/resources/sql-snapshots/{name}.sql).
+ * <p>
+ * 스냅샷이 있으면 그대로 같아야 하고, 없으면 실패한다.
+ * 새 시나리오나 의도한 변경이면 -Psql.snapshot.update=true 로 기록하고 diff 를 리뷰해서 커밋한다.
+ * <p>
+ * 실행 계획은 테스트 데이터 몇 건으로는 실제 데이터와 다르게 나오므로 기록하지 않는다.
+ * 인덱스 사용은 SqlShapeTest.indexedShapesDoNotScanMember 와 MemberSortTest 가 데이터를 늘려서 본다.
+ */
+public class SqlSnapshot {
+
+	static final Path DIRECTORY = Path.of("src", "test", "resources", "sql-snapshots");
+
+	private final String name;
+	private final StringBuilder content = new StringBuilder();
+
+	public SqlSnapshot(String name) {
+		this.name = name;
+	}
+
+	public SqlSnapshot add(String scenario, List<CapturedStatement> statements) {
+		content.append("## ").append(scenario).append('\n');
+		content.append("statements: ").append(statements.size()).append('\n');
+		for (int i = 0; i < statements.size(); i++) {
+			CapturedStatement statement = statements.get(i);
+			content.append(i + 1).append(": ").append(statement.sql()).append('\n');
+		}
+		content.append('\n');
+		return this;
+	}
+
+	public void verify() {
+		Path file = DIRECTORY.resolve(name + ".sql");
+		String actual = content.toString();
+		try {
+			if (!Boolean.getBoolean("sql.snapshot.update")) {
+				if (!Files.exists(file)) {
+					fail("%s 스냅샷이 없습니다. -Psql.snapshot.update=true 로 기록하고 리뷰한 뒤 커밋하세요.\n%s", file, actual);
+				}
+				String expected = Files.readString(file, StandardCharsets.UTF_8);
+				assertThat(actual)
+						.as("%s 의 SQL 모양이 스냅샷과 다릅니다. 의도한 변경이면 -Psql.snapshot.update=true 로 다시 기록하세요.", file)
+						.isEqualTo(expected);
+				return;
+			}
+			Files.createDirectories(DIRECTORY);
+			Files.writeString(file, actual, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param sql    정규화한 SQL
+	 * @param rawSql 실행된 SQL
+	 */
+	public record CapturedStatement(String sql, String rawSql) {
+
+		public boolean hasLimit() {
+			return SqlShape.hasLimit(rawSql);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package study.querydsl.timeout;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"querydsl.timeout.query=5s",
+		"querydsl.timeout.methods.page-count=2s"
+})
+class QueryCancellationTest {
+
+	// 몇십 초는 걸리는 쿼리
+	static final String SLOW_QUERY = "with recursive t(n) as (select 1 union all select n + 1 from t where n < 100000000) select count(*) from t";
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	QueryTimeouts queryTimeouts;
+
+	@Test
+	public void methodTimeout() {
+		assertThat(queryTimeouts.timeoutSeconds(QueryTimeouts.PAGE_COUNT)).isEqualTo(2);
+		assertThat(queryTimeouts.timeoutSeconds(QueryTimeouts.SEARCH)).isEqualTo(5);
+	}
+
+	@Test
+	public void methodTimeoutIsBoundedByRequestDeadline() {
+		QueryCancellation cancellation = new QueryCancellation();
+		cancellation.deadlineAfter(TimeUnit.MILLISECONDS.toNanos(1_500));
+
+		try (QueryCancellation.Scope ignored = cancellation.bind()) {
+			assertThat(queryTimeouts.timeoutSeconds(QueryTimeouts.SEARCH)).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void cancelInFlightStatement() throws Exception {
+		QueryCancellation cancellation = new QueryCancellation();
+		CountDownLatch started = new CountDownLatch(1);
+
+		CompletableFuture<Void> query = CompletableFuture.runAsync(() -> {
+			try (QueryCancellation.Scope ignored = cancellation.bind();
+				 Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement()) {
+				started.countDown();
+				statement.executeQuery(SLOW_QUERY);
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		started.await();
+		Thread.sleep(300);
+		long cancelAt = System.nanoTime();
+		cancellation.cancel();
+
+		assertThatThrownBy(() -> query.get(10, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasRootCauseInstanceOf(SQLException.class);
+		assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - cancelAt)).isLessThan(5);
+	}
+
+	@Test
+	public void cancelledRequestRunsNoMoreQueries() throws Exception {
+		QueryCancellation cancellation = new QueryCancellation();
+		cancellation.cancel();
+
+		try (QueryCancellation.Scope ignored = cancellation.bind();
+			 Connection connection = dataSource.getConnection()) {
+			assertThatThrownBy(connection::createStatement).isInstanceOf(SQLException.class);
+		}
+	}
+}
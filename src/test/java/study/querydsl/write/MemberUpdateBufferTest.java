@@ -0,0 +1,222 @@
+package study.querydsl.write;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 버퍼는 자기 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 검증한다.
+ * member_search 도 함께 고치는지 보려고 member_search 를 채우는 denormalized 백엔드로 띄운다.
+ */
+@SpringBootTest(properties = "querydsl.search.backend=denormalized")
+class MemberUpdateBufferTest {
+
+	@PersistenceContext
+	EntityManager em;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	MemberUpdateBuffer buffer;
+	Long member1;
+	Long member2;
+
+	@BeforeEach
+	public void before() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team teamA = new Team("teamA");
+			em.persist(teamA);
+			Member m1 = new Member("member1", 10, teamA);
+			Member m2 = new Member("member2", 20, teamA);
+			em.persist(m1);
+			em.persist(m2);
+			em.flush();
+			member1 = m1.getId();
+			member2 = m2.getId();
+		});
+		// 창은 길게 잡고 flush() 로 직접 닫는다
+		MemberUpdateProperties properties = new MemberUpdateProperties();
+		properties.setWindow(Duration.ofHours(1));
+		properties.setDurability(MemberUpdateProperties.Durability.ASYNC);
+		buffer = new MemberUpdateBuffer(properties, jdbcTemplate, transactionManager, registry);
+	}
+
+	@AfterEach
+	public void after() {
+		buffer.close();
+		jdbcTemplate.update("delete from member_search");
+		jdbcTemplate.update("delete from member");
+		jdbcTemplate.update("delete from team");
+	}
+
+	@Test
+	public void setIsLastWriteWinsAndAddIsSummed() {
+		buffer.setAge(member1, 30);
+		buffer.addAge(member1, 1);
+		buffer.setAge(member1, 40);
+		buffer.addAge(member1, 2);
+		buffer.addAge(member1, 3);
+		buffer.addAge(member2, 5);
+		CompletableFuture<Void> committed = buffer.addAge(member2, -1);
+
+		assertThat(committed).isNotDone();
+		assertThat(age(member1)).isEqualTo(10);
+
+		buffer.flush();
+
+		assertThat(committed).isCompleted();
+		assertThat(age(member1)).isEqualTo(45);
+		assertThat(age(member2)).isEqualTo(24);
+		assertThat(searchAge(member1)).isEqualTo(45);
+		assertThat(registry.counter("member.update.buffer.requests").count()).isEqualTo(7);
+		assertThat(registry.counter("member.update.buffer.rows").count()).isEqualTo(2);
+	}
+
+	@Test
+	public void updateRecordsActivity() {
+		jdbcTemplate.update("update member set last_active_at = ? where member_id in (?, ?)",
+				Timestamp.valueOf(LocalDateTime.now().minusDays(400)), member1, member2);
+
+		buffer.addAge(member1, 1);
+		buffer.flush();
+
+		assertThat(lastActiveAt(member1)).isAfter(LocalDateTime.now().minusMinutes(1));
+		assertThat(lastActiveAt(member2)).isBefore(LocalDateTime.now().minusDays(399));
+	}
+
+	@Test
+	public void windowsApplyInOrder() {
+		buffer.setAge(member1, 30);
+		buffer.flush();
+		buffer.addAge(member1, 1);
+		buffer.flush();
+
+		assertThat(age(member1)).isEqualTo(31);
+	}
+
+	@Test
+	public void concurrentIncrementsAreNotLost() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (int i = 0; i < 1_000; i++) {
+				executor.execute(() -> buffer.addAge(member1, 1));
+				if (i % 100 == 0) {
+					executor.execute(buffer::flush);
+				}
+			}
+		} finally {
+			executor.shutdown();
+			assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+		buffer.flush();
+
+		assertThat(age(member1)).isEqualTo(1_010);
+		assertThat(registry.counter("member.update.buffer.requests").count()).isEqualTo(1_000);
+	}
+
+	@Test
+	public void waitForCommitBlocksUntilFlushed() throws Exception {
+		MemberUpdateProperties properties = new MemberUpdateProperties();
+		properties.setWindow(Duration.ofMillis(10));
+		MemberUpdateBuffer waiting = new MemberUpdateBuffer(properties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+		try {
+			CompletableFuture<Void> committed = waiting.setAge(member1, 50);
+
+			assertThat(committed).isCompleted();
+			assertThat(age(member1)).isEqualTo(50);
+		} finally {
+			waiting.close();
+		}
+	}
+
+	@Test
+	public void waitForCommitIsRefusedInsideTransaction() {
+		MemberUpdateProperties properties = new MemberUpdateProperties();
+		properties.setWindow(Duration.ofMillis(10));
+		MemberUpdateBuffer waiting = new MemberUpdateBuffer(properties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+		try {
+			// 트랜잭션이 member1 을 잠근 채 기다리면 창의 update 가 그 잠금을 기다려 서로 막힌다
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.update("update member set age = 11 where member_id = ?", member1);
+				assertThatThrownBy(() -> waiting.setAge(member1, 50))
+						.isInstanceOf(InvalidDataAccessApiUsageException.class);
+			});
+			waiting.flush();
+
+			assertThat(age(member1)).isEqualTo(11);
+		} finally {
+			waiting.close();
+		}
+	}
+
+	@Test
+	public void waitForCommitTimesOut() {
+		MemberUpdateProperties properties = new MemberUpdateProperties();
+		properties.setWindow(Duration.ofHours(1));
+		properties.setCommitTimeout(Duration.ofMillis(50));
+		MemberUpdateBuffer waiting = new MemberUpdateBuffer(properties, jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+		try {
+			assertThatThrownBy(() -> waiting.setAge(member1, 50)).isInstanceOf(QueryTimeoutException.class);
+
+			// 기다리기를 그만둬도 수정은 버퍼에 남아 다음 창에 쓰인다
+			waiting.flush();
+			assertThat(age(member1)).isEqualTo(50);
+		} finally {
+			waiting.close();
+		}
+	}
+
+	@Test
+	public void failedWindowCompletesExceptionally() {
+		jdbcTemplate.execute("alter table member add constraint chk_member_age_test check (age < 100)");
+		try {
+			CompletableFuture<Void> committed = buffer.setAge(member1, 200);
+			buffer.setAge(member2, 30);
+
+			assertThatThrownBy(buffer::flush).isInstanceOf(RuntimeException.class);
+
+			assertThat(committed).isCompletedExceptionally();
+			assertThat(age(member2)).isEqualTo(20);
+			assertThat(registry.counter("member.update.buffer.failures").count()).isEqualTo(2);
+		} finally {
+			jdbcTemplate.execute("alter table member drop constraint chk_member_age_test");
+		}
+	}
+
+	private int age(Long memberId) {
+		return jdbcTemplate.queryForObject("select age from member where member_id = ?", Integer.class, memberId);
+	}
+
+	private LocalDateTime lastActiveAt(Long memberId) {
+		return jdbcTemplate.queryForObject("select last_active_at from member where member_id = ?", LocalDateTime.class, memberId);
+	}
+
+	private int searchAge(Long memberId) {
+		return jdbcTemplate.queryForObject("select age from member_search where member_id = ?", Integer.class, memberId);
+	}
+}
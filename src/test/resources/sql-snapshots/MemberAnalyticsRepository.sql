@@ -0,0 +1,16 @@
+## oldestPerTeam
+statements: 1
+1: select ranked.member_id, ranked.username, ranked.age, ranked.team_id, ranked.team_name, ranked.age_rank, ranked.team_avg_age from (select member.MEMBER_ID as member_id, member.USERNAME as username, member.AGE as age, team.TEAM_ID as team_id, team.NAME as team_name, row_number() over (partition by member.TEAM_ID order by member.AGE desc, member.MEMBER_ID asc) as team_row, rank() over (partition by member.TEAM_ID order by member.AGE desc) as age_rank, avg(cast(member.AGE as double)) over (partition by member.TEAM_ID) as team_avg_age from MEMBER member join TEAM team on member.TEAM_ID = team.TEAM_ID) as ranked where ranked.team_row <= ? order by ranked.team_id asc, ranked.team_row asc
+
+## oldestPerTeam teamName
+statements: 1
+1: select ranked.member_id, ranked.username, ranked.age, ranked.team_id, ranked.team_name, ranked.age_rank, ranked.team_avg_age from (select member.MEMBER_ID as member_id, member.USERNAME as username, member.AGE as age, team.TEAM_ID as team_id, team.NAME as team_name, row_number() over (partition by member.TEAM_ID order by member.AGE desc, member.MEMBER_ID asc) as team_row, rank() over (partition by member.TEAM_ID order by member.AGE desc) as age_rank, avg(cast(member.AGE as double)) over (partition by member.TEAM_ID) as team_avg_age from MEMBER member join TEAM team on member.TEAM_ID = team.TEAM_ID where team.NAME = ?) as ranked where ranked.team_row <= ? order by ranked.team_id asc, ranked.team_row asc
+
+## ageRank
+statements: 1
+1: select ranked.member_id, ranked.username, ranked.age, ranked.team_id, ranked.team_name, ranked.age_rank, ranked.team_avg_age from (select member.MEMBER_ID as member_id, member.USERNAME as username, member.AGE as age, team.TEAM_ID as team_id, team.NAME as team_name, row_number() over (partition by member.TEAM_ID order by member.AGE desc, member.MEMBER_ID asc) as team_row, rank() over (partition by member.TEAM_ID order by member.AGE desc) as age_rank, avg(cast(member.AGE as double)) over (partition by member.TEAM_ID) as team_avg_age from MEMBER member join TEAM team on member.TEAM_ID = team.TEAM_ID) as ranked order by ranked.team_id asc, ranked.age_rank asc, ranked.member_id asc limit ?
+
+## ageDeviation
+statements: 1
+1: select ranked.member_id, ranked.username, ranked.age, ranked.team_id, ranked.team_name, ranked.age_rank, ranked.team_avg_age from (select member.MEMBER_ID as member_id, member.USERNAME as username, member.AGE as age, team.TEAM_ID as team_id, team.NAME as team_name, row_number() over (partition by member.TEAM_ID order by member.AGE desc, member.MEMBER_ID asc) as team_row, rank() over (partition by member.TEAM_ID order by member.AGE desc) as age_rank, avg(cast(member.AGE as double)) over (partition by member.TEAM_ID) as team_avg_age from MEMBER member join TEAM team on member.TEAM_ID = team.TEAM_ID where team.NAME = ?) as ranked order by abs(cast(ranked.age as double) - ranked.team_avg_age) desc, ranked.member_id asc limit ?
+
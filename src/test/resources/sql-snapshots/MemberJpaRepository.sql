@@ -0,0 +1,148 @@
+## findById
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0 where m1_0.member_id=?
+
+## findAll
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0
+
+## findAll_Querydsl
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0
+
+## findByUsername
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0 where m1_0.username=?
+
+## findByUsername_Querydsl
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0 where m1_0.username=?
+
+## search (none)
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id
+
+## searchByBuilder (none)
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id
+
+## search username
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=?
+
+## searchByBuilder username
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=?
+
+## search teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## searchByBuilder teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## search username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=?
+
+## searchByBuilder username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=?
+
+## search ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=?
+
+## searchByBuilder ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=?
+
+## search username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=?
+
+## searchByBuilder username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=?
+
+## search teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## searchByBuilder teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## search username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=?
+
+## searchByBuilder username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=?
+
+## search ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=?
+
+## searchByBuilder ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=?
+
+## search username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=?
+
+## searchByBuilder username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=?
+
+## search teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## searchByBuilder teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## search username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=?
+
+## searchByBuilder username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=?
+
+## search ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? and m1_0.age<=?
+
+## searchByBuilder ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? and m1_0.age<=?
+
+## search username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? and m1_0.age<=?
+
+## searchByBuilder username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? and m1_0.age<=?
+
+## search teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchByBuilder teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## search username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchByBuilder username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
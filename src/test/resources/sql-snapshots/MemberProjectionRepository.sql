@@ -0,0 +1,408 @@
+## search fields=username,age (none)
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0
+
+## searchPage fields=username,age (none)
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0
+
+## search fields=username,age username
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=?
+
+## searchPage fields=username,age username
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age teamName
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## searchPage fields=username,age teamName
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## search fields=username,age username+teamName
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=?
+
+## searchPage fields=username,age username+teamName
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age>=?
+
+## searchPage fields=username,age ageGoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=?
+
+## search fields=username,age username+ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age>=?
+
+## searchPage fields=username,age username+ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age teamName+ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=username,age teamName+ageGoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## search fields=username,age username+teamName+ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=username,age username+teamName+ageGoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age<=?
+
+## searchPage fields=username,age ageLoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age<=?
+
+## search fields=username,age username+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age<=?
+
+## searchPage fields=username,age username+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age teamName+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=username,age teamName+ageLoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## search fields=username,age username+teamName+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=username,age username+teamName+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,age ageGoe+ageLoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=? and m1_0.age<=?
+
+## search fields=username,age username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,age username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 where m1_0.username=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,age teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,age teamName+ageGoe+ageLoe
+statements: 2
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## search fields=username,age username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,age username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,m1_0.age from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName (none)
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id
+
+## searchPage fields=username,teamName (none)
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0
+
+## search fields=username,teamName username
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=?
+
+## searchPage fields=username,teamName username
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName teamName
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## searchPage fields=username,teamName teamName
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## search fields=username,teamName username+teamName
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=?
+
+## searchPage fields=username,teamName username+teamName
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=?
+
+## searchPage fields=username,teamName ageGoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=?
+
+## search fields=username,teamName username+ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=?
+
+## searchPage fields=username,teamName username+ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName teamName+ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=username,teamName teamName+ageGoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## search fields=username,teamName username+teamName+ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=username,teamName username+teamName+ageGoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=?
+
+## searchPage fields=username,teamName ageLoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age<=?
+
+## search fields=username,teamName username+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=?
+
+## searchPage fields=username,teamName username+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName teamName+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=username,teamName teamName+ageLoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## search fields=username,teamName username+teamName+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=username,teamName username+teamName+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,teamName ageGoe+ageLoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=? and m1_0.age<=?
+
+## search fields=username,teamName username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,teamName username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=username,teamName teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,teamName teamName+ageGoe+ageLoe
+statements: 2
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## search fields=username,teamName username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=username,teamName username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.username,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId (none)
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0
+
+## searchPage fields=memberId,teamId (none)
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0
+
+## search fields=memberId,teamId username
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=?
+
+## searchPage fields=memberId,teamId username
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId teamName
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## searchPage fields=memberId,teamId teamName
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=?
+
+## search fields=memberId,teamId username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=?
+
+## searchPage fields=memberId,teamId username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age>=?
+
+## searchPage fields=memberId,teamId ageGoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=?
+
+## search fields=memberId,teamId username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age>=?
+
+## searchPage fields=memberId,teamId username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=memberId,teamId teamName+ageGoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=?
+
+## search fields=memberId,teamId username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=?
+
+## searchPage fields=memberId,teamId username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age<=?
+
+## searchPage fields=memberId,teamId ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age<=?
+
+## search fields=memberId,teamId username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId teamName+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age<=?
+
+## search fields=memberId,teamId username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId ageGoe+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=? and m1_0.age<=?
+
+## search fields=memberId,teamId username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 where m1_0.username=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## search fields=memberId,teamId teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId teamName+ageGoe+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## search fields=memberId,teamId username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=?
+
+## searchPage fields=memberId,teamId username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.team_id from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and t1_0.name=? and m1_0.age>=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
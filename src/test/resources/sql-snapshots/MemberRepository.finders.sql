@@ -0,0 +1,13 @@
+## findByUsername
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0 where m1_0.username=?
+
+## findById
+statements: 1
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0 where m1_0.member_id=?
+
+## findAll + team names
+statements: 2
+1: select m1_0.member_id,m1_0.age,m1_0.last_active_at,m1_0.team_id,m1_0.username from member m1_0
+2: select t1_0.team_id,t1_0.name from team t1_0 where array_contains(?,t1_0.team_id)
+
@@ -0,0 +1,64 @@
+## (none)
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id
+
+## username
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=?
+
+## teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=?
+
+## username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=?
+
+## ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=?
+
+## username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=?
+
+## teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age>=?
+
+## username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age>=?
+
+## ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=?
+
+## username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=?
+
+## teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age<=?
+
+## username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age<=?
+
+## ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age between ? and ?
+
+## username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age between ? and ?
+
+## teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age between ? and ?
+
+## username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age between ? and ?
+
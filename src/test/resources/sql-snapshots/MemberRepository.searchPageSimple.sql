@@ -0,0 +1,77 @@
+## (none)
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0
+
+## username
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## teamName
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.team_id=?
+
+## username+teamName
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## ageGoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age>=?
+
+## username+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## teamName+ageGoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.team_id=? and m1_0.age>=?
+
+## username+teamName+ageGoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age>=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age<=?
+
+## username+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## teamName+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.team_id=? and m1_0.age<=?
+
+## username+teamName+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age<=? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## ageGoe+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.age between ? and ? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.age between ? and ?
+
+## username+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.age between ? and ? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## teamName+ageGoe+ageLoe
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.team_id=? and m1_0.age between ? and ? order by m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0 where m1_0.team_id=? and m1_0.age between ? and ?
+
+## username+teamName+ageGoe+ageLoe
+statements: 1
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id where m1_0.username=? and m1_0.team_id=? and m1_0.age between ? and ? order by m1_0.member_id offset ? rows fetch first ? rows only
+
+## sorted username desc, age asc
+statements: 2
+1: select m1_0.member_id,m1_0.username,m1_0.age,m1_0.team_id,t1_0.name from member m1_0 left join team t1_0 on t1_0.team_id=m1_0.team_id order by m1_0.username desc,m1_0.age,m1_0.member_id offset ? rows fetch first ? rows only
+2: select count(m1_0.member_id) from member m1_0
+